@@ -34,6 +34,7 @@ public class ApplicationConfiguration {
     private ErrorMessage sessionExpiredError;
     private int heartbeatInterval;
     private int maxMessageSuspendTimeout;
+    private int changeApplyBudget;
 
     private boolean productionMode;
     private boolean requestTiming;
@@ -211,6 +212,29 @@ public class ApplicationConfiguration {
         this.maxMessageSuspendTimeout = maxMessageSuspendTimeout;
     }
 
+    /**
+     * Gets the time budget for applying the changes of a server message in one
+     * animation frame.
+     *
+     * @return the time budget in milliseconds, or zero to apply all changes
+     *         at once
+     */
+    public int getChangeApplyBudget() {
+        return changeApplyBudget;
+    }
+
+    /**
+     * Sets the time budget for applying the changes of a server message in one
+     * animation frame.
+     *
+     * @param changeApplyBudget
+     *            the time budget in milliseconds, or zero to apply all changes
+     *            at once
+     */
+    public void setChangeApplyBudget(int changeApplyBudget) {
+        this.changeApplyBudget = changeApplyBudget;
+    }
+
     /**
      * Gets the message used when a session expiration error occurs.
      *
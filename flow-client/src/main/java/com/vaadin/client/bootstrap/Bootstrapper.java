@@ -153,6 +153,11 @@ public class Bootstrapper implements EntryPoint {
         conf.setMaxMessageSuspendTimeout(
                 jsoConfiguration.getConfigInteger("maxMessageSuspendTimeout"));
 
+        Integer changeApplyBudget = jsoConfiguration
+                .getConfigInteger("changeApplyBudget");
+        conf.setChangeApplyBudget(
+                changeApplyBudget == null ? 0 : changeApplyBudget.intValue());
+
         conf.setServletVersion(jsoConfiguration.getVaadinVersion());
         conf.setAtmosphereVersion(jsoConfiguration.getAtmosphereVersion());
         conf.setAtmosphereJSVersion(jsoConfiguration.getAtmosphereJSVersion());
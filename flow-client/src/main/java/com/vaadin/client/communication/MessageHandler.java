@@ -66,6 +66,12 @@ public class MessageHandler {
      */
     private static final int UNDEFINED_SYNC_ID = -1;
 
+    /**
+     * Time in milliseconds after which a slice of a message applied in
+     * animation frames is run even if no frame has been rendered.
+     */
+    private static final int FRAME_FALLBACK_TIMEOUT = 100;
+
     /**
      * If responseHandlingLocks contains any objects, response handling is
      * suspended until the collection is empty or a timeout has occurred.
@@ -132,6 +138,12 @@ public class MessageHandler {
 
     private boolean initialMessageHandled;
 
+    /**
+     * Completes the handling of the message which is being applied in
+     * animation frames, or <code>null</code> if there is no such message.
+     */
+    private Command slicedMessageCompletion;
+
     /**
      * Timer used to make sure that no misbehaving components can delay response
      * handling forever.
@@ -384,6 +396,7 @@ public class MessageHandler {
         assert getServerId(valueMap) == -1
                 || getServerId(valueMap) == lastSeenServerSyncId;
 
+        boolean appliedInFrames = false;
         try {
             double processUidlStart = Duration.currentTimeMillis();
 
@@ -442,42 +455,140 @@ public class MessageHandler {
                 Profiler.leave("Error handling");
             }
             nextResponseSessionExpiredHandler = null;
+
+            int budget = registry.getApplicationConfiguration()
+                    .getChangeApplyBudget();
+            if (budget > 0 && !flushSlice(budget)) {
+                applyInFrames(valueMap, lock, start, budget);
+                appliedInFrames = true;
+                return;
+            }
             Reactive.flush();
 
-            lastProcessingTime = (int) (Duration.currentTimeMillis() - start);
-            totalProcessingTime += lastProcessingTime;
-            if (!initialMessageHandled) {
-                initialMessageHandled = true;
-
-                double fetchStart = getFetchStartTime();
-                if (fetchStart != 0) {
-                    int time = (int) (Duration.currentTimeMillis()
-                            - fetchStart);
-                    Console.log("First response processed " + time
-                            + " ms after fetchStart");
-                }
+            messageApplied(start);
+        } finally {
+            if (!appliedInFrames) {
+                finishMessage(valueMap, lock);
+            }
+        }
 
-                bootstrapTime = calculateBootstrapTime();
-                if (Profiler.isEnabled() && bootstrapTime != -1) {
-                    Profiler.logBootstrapTimings();
+    }
+
+    /**
+     * Continues applying the changes of a message in the following animation
+     * frames, one time budget at a time, so that the browser can render and
+     * handle input in between. Response handling stays suspended and the
+     * request stays active until all changes have been applied, so no other
+     * message is handled and no new message is sent meanwhile.
+     * <p>
+     * Animation frames are not fired while the document is hidden, so the
+     * rest of the changes are then applied at once. A frame which is requested
+     * before the document is hidden is backed up by a timeout.
+     */
+    private void applyInFrames(ValueMap valueMap, Object lock, double start,
+            int budget) {
+        Command completion = () -> {
+            slicedMessageCompletion = null;
+            try {
+                Reactive.flush();
+                messageApplied(start);
+            } finally {
+                finishMessage(valueMap, lock);
+            }
+        };
+        slicedMessageCompletion = completion;
+        if (isDocumentHidden()) {
+            completion.execute();
+            return;
+        }
+        requestFrame(() -> {
+            if (slicedMessageCompletion != completion) {
+                // Already completed synchronously
+                return;
+            }
+            if (isDocumentHidden()) {
+                completion.execute();
+                return;
+            }
+            boolean done = true;
+            try {
+                done = flushSlice(budget);
+                if (done) {
+                    messageApplied(start);
+                }
+            } finally {
+                if (done) {
+                    slicedMessageCompletion = null;
+                    finishMessage(valueMap, lock);
+                } else {
+                    applyInFrames(valueMap, lock, start, budget);
                 }
             }
+        });
+    }
 
-        } finally {
-            Console.log(" Processing time was "
-                    + String.valueOf(lastProcessingTime) + "ms");
+    private static boolean flushSlice(int budget) {
+        double deadline = Duration.currentTimeMillis() + budget;
+        return Reactive.flush(() -> Duration.currentTimeMillis() >= deadline);
+    }
 
-            endRequestIfResponse(valueMap);
-            resumeResponseHandling(lock);
+    /**
+     * Checks whether the document is hidden, e.g. because it is in a
+     * background tab.
+     *
+     * @return <code>true</code> if the document is hidden
+     */
+    protected native boolean isDocumentHidden()
+    /*-{
+        return !!$doc.hidden;
+    }-*/;
 
-            if (Profiler.isEnabled()) {
-                Scheduler.get().scheduleDeferred(() -> {
-                    Profiler.logTimings();
-                    Profiler.reset();
-                });
+    private static native void requestFrame(Command command)
+    /*-{
+        var done = false;
+        var callback = $entry(function() {
+            if (!done) {
+                done = true;
+                command.@com.vaadin.client.Command::execute()();
+            }
+        });
+        $wnd.requestAnimationFrame(callback);
+        $wnd.setTimeout(callback, @com.vaadin.client.communication.MessageHandler::FRAME_FALLBACK_TIMEOUT);
+    }-*/;
+
+    private void messageApplied(double start) {
+        lastProcessingTime = (int) (Duration.currentTimeMillis() - start);
+        totalProcessingTime += lastProcessingTime;
+        if (!initialMessageHandled) {
+            initialMessageHandled = true;
+
+            double fetchStart = getFetchStartTime();
+            if (fetchStart != 0) {
+                int time = (int) (Duration.currentTimeMillis() - fetchStart);
+                Console.log("First response processed " + time
+                        + " ms after fetchStart");
+            }
+
+            bootstrapTime = calculateBootstrapTime();
+            if (Profiler.isEnabled() && bootstrapTime != -1) {
+                Profiler.logBootstrapTimings();
             }
         }
+    }
 
+    private void finishMessage(ValueMap valueMap, Object lock) {
+        Console.log(" Processing time was "
+                + String.valueOf(lastProcessingTime) + "ms");
+
+        endRequestIfResponse(valueMap);
+        resumeResponseHandling(lock);
+
+        if (Profiler.isEnabled()) {
+            Scheduler.get().scheduleDeferred(() -> {
+                Profiler.logTimings();
+                Profiler.reset();
+            });
+        }
     }
 
     private void processChanges(JsonObject json) {
@@ -564,6 +675,12 @@ public class MessageHandler {
     }
 
     private void forceMessageHandling() {
+        if (slicedMessageCompletion != null) {
+            // Apply the rest of the current message at once, which also
+            // handles the pending messages
+            slicedMessageCompletion.execute();
+            return;
+        }
         // Clear previous request if it exists. Otherwise resyncrhonize can trigger
         // "Trying to start a new request while another is active" exception and fail.
         if (registry.getRequestResponseTracker().hasActiveRequest()) {
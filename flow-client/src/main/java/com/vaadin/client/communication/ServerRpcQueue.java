@@ -18,9 +18,14 @@ package com.vaadin.client.communication;
 import com.google.gwt.core.client.Scheduler;
 import com.vaadin.client.Console;
 import com.vaadin.client.Registry;
+import com.vaadin.client.flow.collection.JsCollections;
+import com.vaadin.client.flow.collection.JsMap;
+import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -38,6 +43,14 @@ public class ServerRpcQueue {
 
     private JsonArray pendingInvocations = Json.createArray();
 
+    /**
+     * Indices of the property syncs in {@link #pendingInvocations} which have
+     * not been followed by any other kind of invocation, by node, feature and
+     * property.
+     */
+    private final JsMap<String, Integer> pendingPropertySyncs = JsCollections
+            .map();
+
     private boolean flushPending = false;
 
     private final Registry registry;
@@ -56,6 +69,12 @@ public class ServerRpcQueue {
 
     /**
      * Adds an explicit RPC method invocation to the send queue.
+     * <p>
+     * A property sync replaces a pending sync of the same property, unless
+     * some other invocation has been added after the pending sync. This keeps
+     * only the last value of a property which changes many times before the
+     * queue is flushed, while an event still sees the property values that
+     * were synced before it.
      *
      * @param invocation
      *            RPC method invocation
@@ -66,14 +85,40 @@ public class ServerRpcQueue {
                     "Trying to invoke method on not yet started or stopped application");
             return;
         }
+        String syncKey = getPropertySyncKey(invocation);
+        if (syncKey == null) {
+            pendingPropertySyncs.clear();
+        } else if (pendingPropertySyncs.has(syncKey)) {
+            pendingInvocations.set(pendingPropertySyncs.get(syncKey),
+                    invocation);
+            return;
+        } else {
+            pendingPropertySyncs.set(syncKey, pendingInvocations.length());
+        }
         pendingInvocations.set(pendingInvocations.length(), invocation);
     }
 
+    private static String getPropertySyncKey(JsonValue invocation) {
+        if (invocation.getType() != JsonType.OBJECT) {
+            return null;
+        }
+        JsonObject object = (JsonObject) invocation;
+        if (!object.hasKey(JsonConstants.RPC_TYPE)
+                || !JsonConstants.RPC_TYPE_MAP_SYNC
+                        .equals(object.getString(JsonConstants.RPC_TYPE))) {
+            return null;
+        }
+        return (int) object.getNumber(JsonConstants.RPC_NODE) + ":"
+                + (int) object.getNumber(JsonConstants.RPC_FEATURE) + ":"
+                + object.getString(JsonConstants.RPC_PROPERTY);
+    }
+
     /**
      * Clears the queue.
      */
     public void clear() {
         pendingInvocations = Json.createArray();
+        pendingPropertySyncs.clear();
         flushPending = false;
         doFlushStrategy = NO_OP;
     }
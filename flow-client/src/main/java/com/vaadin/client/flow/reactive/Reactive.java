@@ -15,6 +15,8 @@
  */
 package com.vaadin.client.flow.reactive;
 
+import java.util.function.BooleanSupplier;
+
 import com.vaadin.client.Command;
 import com.vaadin.client.flow.collection.JsArray;
 import com.vaadin.client.flow.collection.JsCollections;
@@ -97,8 +99,26 @@ public class Reactive {
      * @see #addPostFlushListener(FlushListener)
      */
     public static void flush() {
+        flush(() -> false);
+    }
+
+    /**
+     * Flushes flush listeners and post flush listeners until all listeners
+     * have been invoked or the given condition tells to stop. The condition is
+     * checked after each invoked listener, so that a flush can be split into
+     * several slices, e.g. to keep each slice within a time budget. The
+     * remaining listeners are invoked by the next flush.
+     *
+     * @param shouldYield
+     *            the condition which tells whether the flush should stop
+     *            before invoking the next listener, not <code>null</code>
+     * @return <code>true</code> if all listeners were invoked,
+     *         <code>false</code> if there are listeners left for the next
+     *         flush
+     */
+    public static boolean flush(BooleanSupplier shouldYield) {
         if(flushing) {
-            return;
+            return true;
         }
         try {
             flushing = true;
@@ -107,6 +127,10 @@ public class Reactive {
                 while (hasFlushListeners()) {
                     FlushListener oldestListener = flushListeners.remove(0);
                     oldestListener.flush();
+                    if (shouldYield.getAsBoolean()) {
+                        return !hasFlushListeners()
+                                && !hasPostFlushListeners();
+                    }
                 }
 
                 // Purge one post flush listener, then look if there are new flush
@@ -114,8 +138,13 @@ public class Reactive {
                 if (hasPostFlushListeners()) {
                     FlushListener oldestListener = postFlushListeners.remove(0);
                     oldestListener.flush();
+                    if (shouldYield.getAsBoolean()) {
+                        return !hasFlushListeners()
+                                && !hasPostFlushListeners();
+                    }
                 }
             }
+            return true;
         }finally {
             flushing = false;
         }
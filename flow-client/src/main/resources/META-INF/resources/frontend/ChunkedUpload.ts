@@ -0,0 +1,182 @@
+export interface ChunkedUploadOptions {
+  /**
+   * The size of a single chunk in bytes. Defaults to 1 MiB.
+   */
+  chunkSize?: number;
+  /**
+   * The number of chunks sent in parallel. Defaults to 4.
+   */
+  parallelUploads?: number;
+  /**
+   * The number of times a chunk which failed because of a network error or a
+   * server error is resent. Defaults to 3.
+   */
+  retries?: number;
+  /**
+   * An upload identifier to resume a previously interrupted upload of the
+   * same file. A new identifier is generated when not given.
+   */
+  uploadId?: string;
+  /**
+   * Called when a chunk has been received by the server.
+   */
+  onProgress?: (loaded: number, total: number) => void;
+}
+
+interface Range {
+  start: number;
+  end: number;
+}
+
+const DEFAULT_CHUNK_SIZE = 1024 * 1024;
+const DEFAULT_PARALLEL_UPLOADS = 4;
+const DEFAULT_RETRIES = 3;
+
+let crcTable: number[] | undefined;
+
+function crc32(data: Uint8Array): string {
+  if (!crcTable) {
+    crcTable = [];
+    for (let n = 0; n < 256; n++) {
+      let c = n;
+      for (let k = 0; k < 8; k++) {
+        c = c & 1 ? 0xEDB88320 ^ (c >>> 1) : c >>> 1;
+      }
+      crcTable[n] = c >>> 0;
+    }
+  }
+  let crc = 0xFFFFFFFF;
+  for (let i = 0; i < data.length; i++) {
+    crc = crcTable[(crc ^ data[i]) & 0xFF] ^ (crc >>> 8);
+  }
+  return ((crc ^ 0xFFFFFFFF) >>> 0).toString(16);
+}
+
+function readChunk(blob: Blob): Promise<ArrayBuffer> {
+  return new Promise((resolve, reject) => {
+    const reader = new FileReader();
+    reader.onload = () => resolve(reader.result as ArrayBuffer);
+    reader.onerror = () => reject(reader.error);
+    reader.readAsArrayBuffer(blob);
+  });
+}
+
+function parseRanges(header: string | null): Range[] {
+  if (!header) {
+    return [];
+  }
+  return header.split(',').map(range => {
+    const [start, end] = range.split('-').map(Number);
+    return {start, end};
+  });
+}
+
+function missingChunks(received: Range[], length: number, chunkSize: number): Range[] {
+  const chunks: Range[] = [];
+  let position = 0;
+  for (const range of received.concat({start: length, end: length})) {
+    for (let start = position; start < range.start; start += chunkSize) {
+      chunks.push({start, end: Math.min(start + chunkSize, range.start)});
+    }
+    position = Math.max(position, range.end);
+  }
+  return chunks;
+}
+
+function generateUploadId(): string {
+  return Date.now().toString(36) + Math.random().toString(36).substring(2);
+}
+
+/**
+ * Uploads a file to a stream receiver URL in chunks, which are sent in
+ * parallel and each verified with a CRC32 checksum by the server.
+ *
+ * If an upload with the same `uploadId` has already been started, only the
+ * chunks which the server has not yet received are sent. Chunks which fail
+ * because of a network error or a server error are resent up to `retries`
+ * times.
+ *
+ * @param url the target URL of the upload, e.g. the `target` of an upload
+ * element
+ * @param file the file to upload
+ * @param options the chunk size, parallelism and other upload options
+ * @returns the response of the request which completed the upload
+ */
+export async function uploadInChunks(url: string, file: File, options: ChunkedUploadOptions = {}): Promise<Response> {
+  const chunkSize = options.chunkSize || DEFAULT_CHUNK_SIZE;
+  const parallelUploads = options.parallelUploads || DEFAULT_PARALLEL_UPLOADS;
+  const retries = options.retries === undefined ? DEFAULT_RETRIES : options.retries;
+  const uploadId = options.uploadId || generateUploadId();
+  const headers: Record<string, string> = {
+    'X-Upload-Id': uploadId,
+    'X-Upload-Length': String(file.size),
+    'X-Upload-Name': encodeURIComponent(file.name),
+    'X-Upload-Type': file.type || 'application/octet-stream'
+  };
+
+  const send = async (chunk: Range, body?: Uint8Array): Promise<Response> => {
+    const chunkHeaders: Record<string, string> = {...headers, 'X-Upload-Offset': String(chunk.start)};
+    if (body) {
+      chunkHeaders['X-Upload-Checksum'] = crc32(body);
+    }
+    return fetch(url, {method: 'POST', headers: chunkHeaders, body});
+  };
+
+  // An empty chunk tells which ranges the server already has
+  const probe = await send({start: 0, end: 0});
+  if (!probe.ok) {
+    throw new Error(`Unable to start upload: ${probe.status} ${probe.statusText}`);
+  }
+  const received = parseRanges(probe.headers.get('X-Upload-Received'));
+  const queue = missingChunks(received, file.size, chunkSize);
+  let loaded = received.reduce((sum, range) => sum + range.end - range.start, 0);
+  let completion: Response | undefined = file.size === 0 ? probe : undefined;
+
+  const sendChunk = async (chunk: Range) => {
+    const body = new Uint8Array(await readChunk(file.slice(chunk.start, chunk.end)));
+    for (let attempt = 0; ; attempt++) {
+      let response: Response | undefined;
+      try {
+        response = await send(chunk, body);
+      } catch (error) {
+        if (attempt >= retries) {
+          throw error;
+        }
+      }
+      if (response && response.ok) {
+        loaded += chunk.end - chunk.start;
+        if (options.onProgress) {
+          options.onProgress(loaded, file.size);
+        }
+        if (!response.headers.has('X-Upload-Received')) {
+          // The server responds without the received ranges once the
+          // upload is completed and handed to the stream receiver
+          completion = response;
+        }
+        return;
+      }
+      // Client errors, e.g. a conflict with a completed upload, would fail
+      // the same way again
+      if (response && (response.status < 500 || attempt >= retries)) {
+        throw new Error(`Unable to upload chunk ${chunk.start}-${chunk.end}: ${response.status} ${response.statusText}`);
+      }
+    }
+  };
+
+  const worker = async () => {
+    let chunk;
+    while ((chunk = queue.shift())) {
+      await sendChunk(chunk);
+    }
+  };
+  const workers = [];
+  for (let i = 0; i < Math.min(parallelUploads, queue.length); i++) {
+    workers.push(worker());
+  }
+  await Promise.all(workers);
+
+  if (!completion) {
+    throw new Error('The upload was not completed by the server');
+  }
+  return completion;
+}
@@ -171,6 +171,28 @@ export interface ConnectClientOptions {
    * The `middlewares` property value.
    */
   middlewares?: Middleware[];
+
+  /**
+   * The `batch` property value.
+   */
+  batch?: boolean | number;
+}
+
+/**
+ * A call waiting to be sent as a part of a batch request.
+ */
+interface PendingCall {
+  context: MiddlewareContext;
+  resolve: (response: Response) => void;
+  reject: (error: any) => void;
+}
+
+/**
+ * The result of a single call in a batch response.
+ */
+interface BatchResult {
+  status: number;
+  body?: any;
 }
 
 /**
@@ -253,6 +275,20 @@ export type Middleware = MiddlewareClass | MiddlewareFunction;
  *
  * The default prefix is '/connect'.
  *
+ * ### Batching
+ *
+ * The client can combine the calls made within one animation frame, or within
+ * the given number of milliseconds, into a single request:
+ * ```js
+ * const client = new ConnectClient({batch: true});
+ * ```
+ *
+ * The middlewares are invoked for each call separately, and each call gets a
+ * response of its own. Only the calls whose requests are identical after the
+ * middlewares, apart from the endpoint, method and parameters, are combined.
+ * Calls with other request URLs, headers or options are sent as separate
+ * requests.
+ *
  */
 export class ConnectClient {
   /**
@@ -265,6 +301,15 @@ export class ConnectClient {
    */
   middlewares: Middleware[] = [];
 
+  /**
+   * Whether the calls are batched: `false` sends each call as a separate
+   * request, `true` combines the calls made within one animation frame, and a
+   * number combines the calls made within that many milliseconds.
+   */
+  batch: boolean | number = false;
+
+  private pendingCalls: PendingCall[] = [];
+
   /**
    * @param options Constructor options.
    */
@@ -276,6 +321,10 @@ export class ConnectClient {
     if (options.middlewares) {
       this.middlewares = options.middlewares;
     }
+
+    if (options.batch !== undefined) {
+      this.batch = options.batch;
+    }
   }
 
   /**
@@ -343,7 +392,17 @@ export class ConnectClient {
       ): Promise<Response> => {
         const response = await next(context);
         await assertResponseIsOk(response);
-        return response.json();
+        // A streamed array result is cut short if the endpoint fails while
+        // the response is being written
+        const responseText = await response.text();
+        try {
+          return JSON.parse(responseText);
+        } catch (error) {
+          throw new EndpointResponseError(
+            `Invalid endpoint response: ${error.message}`,
+            response
+          );
+        }
       };
 
     // The actual fetch call itself is expressed as a middleware
@@ -351,6 +410,9 @@ export class ConnectClient {
     // this way makes the folding down below more concise.
     const fetchNext: MiddlewareNext =
       async(context: MiddlewareContext): Promise<Response> => {
+        if (this.batch !== false) {
+          return this.enqueue(context);
+        }
         this.loading(true);
         try {
           return fetch(context.request);
@@ -385,6 +447,116 @@ export class ConnectClient {
     return chain(initialContext);
   }
 
+  private enqueue(context: MiddlewareContext): Promise<Response> {
+    return new Promise((resolve, reject) => {
+      this.pendingCalls.push({context, resolve, reject});
+      if (this.pendingCalls.length === 1) {
+        const send = () => this.sendBatch();
+        if (this.batch === true) {
+          requestAnimationFrame(send);
+        } else {
+          setTimeout(send, this.batch as number);
+        }
+      }
+    });
+  }
+
+  private async sendBatch() {
+    const calls = this.pendingCalls;
+    this.pendingCalls = [];
+
+    const groups: PendingCall[][] = [];
+    const groupsByKey = new Map<string, PendingCall[]>();
+    for (const call of calls) {
+      const key = this.getBatchKey(call.context);
+      let group = key === undefined ? undefined : groupsByKey.get(key);
+      if (!group) {
+        group = [];
+        groups.push(group);
+        if (key !== undefined) {
+          groupsByKey.set(key, group);
+        }
+      }
+      group.push(call);
+    }
+
+    this.loading(true);
+    try {
+      await Promise.all(groups.map(group => this.sendCalls(group)));
+    } finally {
+      this.loading(false);
+    }
+  }
+
+  // Gets a key that is equal for the calls that can be combined, or undefined
+  // if the request has been changed so that the call must be sent alone
+  private getBatchKey(context: MiddlewareContext): string | undefined {
+    const request = context.request;
+    const url = new Request(`${this.prefix}/${context.endpoint}/${context.method}`).url;
+    if (request.method !== 'POST' || request.url !== url || request.integrity) {
+      return undefined;
+    }
+
+    const headers: string[][] = [];
+    request.headers.forEach((value, name) => headers.push([name, value]));
+    return JSON.stringify([
+      headers,
+      request.credentials,
+      request.mode,
+      request.cache,
+      request.redirect,
+      request.referrer,
+      request.referrerPolicy
+    ]);
+  }
+
+  private async sendCalls(calls: PendingCall[]) {
+    try {
+      const request = calls[0].context.request;
+      if (calls.length === 1) {
+        calls[0].resolve(await fetch(request));
+        return;
+      }
+
+      const body = await Promise.all(calls.map(async call => {
+        const params = await call.context.request.clone().text();
+        return {
+          endpoint: call.context.endpoint,
+          method: call.context.method,
+          params: params ? JSON.parse(params) : null
+        };
+      }));
+      const response = await fetch(`${this.prefix}/batch`, {
+        method: 'POST',
+        headers: request.headers,
+        credentials: request.credentials,
+        mode: request.mode,
+        cache: request.cache,
+        redirect: request.redirect,
+        referrer: request.referrer,
+        referrerPolicy: request.referrerPolicy,
+        body: JSON.stringify(body)
+      });
+      if (!response.ok) {
+        // Every call fails the same way
+        const responses = calls.map(() => response.clone());
+        calls.forEach((call, index) => call.resolve(responses[index]));
+        return;
+      }
+
+      const results: BatchResult[] = await response.json();
+      calls.forEach((call, index) => {
+        const result = results[index];
+        call.resolve(new Response(
+          result.body === undefined ? null : JSON.stringify(result.body),
+          {status: result.status, headers: {'Content-Type': 'application/json'}}
+        ));
+      });
+    } catch (error) {
+      calls.forEach(call => call.reject(error));
+    }
+  }
+
   // Re-use flow loading indicator when fetching endpoints
   private loading(action: boolean) {
     if ($wnd.Vaadin.Flow?.loading) {
@@ -1,3 +1,4 @@
 export * from './Flow';
 export * from './Connect';
 export * from './Authentication';
+export * from './ChunkedUpload';
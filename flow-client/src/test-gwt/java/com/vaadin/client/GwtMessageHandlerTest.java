@@ -20,12 +20,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import com.google.gwt.core.client.Duration;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.user.client.Timer;
 import com.vaadin.client.communication.MessageHandler;
 import com.vaadin.client.communication.MessageSender;
 import com.vaadin.client.communication.RequestResponseTracker;
 import com.vaadin.client.flow.StateTree;
+import com.vaadin.client.flow.reactive.Reactive;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
@@ -49,6 +51,8 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
 
     private static class TestMessageHandler extends MessageHandler {
 
+        private boolean documentHidden;
+
         public TestMessageHandler(Registry registry) {
             super(registry);
         }
@@ -58,16 +62,24 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
             super.handleJSON(valueMap);
         }
 
+        @Override
+        protected boolean isDocumentHidden() {
+            return documentHidden;
+        }
+
     }
 
     private static class TestRequestResponseTracker
             extends RequestResponseTracker {
+        private int endedRequests;
+
         public TestRequestResponseTracker(Registry registry) {
             super(registry);
         }
 
         @Override
         public void endRequest() {
+            endedRequests++;
         }
     }
 
@@ -261,6 +273,85 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
         }.schedule(300);
     }
 
+    public void testChangeApplyBudget_changesAppliedInSeveralFrames() {
+        delayTestFinish(1000);
+        afterInitialMessage(() -> {
+            List<Integer> flushed = handleSlowMessage();
+
+            // Only the first slice is applied before the browser can render
+            assertEquals(1, flushed.size());
+            assertEquals(0, getRequestResponseTracker().endedRequests);
+
+            new Timer() {
+                @Override
+                public void run() {
+                    assertEquals(5, flushed.size());
+                    assertEquals(1, getRequestResponseTracker().endedRequests);
+                    finishTest();
+                }
+            }.schedule(500);
+        });
+    }
+
+    public void testChangeApplyBudget_documentHidden_changesAppliedAtOnce() {
+        delayTestFinish(1000);
+        afterInitialMessage(() -> {
+            handler.documentHidden = true;
+
+            List<Integer> flushed = handleSlowMessage();
+
+            assertEquals(5, flushed.size());
+            assertEquals(1, getRequestResponseTracker().endedRequests);
+            finishTest();
+        });
+    }
+
+    /**
+     * Handles an empty initial message, so that the following messages are
+     * not waiting for the HTML imports of the document.
+     */
+    private void afterInitialMessage(Command command) {
+        JavaScriptObject object = JavaScriptObject.createObject();
+        handler.handleJSON(object.cast());
+        new Timer() {
+            @Override
+            public void run() {
+                getRequestResponseTracker().endedRequests = 0;
+                command.execute();
+            }
+        }.schedule(100);
+    }
+
+    /**
+     * Handles a message with five flush listeners which each take longer
+     * than the change apply budget.
+     */
+    private List<Integer> handleSlowMessage() {
+        registry.getApplicationConfiguration().setChangeApplyBudget(1);
+        List<Integer> flushed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            Reactive.addPostFlushListener(() -> {
+                double end = Duration.currentTimeMillis() + 5;
+                while (Duration.currentTimeMillis() < end) {
+                    // Simulate a slow DOM update
+                }
+                flushed.add(index);
+            });
+        }
+
+        JavaScriptObject object = JavaScriptObject.createObject();
+        JsonObject obj = object.cast();
+        obj.put("changes", Json.createArray());
+        handler.handleJSON(object.cast());
+        return flushed;
+    }
+
+    private TestRequestResponseTracker getRequestResponseTracker() {
+        return (TestRequestResponseTracker) registry
+                .getRequestResponseTracker();
+    }
+
     private TestResourceLoader getResourceLoader() {
         return (TestResourceLoader) registry.getResourceLoader();
     }
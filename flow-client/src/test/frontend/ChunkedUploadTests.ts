@@ -0,0 +1,96 @@
+const {describe, it, afterEach} = intern.getPlugin('interface.bdd');
+const {expect} = intern.getPlugin('chai');
+const {fetchMock} = intern.getPlugin('fetchMock');
+
+import { uploadInChunks } from "../../main/resources/META-INF/resources/frontend";
+
+/* global File Response */
+describe('uploadInChunks', () => {
+
+  const url = '/VAADIN/dynamic/resource/upload';
+
+  afterEach(() => fetchMock.restore());
+
+  function chunkCalls() {
+    return fetchMock.calls().map(([, options]: any) => options.headers)
+      .filter((headers: any) => headers['X-Upload-Checksum']);
+  }
+
+  it('should be exported', () => {
+    expect(uploadInChunks).to.be.ok;
+  });
+
+  it('should send the file in parallel chunks with checksums', async() => {
+    const ranges: string[] = [];
+    fetchMock.post(url, (_url: string, options: any) => {
+      const offset = Number(options.headers['X-Upload-Offset']);
+      const size = options.body ? options.body.length : 0;
+      if (size) {
+        ranges.push(`${offset}-${offset + size}`);
+      }
+      const done = ranges.length === 3;
+      return new Response(done ? 'done' : '', {
+        headers: done ? {} : {'X-Upload-Received': ranges.join(',')}
+      });
+    });
+
+    const file = new File(['foobarbaz'], 'foo bar.txt', {type: 'text/plain'});
+    const response = await uploadInChunks(url, file, {chunkSize: 3, uploadId: 'id'});
+
+    expect(await response.text()).to.equal('done');
+    const headers = chunkCalls();
+    expect(headers).to.have.lengthOf(3);
+    expect(headers.map((h: any) => h['X-Upload-Offset']).sort()).to.deep.equal(['0', '3', '6']);
+    expect(headers[0]['X-Upload-Id']).to.equal('id');
+    expect(headers[0]['X-Upload-Length']).to.equal('9');
+    expect(headers[0]['X-Upload-Name']).to.equal('foo%20bar.txt');
+    // CRC32 of "foo"
+    expect(headers.find((h: any) => h['X-Upload-Offset'] === '0')['X-Upload-Checksum'])
+      .to.equal('8c736521');
+  });
+
+  it('should only send the chunks missing from a resumed upload', async() => {
+    fetchMock.post(url, (_url: string, options: any) => options.body
+      ? new Response('done')
+      : new Response('', {headers: {'X-Upload-Received': '0-3,6-9'}}));
+
+    const file = new File(['foobarbaz'], 'foo.txt');
+    await uploadInChunks(url, file, {chunkSize: 3, uploadId: 'id'});
+
+    const headers = chunkCalls();
+    expect(headers).to.have.lengthOf(1);
+    expect(headers[0]['X-Upload-Offset']).to.equal('3');
+  });
+
+  it('should resend a failed chunk', async() => {
+    let failures = 1;
+    fetchMock.post(url, (_url: string, options: any) => {
+      if (!options.body) {
+        return new Response('', {headers: {'X-Upload-Received': ''}});
+      }
+      return failures-- > 0 ? new Response('', {status: 503}) : new Response('done');
+    });
+
+    const file = new File(['foo'], 'foo.txt');
+    const response = await uploadInChunks(url, file, {chunkSize: 3});
+
+    expect(await response.text()).to.equal('done');
+    expect(chunkCalls()).to.have.lengthOf(2);
+  });
+
+  it('should not resend a chunk rejected by the server', async() => {
+    fetchMock.post(url, (_url: string, options: any) => options.body
+      ? new Response('', {status: 409})
+      : new Response('', {headers: {'X-Upload-Received': ''}}));
+
+    const file = new File(['foo'], 'foo.txt');
+    try {
+      await uploadInChunks(url, file, {chunkSize: 3});
+      expect.fail('The upload should fail');
+    } catch (error) {
+      expect(error.message).to.contain('409');
+    }
+
+    expect(chunkCalls()).to.have.lengthOf(1);
+  });
+});
@@ -43,6 +43,11 @@ describe('ConnectClient', () => {
       expect(client).to.have.property('middlewares')
         .deep.equal([myMiddleware]);
     });
+
+    it('should support batch', () => {
+      const client = new ConnectClient({batch: 10});
+      expect(client).to.have.property('batch', 10);
+    });
   });
 
   describe('prefix', () => {
@@ -211,6 +216,19 @@ describe('ConnectClient', () => {
       expect(data).to.deep.equal({fooData: 'foo'});
     });
 
+    it('should reject if response is not valid JSON', async() => {
+      fetchMock.post(base + '/connect/FooEndpoint/streamMethod', {
+        body: '["foo","ba', status: 200
+      });
+
+      try {
+        await client.call('FooEndpoint', 'streamMethod');
+      } catch (err) {
+        expect(err).to.be.instanceOf(EndpointResponseError)
+          .and.have.property('message').that.has.string('Invalid endpoint response');
+      }
+    });
+
     it('should reject if response is not ok', async() => {
       fetchMock.post(base + '/connect/FooEndpoint/notFound', 404);
       try {
@@ -435,4 +453,71 @@ describe('ConnectClient', () => {
       });
     });
   });
+
+  describe('batch', () => {
+    afterEach(() => fetchMock.restore());
+
+    it('should send calls made within the batch window in one request', async() => {
+      fetchMock.post(base + '/connect/batch', [
+        {status: 200, body: {fooData: 'foo'}},
+        {status: 400, body: {message: 'Bad request', type: 'java.lang.Exception'}}
+      ]);
+      const client = new ConnectClient({batch: 10});
+
+      const first = client.call('FooEndpoint', 'fooMethod', {fooParam: 'foo'});
+      const second = client.call('BarEndpoint', 'barMethod');
+
+      expect(await first).to.deep.equal({fooData: 'foo'});
+      try {
+        await second;
+      } catch (err) {
+        expect(err).to.be.instanceOf(EndpointError)
+          .and.have.property('message').that.is.string('Bad request');
+      }
+
+      expect(fetchMock.calls().length).to.equal(1);
+      expect(JSON.parse(fetchMock.lastOptions().body)).to.deep.equal([
+        {endpoint: 'FooEndpoint', method: 'fooMethod', params: {fooParam: 'foo'}},
+        {endpoint: 'BarEndpoint', method: 'barMethod', params: null}
+      ]);
+    });
+
+    it('should send calls with different requests separately', async() => {
+      fetchMock.post(base + '/connect/batch', [
+        {status: 200, body: {fooData: 'foo'}},
+        {status: 200, body: {bazData: 'baz'}}
+      ]);
+      fetchMock.post(base + '/connect/BarEndpoint/barMethod', {barData: 'bar'});
+      const client = new ConnectClient({batch: 10});
+      client.middlewares = [async(context: any, next?: any) => {
+        if (context.endpoint === 'BarEndpoint') {
+          context.request.headers.set('X-Foo', 'Bar');
+        }
+        return next(context);
+      }];
+
+      const first = client.call('FooEndpoint', 'fooMethod');
+      const second = client.call('BarEndpoint', 'barMethod');
+      const third = client.call('BazEndpoint', 'bazMethod');
+
+      expect(await first).to.deep.equal({fooData: 'foo'});
+      expect(await second).to.deep.equal({barData: 'bar'});
+      expect(await third).to.deep.equal({bazData: 'baz'});
+
+      expect(fetchMock.calls().length).to.equal(2);
+      expect(JSON.parse(fetchMock.lastOptions(base + '/connect/batch').body)).to.deep.equal([
+        {endpoint: 'FooEndpoint', method: 'fooMethod', params: null},
+        {endpoint: 'BazEndpoint', method: 'bazMethod', params: null}
+      ]);
+      const request = fetchMock.lastCall(base + '/connect/BarEndpoint/barMethod').request;
+      expect(request.headers.get('X-Foo')).to.equal('Bar');
+    });
+
+    it('should send a single call in the batch window as a normal request', async() => {
+      fetchMock.post(base + '/connect/FooEndpoint/fooMethod', {fooData: 'foo'});
+      const client = new ConnectClient({batch: 10});
+
+      expect(await client.call('FooEndpoint', 'fooMethod')).to.deep.equal({fooData: 'foo'});
+    });
+  });
 });
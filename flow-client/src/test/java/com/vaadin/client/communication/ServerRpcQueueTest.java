@@ -0,0 +1,116 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class ServerRpcQueueTest {
+
+    private ServerRpcQueue queue;
+
+    @Before
+    public void setUp() {
+        UILifecycle lifecycle = new UILifecycle();
+        lifecycle.setState(UIState.RUNNING);
+        Registry registry = new Registry() {
+            {
+                set(UILifecycle.class, lifecycle);
+            }
+        };
+        queue = new ServerRpcQueue(registry);
+    }
+
+    @Test
+    public void add_sameProperty_onlyLastValueSent() {
+        queue.add(sync(1, "value", "a"));
+        queue.add(sync(1, "value", "ab"));
+        queue.add(sync(1, "value", "abc"));
+
+        JsonArray json = queue.toJson();
+        Assert.assertEquals(1, json.length());
+        Assert.assertEquals("abc", json.getObject(0)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void add_differentPropertiesAndNodes_allSent() {
+        queue.add(sync(1, "value", "a"));
+        queue.add(sync(1, "checked", "b"));
+        queue.add(sync(2, "value", "c"));
+
+        Assert.assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void add_eventBetweenSyncs_orderPreserved() {
+        queue.add(sync(1, "value", "a"));
+        queue.add(sync(1, "value", "ab"));
+        queue.add(event(1, "change"));
+        queue.add(sync(1, "value", "abc"));
+        queue.add(sync(1, "value", "abcd"));
+
+        JsonArray json = queue.toJson();
+        Assert.assertEquals(3, json.length());
+        Assert.assertEquals("ab", json.getObject(0)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+        Assert.assertEquals("change",
+                json.getObject(1).getString(JsonConstants.RPC_EVENT_TYPE));
+        Assert.assertEquals("abcd", json.getObject(2)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void add_syncAfterClear_notCoalescedWithSentSync() {
+        queue.add(sync(1, "value", "a"));
+        queue.clear();
+        queue.add(event(1, "change"));
+        queue.add(sync(1, "value", "ab"));
+
+        JsonArray json = queue.toJson();
+        Assert.assertEquals(2, json.length());
+        Assert.assertEquals("ab", json.getObject(1)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    private static JsonObject sync(int node, String property, String value) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_FEATURE, 1);
+        message.put(JsonConstants.RPC_PROPERTY, property);
+        message.put(JsonConstants.RPC_PROPERTY_VALUE, value);
+        return message;
+    }
+
+    private static JsonObject event(int node, String eventType) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_EVENT_TYPE, eventType);
+        return message;
+    }
+}
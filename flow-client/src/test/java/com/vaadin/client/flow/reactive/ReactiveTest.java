@@ -177,4 +177,32 @@ public class ReactiveTest {
 
         Assert.assertEquals(Arrays.asList("flush", "flush2", "postFlush"), order);
     }
+
+    @Test
+    public void flushWithYield_remainingListenersInvokedInOrderByNextFlush() {
+        List<String> order = new ArrayList<>();
+
+        Reactive.addPostFlushListener(() -> order.add("postFlush"));
+        Reactive.addFlushListener(() -> order.add("flush1"));
+        Reactive.addFlushListener(() -> order.add("flush2"));
+
+        Assert.assertFalse(Reactive.flush(() -> true));
+        Assert.assertEquals(Arrays.asList("flush1"), order);
+
+        Assert.assertFalse(Reactive.flush(() -> true));
+        Assert.assertEquals(Arrays.asList("flush1", "flush2"), order);
+
+        Assert.assertTrue(Reactive.flush(() -> true));
+        Assert.assertEquals(Arrays.asList("flush1", "flush2", "postFlush"),
+                order);
+    }
+
+    @Test
+    public void flushWithoutYield_allListenersInvoked() {
+        Reactive.addFlushListener(count::incrementAndGet);
+        Reactive.addPostFlushListener(count::incrementAndGet);
+
+        Assert.assertTrue(Reactive.flush(() -> false));
+        Assert.assertEquals(2, count.get());
+    }
 }
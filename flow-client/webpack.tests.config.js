@@ -6,6 +6,7 @@ module.exports = {
     flow: "./src/test/frontend/FlowTests.ts",
     connect: "./src/test/frontend/ConnectTests.ts",
     authentication: "./src/test/frontend/AuthenticationTests.ts",
+    chunked_upload: "./src/test/frontend/ChunkedUploadTests.ts",
     gizmo: "./src/test/frontend/VaadinDevmodeGizmoTests.js",
     form_binder: "./src/test/frontend/form/BinderTests.ts",
     form_field: "./src/test/frontend/form/FieldTests.ts",
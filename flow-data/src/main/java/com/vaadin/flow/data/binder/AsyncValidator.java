@@ -0,0 +1,79 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.data.binder;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A functional interface for validating user input asynchronously, e.g. when
+ * the validation needs to query a database or a remote service. The validator
+ * only starts the validation and returns a stage which is completed with the
+ * result once it is known, so that the UI is not blocked in the meantime.
+ * <p>
+ * For instance, the following validator checks that a user name is not taken:
+ *
+ * <pre>
+ * AsyncValidator&lt;String&gt; v = (name, context) -&gt; CompletableFuture
+ *         .supplyAsync(() -&gt; userService.exists(name)
+ *                 ? ValidationResult.error("user name is taken")
+ *                 : ValidationResult.ok());
+ * </pre>
+ *
+ * @author Vaadin Ltd
+ * @since
+ *
+ * @param <T>
+ *            the type of the value to validate
+ *
+ * @see Binder.BindingBuilder#withAsyncValidator(AsyncValidator)
+ */
+@FunctionalInterface
+public interface AsyncValidator<T> extends Serializable {
+
+    /**
+     * Starts validating the given value. This method is called while holding
+     * the session lock and should return without waiting for the result.
+     * <p>
+     * The returned stage may be cancelled if the value changes before it
+     * completes.
+     *
+     * @param value
+     *            the input value to validate
+     * @param context
+     *            the value context for validation
+     * @return the stage completed with the validation result, not
+     *         {@code null}
+     */
+    CompletionStage<ValidationResult> apply(T value, ValueContext context);
+
+    /**
+     * Returns an asynchronous validator which completes immediately with the
+     * result of the given synchronous validator.
+     *
+     * @param <T>
+     *            the value type
+     * @param validator
+     *            the validator to wrap, not {@code null}
+     * @return the asynchronous validator
+     */
+    static <T> AsyncValidator<T> from(Validator<T> validator) {
+        return (value, context) -> CompletableFuture
+                .completedFuture(validator.apply(value, context));
+    }
+}
@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,6 +33,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -48,14 +56,17 @@ import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.HasValue.ValueChangeEvent;
 import com.vaadin.flow.component.HasValue.ValueChangeListener;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.data.converter.Converter;
 import com.vaadin.flow.data.converter.StringToIntegerConverter;
 import com.vaadin.flow.data.validator.BeanValidator;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.function.SerializableRunnable;
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.Registration;
 
 /**
@@ -494,6 +505,66 @@ public class Binder<BEAN> implements Serializable {
                     errorLevel));
         }
 
+        /**
+         * Adds an asynchronous validator to this binding. Shorthand for
+         * {@link #withAsyncValidator(AsyncValidator, Duration)} without a
+         * debounce delay.
+         *
+         * @see #withAsyncValidator(AsyncValidator, Duration)
+         *
+         * @param validator
+         *            the asynchronous validator to add, not null
+         * @return this binding, for chaining
+         * @throws IllegalStateException
+         *             if {@code bind} has already been called
+         */
+        default BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator) {
+            return withAsyncValidator(validator, Duration.ZERO);
+        }
+
+        /**
+         * Adds an asynchronous validator to this binding, e.g. for checks
+         * which need to query a database. It is applied in registration order
+         * together with the other validators, but it is only started when the
+         * user changes the field value and all the preceding validators and
+         * converters have passed.
+         * <p>
+         * The validation does not block the session while running. Until it
+         * completes the field is not marked invalid, but the value is not
+         * written to the bean either: {@link Binder#writeBean(Object)} and
+         * {@link Binder#validate()} report it as an error and a bean set with
+         * {@link Binder#setBean(Object)} is only updated once the validation
+         * has passed. Once it completes, the result is applied while holding
+         * the session lock using
+         * {@link UI#access(com.vaadin.flow.server.Command)} and the
+         * validation status is updated as if the value had just changed. If
+         * the value changes again before that, the stale validation is
+         * cancelled and its result is ignored.
+         * <p>
+         * When a debounce delay is given, the validation is only started once
+         * the value has not changed for that long. The delay is measured by a
+         * timer thread of the current {@link VaadinService}, which is stopped
+         * when the service is destroyed. Without a current
+         * service the validation is started right away.
+         * <p>
+         * {@link Binder#validate()} and {@link Binder#writeBean(Object)} do
+         * not start asynchronous validators, but take into account the result
+         * of the last asynchronous validation of the current value.
+         *
+         * @param validator
+         *            the asynchronous validator to add, not null
+         * @param debounceDelay
+         *            how long the value must stay unchanged before the
+         *            validation is started, not null
+         * @return this binding, for chaining
+         * @throws IllegalStateException
+         *             if {@code bind} has already been called
+         */
+        BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator,
+                Duration debounceDelay);
+
         /**
          * Maps the binding to another data type using the given
          * {@link Converter}.
@@ -781,6 +852,8 @@ public class Binder<BEAN> implements Serializable {
 
         private boolean asRequiredSet;
 
+        private final List<AsyncValidatorAdapter<?>> asyncValidators = new ArrayList<>();
+
         /**
          * Creates a new binding builder associated with the given field.
          * Initializes the builder with the given converter chain and status
@@ -904,6 +977,21 @@ public class Binder<BEAN> implements Serializable {
             return this;
         }
 
+        @Override
+        public BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator,
+                Duration debounceDelay) {
+            checkUnbound();
+            Objects.requireNonNull(validator, "validator cannot be null");
+            Objects.requireNonNull(debounceDelay,
+                    "debounce delay cannot be null");
+
+            AsyncValidatorAdapter<TARGET> adapter = new AsyncValidatorAdapter<>(
+                    validator, debounceDelay);
+            asyncValidators.add(adapter);
+            return withValidator(adapter);
+        }
+
         @Override
         public <NEWTARGET> BindingBuilder<BEAN, NEWTARGET> withConverter(
                 Converter<TARGET, NEWTARGET> converter) {
@@ -1055,6 +1143,8 @@ public class Binder<BEAN> implements Serializable {
 
         private boolean validatorsDisabled = false;
 
+        private final List<AsyncValidatorAdapter<?>> asyncValidators;
+
         public BindingImpl(BindingBuilderImpl<BEAN, FIELDVALUE, TARGET> builder,
                 ValueProvider<BEAN, TARGET> getter,
                 Setter<BEAN, TARGET> setter) {
@@ -1063,6 +1153,7 @@ public class Binder<BEAN> implements Serializable {
             statusHandler = builder.statusHandler;
             this.asRequiredSet = builder.asRequiredSet;
             converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) builder.converterValidatorChain);
+            asyncValidators = new ArrayList<>(builder.asyncValidators);
 
             onValueChange = getField().addValueChangeListener(
                     event -> handleFieldValueChange(event));
@@ -1115,6 +1206,7 @@ public class Binder<BEAN> implements Serializable {
          */
         @Override
         public void unbind() {
+            asyncValidators.forEach(AsyncValidatorAdapter::reset);
             if (onValueChange != null) {
                 onValueChange.remove();
                 onValueChange = null;
@@ -1226,12 +1318,57 @@ public class Binder<BEAN> implements Serializable {
             }
 
             if (binder != null) {
+                asyncValidators.forEach(AsyncValidatorAdapter::reset);
+                // Start before informing the binder so that it knows not to
+                // write a value which is still being validated
+                startAsyncValidation();
                 // Inform binder of changes; if setBean: writeIfValid
                 getBinder().handleFieldValueChange(this);
                 getBinder().fireEvent(event);
             }
         }
 
+        /**
+         * Starts the asynchronous validators reached by the validation of the
+         * new field value. Each completed validation updates the validation
+         * status as if the value had just changed.
+         */
+        private void startAsyncValidation() {
+            if (asyncValidators.isEmpty()) {
+                return;
+            }
+            // Record the new value in the validators it reaches
+            doConversion();
+            UI ui = field instanceof Component
+                    ? ((Component) field).getUI().orElseGet(UI::getCurrent)
+                    : UI.getCurrent();
+            ValueContext context = createValueContext();
+            asyncValidators.forEach(validator -> validator.start(ui, context,
+                    () -> {
+                        if (binder != null) {
+                            getBinder().handleFieldValueChange(this);
+                        }
+                    }));
+        }
+
+        /**
+         * Returns whether an asynchronous validation of the current field
+         * value has been started but has not completed yet.
+         *
+         * @return {@code true} if the validation of the value is pending,
+         *         {@code false} otherwise
+         */
+        private boolean isAsyncValidationPending() {
+            if (asyncValidators.isEmpty()) {
+                return false;
+            }
+            // Validators which the current value does not reach forget the
+            // previous value
+            doConversion();
+            return asyncValidators.stream()
+                    .anyMatch(AsyncValidatorAdapter::isPending);
+        }
+
         /**
          * Write the field value by invoking the setter function on the given
          * bean, if the value passes all registered validators.
@@ -1270,6 +1407,7 @@ public class Binder<BEAN> implements Serializable {
         }
 
         private void convertAndSetFieldValue(TARGET modelValue) {
+            asyncValidators.forEach(AsyncValidatorAdapter::reset);
             FIELDVALUE convertedValue = convertToFieldType(modelValue);
             try {
                 field.setValue(convertedValue);
@@ -1383,6 +1521,191 @@ public class Binder<BEAN> implements Serializable {
 
     }
 
+    /**
+     * Adapts an asynchronous validator to the validator chain of a binding.
+     * <p>
+     * When applied as part of the chain it records the value to validate and
+     * returns the result of the last completed asynchronous validation of
+     * that value, or a passing result while none is available. The binding
+     * starts the asynchronous validation after a value change if the chain
+     * reached this validator, and the binder does not write the value while
+     * its validation is pending.
+     *
+     * @param <T>
+     *            the type of the validated value
+     */
+    private static class AsyncValidatorAdapter<T> implements Validator<T> {
+
+        private final AsyncValidator<? super T> validator;
+        private final Duration debounceDelay;
+
+        private boolean reached;
+        private T value;
+        private ValidationResult result;
+        private int generation;
+        private boolean starting;
+        private transient Future<?> pending;
+
+        private AsyncValidatorAdapter(AsyncValidator<? super T> validator,
+                Duration debounceDelay) {
+            this.validator = validator;
+            this.debounceDelay = debounceDelay;
+        }
+
+        @Override
+        public ValidationResult apply(T value, ValueContext context) {
+            if (!reached || !Objects.equals(this.value, value)) {
+                reached = true;
+                this.value = value;
+                result = null;
+            }
+            return result == null ? ValidationResult.ok() : result;
+        }
+
+        /**
+         * Returns whether the validation of the recorded value has been
+         * started or scheduled but has not completed yet.
+         *
+         * @return {@code true} if the validation is pending, {@code false}
+         *         otherwise
+         */
+        private boolean isPending() {
+            return reached && result == null && pending != null;
+        }
+
+        /**
+         * Forgets the previous value and its result, cancelling the pending
+         * validation if any.
+         */
+        private void reset() {
+            generation++;
+            reached = false;
+            value = null;
+            result = null;
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+
+        /**
+         * Starts the validation of the recorded value, if any.
+         *
+         * @param ui
+         *            the UI to apply the result in, or {@code null} to apply
+         *            it in the completing thread if there is no UI
+         * @param context
+         *            the value context for validation
+         * @param onResult
+         *            called while holding the session lock once the result is
+         *            available
+         */
+        private void start(UI ui, ValueContext context,
+                SerializableRunnable onResult) {
+            if (!reached || result != null) {
+                return;
+            }
+            int startGeneration = generation;
+            T startValue = value;
+            SerializableRunnable validate = () -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                CompletableFuture<ValidationResult> future = validator
+                        .apply(startValue, context).toCompletableFuture();
+                pending = future;
+                future.whenComplete((validationResult, error) -> complete(ui,
+                        startGeneration, validationResult, error, onResult));
+            };
+            VaadinService service = VaadinService.getCurrent();
+            if (debounceDelay.isZero() || debounceDelay.isNegative()
+                    || service == null) {
+                // The result of a validation which completes right away is
+                // taken into account by the caller
+                starting = true;
+                try {
+                    validate.run();
+                } finally {
+                    starting = false;
+                }
+            } else {
+                pending = AsyncValidationScheduler.get(service).schedule(
+                        () -> runInUI(ui, validate),
+                        debounceDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void complete(UI ui, int startGeneration,
+                ValidationResult validationResult, Throwable error,
+                SerializableRunnable onResult) {
+            Throwable cause = error instanceof CompletionException
+                    && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                return;
+            }
+            runInUI(ui, () -> {
+                if (startGeneration != generation) {
+                    return;
+                }
+                pending = null;
+                if (cause != null) {
+                    throw new IllegalStateException(
+                            "Asynchronous validation failed", cause);
+                }
+                result = Objects.requireNonNull(validationResult,
+                        "asynchronous validation result cannot be null");
+                if (!starting) {
+                    onResult.run();
+                }
+            });
+        }
+
+        private static void runInUI(UI ui, SerializableRunnable runnable) {
+            if (ui == null || ui.getSession() == null
+                    || ui.getSession().hasLock()) {
+                // No session lock to acquire, or it is already held, e.g.
+                // when the validation completes right away during a request
+                runnable.run();
+                return;
+            }
+            try {
+                ui.access(runnable::run);
+            } catch (UIDetachedException e) {
+                // Nobody to show the result to
+            }
+        }
+    }
+
+    /**
+     * Holder of the timer thread used for debouncing asynchronous validators.
+     * There is one per service, stored in the
+     * {@link com.vaadin.flow.server.VaadinContext}, and its
+     * thread is stopped when the service is destroyed. The thread only starts
+     * the validations, it never runs validators.
+     */
+    private static class AsyncValidationScheduler implements Serializable {
+        private final transient ScheduledExecutorService executor = Executors
+                .newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "binder-async-validation-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        private AsyncValidationScheduler() {
+        }
+
+        private static ScheduledExecutorService get(VaadinService service) {
+            return service.getContext()
+                    .getAttribute(AsyncValidationScheduler.class, () -> {
+                        AsyncValidationScheduler scheduler = new AsyncValidationScheduler();
+                        service.addServiceDestroyListener(
+                                event -> scheduler.executor.shutdownNow());
+                        return scheduler;
+                    }).executor;
+        }
+    }
+
     /**
      * Converter decorator-strategy pattern to use initially provided "delegate"
      * converter to execute its logic until the {@code setIdentity()} method is
@@ -1423,6 +1746,12 @@ public class Binder<BEAN> implements Serializable {
         }
     }
 
+    /**
+     * The error message of a binding whose value is still being validated
+     * asynchronously when the binder is validated or written.
+     */
+    static final String ASYNC_VALIDATION_PENDING_MESSAGE = "Validation is pending";
+
     private final PropertySet<BEAN> propertySet;
 
     /**
@@ -1556,7 +1885,10 @@ public class Binder<BEAN> implements Serializable {
      */
     protected void handleFieldValueChange(Binding<BEAN, ?> binding) {
         changedBindings.add(binding);
-        if (getBean() != null) {
+        // A value being validated asynchronously is written once the
+        // validation completes
+        if (getBean() != null && changedBindings.stream()
+                .noneMatch(Binder::isAsyncValidationPending)) {
             doWriteIfValid(getBean(), changedBindings);
         } else {
             binding.validate();
@@ -1943,7 +2275,8 @@ public class Binder<BEAN> implements Serializable {
         // First run fields level validation, if no validation errors then
         // update bean
         List<BindingValidationStatus<?>> bindingResults = bindings.stream()
-                .map(b -> b.validate(false)).collect(Collectors.toList());
+                .map(b -> checkAsyncValidation(b.validate(false)))
+                .collect(Collectors.toList());
 
         if (bindingResults.stream()
                 .noneMatch(BindingValidationStatus::isError)) {
@@ -2240,10 +2573,50 @@ public class Binder<BEAN> implements Serializable {
      */
     private List<BindingValidationStatus<?>> validateBindings() {
         return getBindings().stream().map(BindingImpl::doValidation)
+                .map(Binder::checkAsyncValidation)
                 .collect(Collectors.collectingAndThen(Collectors.toList(),
                         Collections::unmodifiableList));
     }
 
+    /**
+     * Returns whether an asynchronous validation of the current value of the
+     * given binding is pending.
+     *
+     * @param binding
+     *            the binding to check
+     * @return {@code true} if the validation is pending, {@code false}
+     *         otherwise
+     */
+    private static boolean isAsyncValidationPending(Binding<?, ?> binding) {
+        return binding instanceof BindingImpl
+                && ((BindingImpl<?, ?, ?>) binding).isAsyncValidationPending();
+    }
+
+    /**
+     * Turns the given passing binding validation status into an error if an
+     * asynchronous validation of the value is pending, since the value cannot
+     * be considered valid yet.
+     *
+     * @param status
+     *            the binding validation status
+     * @return the given status, or an error status if the validation is
+     *         pending
+     */
+    private static BindingValidationStatus<?> checkAsyncValidation(
+            BindingValidationStatus<?> status) {
+        if (status.isError()
+                || !isAsyncValidationPending(status.getBinding())) {
+            return status;
+        }
+        return pendingStatus(status.getBinding());
+    }
+
+    private static <T> BindingValidationStatus<T> pendingStatus(
+            Binding<?, T> binding) {
+        return new BindingValidationStatus<>(
+                Result.error(ASYNC_VALIDATION_PENDING_MESSAGE), binding);
+    }
+
     /**
      * Validates the {@code bean} using validators added using
      * {@link #withValidator(Validator)} and returns the result of the
@@ -156,7 +156,7 @@ public class BeanValidator implements Validator<Object> {
      * @return the validator to use
      */
     public javax.validation.Validator getJavaxBeanValidator() {
-        return getJavaxBeanValidatorFactory().getValidator();
+        return LazyFactoryInitializer.VALIDATOR;
     }
 
     /**
@@ -191,6 +191,11 @@ public class BeanValidator implements Validator<Object> {
     private static class LazyFactoryInitializer implements Serializable {
         private static final ValidatorFactory FACTORY = getFactory();
 
+        // Validators are thread safe and may be shared, see
+        // ValidatorFactory#getValidator()
+        private static final javax.validation.Validator VALIDATOR = FACTORY
+                .getValidator();
+
         private LazyFactoryInitializer() {
         }
 
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.binder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.DataCommunicatorTest.AlwaysLockedVaadinSession;
+import com.vaadin.flow.data.provider.DataCommunicatorTest.MockUI;
+import com.vaadin.flow.server.ServiceDestroyListener;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.tests.data.bean.Person;
+
+public class BinderAsyncValidatorTest
+        extends BinderTestBase<Binder<Person>, Person> {
+
+    private static final String TAKEN_ERROR_MESSAGE = "Name is taken";
+
+    private transient List<CompletableFuture<ValidationResult>> validations;
+    private transient List<String> validatedValues;
+
+    private AsyncValidator<String> pendingValidator = (value, context) -> {
+        validatedValues.add(value);
+        CompletableFuture<ValidationResult> validation = new CompletableFuture<>();
+        validations.add(validation);
+        return validation;
+    };
+
+    @Before
+    public void setUp() {
+        validations = new ArrayList<>();
+        validatedValues = new ArrayList<>();
+        binder = new Binder<>();
+        item = new Person();
+        item.setFirstName("Johannes");
+    }
+
+    @After
+    public void tearDown() {
+        VaadinService.setCurrent(null);
+    }
+
+    @Test
+    public void valueChanged_validationPending_fieldNotInvalidButBinderNotValid() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Jo");
+
+        Assert.assertEquals(1, validations.size());
+        Assert.assertEquals("Jo", validatedValues.get(0));
+        assertValidField(nameField);
+        Assert.assertFalse(binder.isValid());
+        BinderValidationStatus<Person> status = binder.validate();
+        Assert.assertEquals(Binder.ASYNC_VALIDATION_PENDING_MESSAGE,
+                status.getFieldValidationErrors().get(0).getMessage().get());
+    }
+
+    @Test
+    public void setBean_validationPending_beanUpdatedOnlyOnceValidationPasses() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Jo");
+
+        Assert.assertEquals("Johannes", item.getFirstName());
+
+        validations.get(0).complete(ValidationResult.ok());
+
+        Assert.assertEquals("Jo", item.getFirstName());
+        assertValidField(nameField);
+        Assert.assertTrue(binder.validate().isOk());
+    }
+
+    @Test
+    public void setBean_validationFails_beanNotUpdated() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+        nameField.setValue("Jo");
+
+        validations.get(0).complete(ValidationResult.error(TAKEN_ERROR_MESSAGE));
+
+        Assert.assertEquals("Johannes", item.getFirstName());
+    }
+
+    @Test
+    public void writeBean_validationPending_throwsAndBeanNotUpdated() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+        nameField.setValue("Jo");
+
+        try {
+            binder.writeBean(item);
+            Assert.fail("Writing a value being validated should fail");
+        } catch (ValidationException e) {
+            Assert.assertEquals(Binder.ASYNC_VALIDATION_PENDING_MESSAGE,
+                    e.getFieldValidationErrors().get(0).getMessage().get());
+        }
+        Assert.assertEquals("Johannes", item.getFirstName());
+        Assert.assertFalse(binder.writeBeanIfValid(item));
+
+        validations.get(0).complete(ValidationResult.ok());
+
+        Assert.assertTrue(binder.writeBeanIfValid(item));
+        Assert.assertEquals("Jo", item.getFirstName());
+    }
+
+    @Test
+    public void writeBean_valueNotChanged_asyncValidatorNotRequired()
+            throws ValidationException {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        Person other = new Person();
+        binder.writeBean(other);
+
+        Assert.assertTrue(validations.isEmpty());
+        Assert.assertEquals("Johannes", other.getFirstName());
+    }
+
+    @Test
+    public void validationCompletesWithError_statusUpdated() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+        nameField.setValue("Jo");
+
+        validations.get(0).complete(ValidationResult.error(TAKEN_ERROR_MESSAGE));
+
+        assertInvalidField(TAKEN_ERROR_MESSAGE, nameField);
+        Assert.assertFalse(binder.validate().isOk());
+        Assert.assertEquals("Validation should not be restarted", 1,
+                validations.size());
+    }
+
+    @Test
+    public void newValueBeforeCompletion_staleValidationCancelled() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Jo");
+        nameField.setValue("John");
+
+        Assert.assertTrue(validations.get(0).isCancelled());
+        validations.get(1).complete(ValidationResult.ok());
+
+        assertValidField(nameField);
+        Assert.assertTrue(binder.validate().isOk());
+    }
+
+    @Test
+    public void precedingValidatorFails_asyncValidatorNotStarted() {
+        binder.forField(nameField).withValidator(notEmpty)
+                .withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("");
+
+        Assert.assertTrue(validations.isEmpty());
+        assertInvalidField(EMPTY_ERROR_MESSAGE, nameField);
+    }
+
+    @Test
+    public void validationCompletedImmediately_errorShownImmediately() {
+        binder.forField(nameField)
+                .withAsyncValidator(AsyncValidator.from(
+                        Validator.from(value -> false, TAKEN_ERROR_MESSAGE)))
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Jo");
+
+        assertInvalidField(TAKEN_ERROR_MESSAGE, nameField);
+    }
+
+    @Test
+    public void validationCompletedImmediately_sessionLocked_resultAppliedInSameRequest() {
+        VaadinSession session = new AlwaysLockedVaadinSession(null);
+        UI ui = new MockUI(session);
+        ui.add(nameField);
+        try {
+            binder.forField(nameField)
+                    .withAsyncValidator(AsyncValidator.from(Validator
+                            .from(value -> false, TAKEN_ERROR_MESSAGE)))
+                    .bind(Person::getFirstName, Person::setFirstName);
+            binder.setBean(item);
+
+            nameField.setValue("Jo");
+
+            assertInvalidField(TAKEN_ERROR_MESSAGE, nameField);
+            BinderValidationStatus<Person> status = binder.validate();
+            Assert.assertEquals(TAKEN_ERROR_MESSAGE, status
+                    .getFieldValidationErrors().get(0).getMessage().get());
+        } finally {
+            ui.remove(nameField);
+            session.getLockInstance().unlock();
+            UI.setCurrent(null);
+        }
+    }
+
+    @Test
+    public void debounceDelay_validationNotStartedImmediatelyButPending() {
+        VaadinService service = mockService();
+        binder.forField(nameField)
+                .withAsyncValidator(pendingValidator, Duration.ofHours(1))
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Jo");
+
+        Assert.assertTrue(validations.isEmpty());
+        assertValidField(nameField);
+        Assert.assertFalse(binder.isValid());
+        Assert.assertEquals("Johannes", item.getFirstName());
+
+        ArgumentCaptor<ServiceDestroyListener> listener = ArgumentCaptor
+                .forClass(ServiceDestroyListener.class);
+        Mockito.verify(service)
+                .addServiceDestroyListener(listener.capture());
+        // Stops the timer thread
+        listener.getValue().serviceDestroy(null);
+    }
+
+    @Test
+    public void debounceDelay_noService_validationStartedImmediately() {
+        binder.forField(nameField)
+                .withAsyncValidator(pendingValidator, Duration.ofHours(1))
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Jo");
+
+        Assert.assertEquals(1, validations.size());
+    }
+
+    @Test
+    public void beanRead_previousResultForgotten() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+        nameField.setValue("Jo");
+        validations.get(0).complete(ValidationResult.error(TAKEN_ERROR_MESSAGE));
+
+        Person other = new Person();
+        other.setFirstName("Jo");
+        binder.setBean(other);
+
+        Assert.assertTrue(binder.validate().isOk());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static VaadinService mockService() {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        VaadinContext context = Mockito.mock(VaadinContext.class);
+        Mockito.when(service.getContext()).thenReturn(context);
+        Mockito.when(context.getAttribute(Mockito.any(Class.class),
+                Mockito.any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier) invocation
+                        .getArguments()[1]).get());
+        VaadinService.setCurrent(service);
+        return service;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Locale;
 import javax.validation.Validation;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.component.UI;
@@ -73,6 +74,12 @@ public class BeanValidatorTest extends ValidatorTestBase {
                 validator("address.postalCode"));
     }
 
+    @Test
+    public void javaxBeanValidatorIsShared() {
+        Assert.assertSame(validator("firstname").getJavaxBeanValidator(),
+                validator("age").getJavaxBeanValidator());
+    }
+
     @Test
     public void testNullValuePasses() {
         assertPasses(null, validator("nickname"));
@@ -83,11 +83,7 @@ public class LitTemplateInitializer {
 
         ParserData data = null;
         if (productionMode) {
-            ReflectionCache<LitTemplate, ParserData> cache = CACHE
-                    .computeIfAbsent(parser, analyzer -> new ReflectionCache<>(
-                            clazz -> new LitTemplateDataAnalyzer(clazz,
-                                    analyzer, service).parseTemplate()));
-            data = cache.get(templateClass);
+            data = getCache(parser, service).get(templateClass);
         }
         if (data == null) {
             data = new LitTemplateDataAnalyzer(templateClass, parser, service)
@@ -96,6 +92,31 @@ public class LitTemplateInitializer {
         parserData = data;
     }
 
+    /**
+     * Analyzes the given template class and caches the result, so that
+     * creating a template instance in production mode does not need to parse
+     * the template.
+     *
+     * @param templateClass
+     *            the template class to analyze
+     * @param parser
+     *            lit template parser
+     * @param service
+     *            the related service
+     */
+    static void preload(Class<? extends LitTemplate> templateClass,
+            LitTemplateParser parser, VaadinService service) {
+        getCache(parser, service).get(templateClass);
+    }
+
+    private static ReflectionCache<LitTemplate, ParserData> getCache(
+            LitTemplateParser parser, VaadinService service) {
+        return CACHE.computeIfAbsent(parser,
+                analyzer -> new ReflectionCache<>(
+                        clazz -> new LitTemplateDataAnalyzer(clazz, analyzer,
+                                service).parseTemplate()));
+    }
+
     /**
      * Initializes child elements.
      */
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -39,12 +40,11 @@ import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.frontend.BundleStatsIndex;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
-import elemental.json.JsonObject;
-
 /**
  * Lit template parser implementation.
  * <p>
@@ -67,7 +67,7 @@ public class LitTemplateParserImpl implements LitTemplateParser {
 
     private final HashMap<String, String> cache = new HashMap<>();
     private final ReentrantLock templateSourceslock = new ReentrantLock();
-    private JsonObject jsonStats;
+    private BundleStatsIndex statsIndex;
 
     /**
      * The default constructor. Protected in order to prevent direct
@@ -204,9 +204,8 @@ public class LitTemplateParserImpl implements LitTemplateParser {
                     resetCache(content);
                 }
             }
-            if (!cache.containsKey(url) && jsonStats != null) {
-                cache.put(url, BundleLitParser.getSourceFromStatistics(url,
-                        jsonStats));
+            if (!cache.containsKey(url) && statsIndex != null) {
+                cache.put(url, statsIndex.getSource(url));
             }
             return cache.get(url);
         } finally {
@@ -217,9 +216,9 @@ public class LitTemplateParserImpl implements LitTemplateParser {
     /**
      * Check status to see if stats.json needs to be loaded and parsed.
      * <p>
-     * Always load if jsonStats is null, never load again when we have a bundle
-     * as it never changes, always load a new stats if the hash has changed and
-     * we do not have a bundle.
+     * Always load if the stats index is null, never load again when we have a
+     * bundle as it never changes, always load a new stats if the hash has
+     * changed and we do not have a bundle.
      *
      * @param service
      *            the Vaadin service.
@@ -230,13 +229,13 @@ public class LitTemplateParserImpl implements LitTemplateParser {
             throws IOException {
         assert templateSourceslock.isHeldByCurrentThread();
         DeploymentConfiguration config = service.getDeploymentConfiguration();
-        if (jsonStats == null) {
+        if (statsIndex == null) {
             return true;
         } else if (usesBundleFile(config)) {
             return false;
         }
-        return !jsonStats.get("hash").asString()
-                .equals(FrontendUtils.getStatsHash(service));
+        return !Objects.equals(statsIndex.getHash(),
+                FrontendUtils.getStatsHash(service));
     }
 
     /**
@@ -254,7 +253,7 @@ public class LitTemplateParserImpl implements LitTemplateParser {
     private void resetCache(String fileContents) {
         assert templateSourceslock.isHeldByCurrentThread();
         cache.clear();
-        jsonStats = BundleLitParser.parseJsonStatistics(fileContents);
+        statsIndex = BundleStatsIndex.parse(fileContents);
     }
 
     private Logger getLogger() {
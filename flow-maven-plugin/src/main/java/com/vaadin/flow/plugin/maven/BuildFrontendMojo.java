@@ -19,8 +19,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
@@ -41,13 +44,19 @@ import org.apache.maven.project.MavenProject;
 import com.vaadin.flow.component.dependency.JavaScript;
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
+import com.vaadin.flow.component.template.internal.TemplatePreloader;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.ExecutionFailedException;
+import com.vaadin.flow.server.PWA;
+import com.vaadin.flow.server.PwaRegistry;
 import com.vaadin.flow.server.frontend.FrontendTools;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.server.frontend.NodeTasks;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
 import com.vaadin.flow.theme.Theme;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
@@ -56,6 +65,7 @@ import static com.vaadin.flow.server.Constants.FRONTEND_TOKEN;
 import static com.vaadin.flow.server.Constants.GENERATED_TOKEN;
 import static com.vaadin.flow.server.Constants.NPM_TOKEN;
 import static com.vaadin.flow.server.Constants.SERVLET_PARAMETER_ENABLE_DEV_SERVER;
+import static com.vaadin.flow.server.Constants.TEMPLATES_JSON_DEFAULT;
 import static com.vaadin.flow.server.Constants.CONNECT_JAVA_SOURCE_FOLDER_TOKEN;
 import static com.vaadin.flow.server.Constants.CONNECT_APPLICATION_PROPERTIES_TOKEN;
 import static com.vaadin.flow.server.Constants.CONNECT_OPEN_API_FILE_TOKEN;
@@ -78,6 +88,7 @@ import static com.vaadin.flow.server.frontend.FrontendUtils.TOKEN_FILE;
  * {@link JsModule} {@link Theme} and {@link JavaScript} annotations defined in
  * the classpath,</li>
  * <li>Update {@link FrontendUtils#WEBPACK_CONFIG} file.</li>
+ * <li>Render the {@link PWA} icons.</li>
  * </ul>
  *
  * @since 2.0
@@ -85,6 +96,10 @@ import static com.vaadin.flow.server.frontend.FrontendUtils.TOKEN_FILE;
 @Mojo(name = "build-frontend", requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
 public class BuildFrontendMojo extends FlowModeAbstractMojo {
 
+    private static final String[] TEMPLATE_TYPES = {
+            "com.vaadin.flow.component.polymertemplate.PolymerTemplate",
+            "com.vaadin.flow.component.littemplate.LitTemplate" };
+
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
 
@@ -135,6 +150,9 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo {
                     "Could not execute build-frontend goal", exception);
         }
 
+        writeTemplatesFile();
+        writePwaIcons();
+
         if (generateBundle) {
             try {
                 runWebpack();
@@ -187,6 +205,78 @@ public class BuildFrontendMojo extends FlowModeAbstractMojo {
                         .execute();
     }
 
+    /**
+     * Lists the template classes of the project so that they can be analyzed
+     * at startup in production mode instead of on first use.
+     */
+    private void writeTemplatesFile() {
+        ClassFinder finder = getClassFinder(project);
+        JsonArray templates = Json.createArray();
+        for (String templateType : TEMPLATE_TYPES) {
+            Set<Class<? extends Object>> subTypes;
+            try {
+                subTypes = finder.getSubTypesOf(templateType);
+            } catch (ClassNotFoundException e) {
+                // The template module is not used by the project
+                continue;
+            }
+            subTypes.stream()
+                    .filter(type -> !Modifier.isAbstract(type.getModifiers()))
+                    .map(Class::getName).sorted()
+                    .forEach(name -> templates.set(templates.length(), name));
+        }
+
+        JsonObject json = Json.createObject();
+        json.put(TemplatePreloader.TEMPLATES, templates);
+        File templatesFile = new File(webpackOutputDirectory,
+                TEMPLATES_JSON_DEFAULT);
+        try {
+            FileUtils.write(templatesFile, JsonUtil.stringify(json, 2) + "\n",
+                    StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            getLog().warn("Unable to write the templates file", e);
+        }
+    }
+
+    /**
+     * Renders the icons of the {@link PWA} configuration of the project so
+     * that they do not need to be rendered when the application starts.
+     */
+    private void writePwaIcons() {
+        ClassFinder finder = getClassFinder(project);
+        Set<Class<?>> pwaClasses;
+        Class<? extends Annotation> pwaType;
+        try {
+            pwaType = finder.loadClass(PWA.class.getName());
+            pwaClasses = finder.getAnnotatedClasses(pwaType);
+        } catch (ClassNotFoundException e) {
+            return;
+        }
+        if (pwaClasses.size() != 1) {
+            // No PWA, or an invalid configuration reported at runtime
+            return;
+        }
+        try {
+            Annotation pwa = pwaClasses.iterator().next()
+                    .getAnnotation(pwaType);
+            String iconPath = ((String) pwaType.getMethod("iconPath")
+                    .invoke(pwa)).replaceAll("^[./]+", "");
+
+            URL logo;
+            File webappLogo = new File(project.getBasedir(),
+                    "src/main/webapp/" + iconPath);
+            if (webappLogo.isFile()) {
+                logo = webappLogo.toURI().toURL();
+            } else {
+                logo = finder.getResource("META-INF/resources/" + iconPath);
+            }
+            PwaRegistry.writePrerenderedIcons(iconPath, logo,
+                    webpackOutputDirectory);
+        } catch (IOException | ReflectiveOperationException e) {
+            getLog().warn("Unable to render the PWA icons", e);
+        }
+    }
+
     private void runWebpack() throws MojoExecutionException {
         String webpackCommand = "webpack/bin/webpack.js";
         File webpackExecutable = new File(npmFolder,
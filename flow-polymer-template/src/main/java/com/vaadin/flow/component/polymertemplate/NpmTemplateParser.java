@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -39,12 +40,11 @@ import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.frontend.BundleStatsIndex;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
-import elemental.json.JsonObject;
-
 /**
  * Npm template parser implementation.
  * <p>
@@ -75,7 +75,7 @@ public class NpmTemplateParser implements TemplateParser {
 
     private final HashMap<String, String> cache = new HashMap<>();
     private final ReentrantLock lock = new ReentrantLock();
-    private JsonObject jsonStats;
+    private BundleStatsIndex statsIndex;
 
     /**
      * The default constructor. Protected in order to prevent direct
@@ -216,30 +216,29 @@ public class NpmTemplateParser implements TemplateParser {
 
     private String getSourcesFromStats(VaadinService service, String url)
             throws IOException {
+        lock.lock();
         try {
-            lock.lock();
             if (isStatsFileReadNeeded(service)) {
                 String content = FrontendUtils.getStatsContent(service);
                 if (content != null) {
                     resetCache(content);
                 }
             }
+            if (!cache.containsKey(url) && statsIndex != null) {
+                cache.put(url, statsIndex.getSource(url));
+            }
+            return cache.get(url);
         } finally {
             lock.unlock();
         }
-        if (!cache.containsKey(url) && jsonStats != null) {
-            cache.put(url,
-                    BundleParser.getSourceFromStatistics(url, jsonStats));
-        }
-        return cache.get(url);
     }
 
     /**
      * Check status to see if stats.json needs to be loaded and parsed.
      * <p>
-     * Always load if jsonStats is null, never load again when we have a bundle
-     * as it never changes, always load a new stats if the hash has changed and
-     * we do not have a bundle.
+     * Always load if the stats index is null, never load again when we have a
+     * bundle as it never changes, always load a new stats if the hash has
+     * changed and we do not have a bundle.
      *
      * @param service
      *            the Vaadin service.
@@ -249,13 +248,13 @@ public class NpmTemplateParser implements TemplateParser {
     protected boolean isStatsFileReadNeeded(VaadinService service)
             throws IOException {
         DeploymentConfiguration config = service.getDeploymentConfiguration();
-        if (jsonStats == null) {
+        if (statsIndex == null) {
             return true;
         } else if (usesBundleFile(config)) {
             return false;
         }
-        return !jsonStats.get("hash").asString()
-                .equals(FrontendUtils.getStatsHash(service));
+        return !Objects.equals(statsIndex.getHash(),
+                FrontendUtils.getStatsHash(service));
     }
 
     /**
@@ -272,7 +271,7 @@ public class NpmTemplateParser implements TemplateParser {
 
     private void resetCache(String fileContents) {
         cache.clear();
-        jsonStats = BundleParser.parseJsonStatistics(fileContents);
+        statsIndex = BundleStatsIndex.parse(fileContents);
     }
 
     private Logger getLogger() {
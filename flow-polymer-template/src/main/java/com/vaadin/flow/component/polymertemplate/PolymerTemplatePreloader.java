@@ -0,0 +1,48 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.polymertemplate;
+
+import com.vaadin.flow.component.template.internal.TemplatePreloader;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+
+/**
+ * Analyzes the {@link PolymerTemplate} classes listed by the frontend build
+ * when a production mode service is initialized.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see TemplatePreloader
+ */
+public class PolymerTemplatePreloader implements VaadinServiceInitListener {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void serviceInit(ServiceInitEvent event) {
+        VaadinService service = event.getSource();
+        TemplatePreloader.preload(service, PolymerTemplate.class,
+                templateClass -> TemplateInitializer.preload(
+                        (Class<? extends PolymerTemplate<?>>) templateClass,
+                        service.getInstantiator()
+                                .getOrCreate(
+                                        TemplateParser.TemplateParserFactory.class)
+                                .createParser(),
+                        service));
+    }
+}
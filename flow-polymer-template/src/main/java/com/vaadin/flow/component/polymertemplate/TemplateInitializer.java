@@ -87,11 +87,7 @@ public class TemplateInitializer {
 
         PolymerParserData data = null;
         if (productionMode) {
-            ReflectionCache<PolymerTemplate<?>, PolymerParserData> cache = CACHE
-                    .computeIfAbsent(parser, analyzer -> new ReflectionCache<>(
-                            clazz -> new TemplateDataAnalyzer(clazz, analyzer,
-                                    service).parseTemplate()));
-            data = cache.get(templateClass);
+            data = getCache(parser, service).get(templateClass);
         }
         if (data == null) {
             data = new TemplateDataAnalyzer(templateClass, parser, service)
@@ -100,6 +96,31 @@ public class TemplateInitializer {
         parserData = data;
     }
 
+    /**
+     * Analyzes the given template class and caches the result, so that
+     * creating a template instance in production mode does not need to parse
+     * the template.
+     *
+     * @param templateClass
+     *            the template class to analyze
+     * @param parser
+     *            a template parser instance
+     * @param service
+     *            the related service
+     */
+    static void preload(Class<? extends PolymerTemplate<?>> templateClass,
+            TemplateParser parser, VaadinService service) {
+        getCache(parser, service).get(templateClass);
+    }
+
+    private static ReflectionCache<PolymerTemplate<?>, PolymerParserData> getCache(
+            TemplateParser parser, VaadinService service) {
+        return CACHE.computeIfAbsent(parser,
+                analyzer -> new ReflectionCache<>(
+                        clazz -> new TemplateDataAnalyzer(clazz, analyzer,
+                                service).parseTemplate()));
+    }
+
     /**
      * Initializes child elements.
      */
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.dom.DomListenerRegistration;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+/**
+ * Dispatches the keydown events of a component to all the shortcuts listening
+ * on it.
+ * <p>
+ * A single DOM listener is used for all the shortcuts of the component. Its
+ * filter only lets through the key combinations of the registered shortcuts,
+ * and the client sends the pressed combination as compact key descriptors
+ * which are resolved to the matching shortcuts with a hash lookup.
+ * <p>
+ * A key descriptor is the bit mask of the pressed {@link KeyModifier}s (by
+ * ordinal), followed by a colon and either {@code event.code} or
+ * {@code event.key}, e.g. {@code "2:KeyS"} for <i>Ctrl+S</i>.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class ShortcutDispatcher implements Serializable {
+
+    private static final String MODIFIER_MASK_EXPRESSION = Arrays
+            .stream(KeyModifier.values())
+            .map(modifier -> "(event.getModifierState('"
+                    + modifier.getKeys().get(0) + "')?"
+                    + (1 << modifier.ordinal()) + ":0)")
+            .collect(Collectors.joining("|"));
+
+    /**
+     * The event data expression with the descriptors of the pressed keys.
+     */
+    static final String DESCRIPTORS_EXPRESSION = "(function(m){"
+            + "return [m+':'+event.code,m+':'+event.key]})("
+            + MODIFIER_MASK_EXPRESSION + ")";
+
+    // flags of a key descriptor in the client side lookup object
+    private static final int PREVENT_DEFAULT = 1;
+    private static final int STOP_PROPAGATION = 2;
+    private static final int MATCH = 4;
+
+    private final Component component;
+
+    private final Set<ShortcutRegistration> shortcuts = new LinkedHashSet<>();
+
+    private Map<String, List<ShortcutRegistration>> shortcutsByDescriptor = Collections
+            .emptyMap();
+
+    private DomListenerRegistration domListenerRegistration;
+
+    private ShortcutDispatcher(Component component) {
+        this.component = component;
+    }
+
+    /**
+     * Gets the dispatcher of the given component, creating it if necessary.
+     *
+     * @param component
+     *            the component to listen on, not {@code null}
+     * @return the dispatcher of the component, not {@code null}
+     */
+    static ShortcutDispatcher get(Component component) {
+        ShortcutDispatcher dispatcher = ComponentUtil.getData(component,
+                ShortcutDispatcher.class);
+        if (dispatcher == null) {
+            dispatcher = new ShortcutDispatcher(component);
+            ComponentUtil.setData(component, ShortcutDispatcher.class,
+                    dispatcher);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Adds a shortcut to be dispatched by this dispatcher.
+     *
+     * @param shortcut
+     *            the shortcut to add, not {@code null}
+     */
+    void register(ShortcutRegistration shortcut) {
+        shortcuts.add(shortcut);
+        update();
+    }
+
+    /**
+     * Removes a shortcut from this dispatcher. The DOM listener is removed
+     * together with the last shortcut.
+     *
+     * @param shortcut
+     *            the shortcut to remove, not {@code null}
+     */
+    void unregister(ShortcutRegistration shortcut) {
+        if (!shortcuts.remove(shortcut)) {
+            return;
+        }
+        if (shortcuts.isEmpty()) {
+            if (domListenerRegistration != null) {
+                domListenerRegistration.remove();
+                domListenerRegistration = null;
+            }
+            shortcutsByDescriptor = Collections.emptyMap();
+            ComponentUtil.setData(component, ShortcutDispatcher.class, null);
+        } else {
+            update();
+        }
+    }
+
+    /**
+     * Rebuilds the descriptor lookup and the client side filter after the key
+     * configuration of a registered shortcut has changed.
+     */
+    void update() {
+        Map<String, List<ShortcutRegistration>> byDescriptor = new HashMap<>();
+        JsonObject flagsByDescriptor = Json.createObject();
+        for (ShortcutRegistration shortcut : shortcuts) {
+            Key key = shortcut.getKey();
+            if (key == null) {
+                continue;
+            }
+            int flags = MATCH;
+            if (!shortcut.isBrowserDefaultAllowed()) {
+                flags |= PREVENT_DEFAULT;
+            }
+            if (!shortcut.isEventPropagationAllowed()) {
+                flags |= STOP_PROPAGATION;
+            }
+            String prefix = getModifierMask(shortcut.getModifiers()) + ":";
+            for (String keyName : key.getKeys()) {
+                String descriptor = prefix + keyName;
+                byDescriptor.computeIfAbsent(descriptor,
+                        ignore -> new ArrayList<>(1)).add(shortcut);
+                int descriptorFlags = flags;
+                if (flagsByDescriptor.hasKey(descriptor)) {
+                    descriptorFlags |= (int) flagsByDescriptor
+                            .getNumber(descriptor);
+                }
+                flagsByDescriptor.put(descriptor, descriptorFlags);
+            }
+        }
+        shortcutsByDescriptor = byDescriptor;
+
+        if (domListenerRegistration == null) {
+            domListenerRegistration = component.getElement()
+                    .addEventListener("keydown", this::onKeyDown)
+                    .addEventData(DESCRIPTORS_EXPRESSION);
+        }
+        /*
+         * Due to https://github.com/vaadin/flow/issues/4871 we are not able to
+         * use setEventData for preventing the default and stopping the
+         * propagation, so the filter does it for the matched shortcuts.
+         */
+        domListenerRegistration.setFilter("(function(s,d){"
+                + "var f=s[d[0]]|s[d[1]];"
+                + "if(f&" + PREVENT_DEFAULT + "){event.preventDefault()}"
+                + "if(f&" + STOP_PROPAGATION + "){event.stopPropagation()}"
+                + "return f>0})(" + flagsByDescriptor.toJson() + ","
+                + DESCRIPTORS_EXPRESSION + ")");
+    }
+
+    private void onKeyDown(DomEvent event) {
+        JsonValue descriptors = event.getEventData()
+                .get(DESCRIPTORS_EXPRESSION);
+        if (descriptors == null || descriptors.getType() != JsonType.ARRAY) {
+            return;
+        }
+        JsonArray descriptorArray = (JsonArray) descriptors;
+        Set<ShortcutRegistration> matching = new LinkedHashSet<>();
+        for (int i = 0; i < descriptorArray.length(); i++) {
+            JsonValue descriptor = descriptorArray.get(i);
+            if (descriptor.getType() == JsonType.STRING) {
+                matching.addAll(shortcutsByDescriptor.getOrDefault(
+                        descriptor.asString(), Collections.emptyList()));
+            }
+        }
+        for (ShortcutRegistration shortcut : matching) {
+            // A previous shortcut listener may have removed this one
+            if (shortcuts.contains(shortcut)) {
+                shortcut.dispatch(component);
+            }
+        }
+    }
+
+    private static int getModifierMask(Set<Key> modifiers) {
+        int mask = 0;
+        for (KeyModifier modifier : KeyModifier.values()) {
+            if (modifiers.stream().anyMatch(
+                    key -> key.matches(modifier.getKeys().get(0)))) {
+                mask |= 1 << modifier.ordinal();
+            }
+        }
+        return mask;
+    }
+}
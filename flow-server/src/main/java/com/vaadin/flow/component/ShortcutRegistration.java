@@ -19,17 +19,14 @@ package com.vaadin.flow.component;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
-import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.ExecutionContext;
@@ -506,11 +503,6 @@ public class ShortcutRegistration implements Registration, Serializable {
         }
     }
 
-    private String filterText() {
-        return generateEventKeyFilter(primaryKey) + " && "
-                + generateEventModifierFilter(modifiers);
-    }
-
     private void updateHandlerListenerRegistration(int listenOnIndex) {
         Component component = listenOnComponents[listenOnIndex];
         assert component != null;
@@ -521,52 +513,35 @@ public class ShortcutRegistration implements Registration, Serializable {
 
         if (shortcutListenerRegistrations[listenOnIndex] == null) {
             if (component.getUI().isPresent()) {
-                shortcutListenerRegistrations[listenOnIndex] = new CompoundRegistration();
-
-                Registration keyDownRegistration = ComponentUtil
-                        .addListener(component, KeyDownEvent.class, e -> {
-                            if (lifecycleOwner.isVisible() && lifecycleOwner
-                                    .getElement().isEnabled()) {
-                                invokeShortcutEventListener(component);
-                            }
-                        }, domRegistration -> {
-                            shortcutListenerRegistrations[listenOnIndex]
-                                    .addRegistration(domRegistration);
-                            configureHandlerListenerRegistration(listenOnIndex);
-                        });
-                shortcutListenerRegistrations[listenOnIndex]
-                        .addRegistration(keyDownRegistration);
+                // all shortcuts of the component share a single DOM listener
+                ShortcutDispatcher dispatcher = ShortcutDispatcher
+                        .get(component);
+                dispatcher.register(this);
+                shortcutListenerRegistrations[listenOnIndex] = new CompoundRegistration(
+                        () -> dispatcher.unregister(this));
+                shortcutActive = true;
             }
         } else {
-            configureHandlerListenerRegistration(listenOnIndex);
+            ShortcutDispatcher dispatcher = ComponentUtil.getData(component,
+                    ShortcutDispatcher.class);
+            if (dispatcher != null) {
+                dispatcher.update();
+            }
+            shortcutActive = true;
         }
     }
 
-    private void configureHandlerListenerRegistration(int listenOnIndex) {
-        if (shortcutListenerRegistrations[listenOnIndex] != null) {
-            Optional<Registration> registration = shortcutListenerRegistrations[listenOnIndex].registrations
-                    .stream().filter(r -> r instanceof DomListenerRegistration)
-                    .findFirst();
-
-            registration.ifPresent(r -> {
-                DomListenerRegistration listenerRegistration = (DomListenerRegistration) r;
-
-                String filterText = filterText();
-                /*
-                 * Due to https://github.com/vaadin/flow/issues/4871 we are not
-                 * able to use setEventData for these values, so we hack the
-                 * filter.
-                 */
-                if (!allowDefaultBehavior) {
-                    filterText += " && (event.preventDefault() || true)";
-                }
-                if (!allowEventPropagation) {
-                    filterText += " && (event.stopPropagation() || true)";
-                }
-                listenerRegistration.setFilter(filterText);
-
-                shortcutActive = true;
-            });
+    /**
+     * Invokes the shortcut listener for a matching key event received by the
+     * given component, if the lifecycle owner is visible and enabled.
+     *
+     * @param component
+     *            the component which received the key event
+     */
+    void dispatch(Component component) {
+        if (lifecycleOwner != null && lifecycleOwner.isVisible()
+                && lifecycleOwner.getElement().isEnabled()) {
+            invokeShortcutEventListener(component);
         }
     }
 
@@ -681,32 +656,6 @@ public class ShortcutRegistration implements Registration, Serializable {
                         beforeClientResponseConsumer);
     }
 
-    private static String generateEventModifierFilter(
-            Collection<Key> modifiers) {
-
-        final List<Key> realMods = modifiers.stream().filter(Key::isModifier)
-                .collect(Collectors.toList());
-
-        // build a filter based on all the modifier keys. if modifier is not
-        // in the parameter collection, require it to be passive to match the
-        // shortcut
-        return Arrays.stream(KeyModifier.values()).map(modifier -> {
-            boolean modifierRequired = realMods.stream()
-                    .anyMatch(mod -> mod.matches(modifier.getKeys().get(0)));
-            return (modifierRequired ? "" : "!") + "event.getModifierState('"
-                    + modifier.getKeys().get(0) + "')";
-        }).collect(Collectors.joining(" && "));
-    }
-
-    private static String generateEventKeyFilter(Key key) {
-        assert key != null;
-
-        String keyList = "[" + key.getKeys().stream().map(s -> "'" + s + "'")
-                .collect(Collectors.joining(",")) + "]";
-        return "(" + keyList + ".indexOf(event.code) !== -1 || " + keyList
-                + ".indexOf(event.key) !== -1)";
-    }
-
     /**
      * Wraps a {@link Key} instance. Makes it easier to compare the keys and
      * store them by hash.
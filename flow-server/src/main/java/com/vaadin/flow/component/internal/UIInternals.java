@@ -36,6 +36,7 @@ import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.HasElement;
 import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.JavaScript;
 import com.vaadin.flow.component.dependency.JsModule;
@@ -154,7 +155,14 @@ public class UIInternals implements Serializable {
      * Updated to the current time whenever the application receives a heartbeat
      * or UIDL request from the client for the related UI.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long lastHeartbeatTimestamp = System.currentTimeMillis();
+
+    /**
+     * Whether there are heartbeat listeners, readable without locking the
+     * session so that heartbeats can be handled without the lock when there is
+     * nobody to notify.
+     */
+    private volatile boolean heartbeatListenersRegistered;
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -339,6 +347,36 @@ public class UIInternals implements Serializable {
      */
     public void setLastHeartbeatTimestamp(long lastHeartbeat) {
         lastHeartbeatTimestamp = lastHeartbeat;
+        fireHeartbeatEvent(lastHeartbeat);
+    }
+
+    /**
+     * Updates the last heartbeat request timestamp for the related UI without
+     * requiring the session to be locked. Called by the framework whenever the
+     * application receives a valid heartbeat request for the UI.
+     * <p>
+     * Registered heartbeat listeners are notified asynchronously using
+     * {@link UI#access(com.vaadin.flow.server.Command)}. If there are no
+     * listeners, the session is not locked at all.
+     *
+     * @param lastHeartbeat
+     *            The time the last heartbeat request occurred, in milliseconds
+     *            since the epoch.
+     */
+    public void receiveHeartbeat(long lastHeartbeat) {
+        lastHeartbeatTimestamp = lastHeartbeat;
+        if (!heartbeatListenersRegistered) {
+            return;
+        }
+        try {
+            ui.access(() -> fireHeartbeatEvent(lastHeartbeat));
+        } catch (UIDetachedException e) {
+            // The UI has been closed, nobody to notify any more
+            getLogger().debug("Ignoring heartbeat for a detached UI", e);
+        }
+    }
+
+    private void fireHeartbeatEvent(long lastHeartbeat) {
         HeartbeatEvent heartbeatEvent = new HeartbeatEvent(ui, lastHeartbeat);
         getListeners(HeartbeatListener.class)
                 .forEach(listener -> listener.heartbeat(heartbeatEvent));
@@ -492,7 +530,14 @@ public class UIInternals implements Serializable {
     }
 
     public Registration addHeartbeatListener(HeartbeatListener listener) {
-        return addListener(HeartbeatListener.class, listener);
+        Registration registration = addListener(HeartbeatListener.class,
+                listener);
+        heartbeatListenersRegistered = true;
+        return () -> {
+            registration.remove();
+            heartbeatListenersRegistered = !getListeners(
+                    HeartbeatListener.class).isEmpty();
+        };
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.template.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.VaadinService;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+import static com.vaadin.flow.server.Constants.TEMPLATES_JSON_DEFAULT;
+import static com.vaadin.flow.server.Constants.VAADIN_SERVLET_RESOURCES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Analyzes the templates listed by the frontend build when a production mode
+ * service is initialized, so that the first instance of each template does not
+ * need to parse its template source on the request path.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class TemplatePreloader implements Serializable {
+
+    /**
+     * Key of the template class name array in the templates file.
+     */
+    public static final String TEMPLATES = "templates";
+
+    private TemplatePreloader() {
+        // Only static methods
+    }
+
+    /**
+     * Gets the names of the template classes listed in the templates file
+     * written by the frontend build.
+     *
+     * @param classLoader
+     *            the class loader to read the file with
+     * @return the template class names, empty if there is no templates file
+     */
+    public static List<String> getTemplateClassNames(ClassLoader classLoader) {
+        try (InputStream stream = classLoader.getResourceAsStream(
+                VAADIN_SERVLET_RESOURCES + TEMPLATES_JSON_DEFAULT)) {
+            if (stream == null) {
+                return Collections.emptyList();
+            }
+            JsonObject json = Json.parse(IOUtils.toString(stream, UTF_8));
+            JsonArray templates = json.getArray(TEMPLATES);
+            List<String> names = new ArrayList<>();
+            for (int i = 0; templates != null && i < templates.length(); i++) {
+                names.add(templates.getString(i));
+            }
+            return names;
+        } catch (IOException | RuntimeException e) {
+            getLogger().warn("Unable to read the templates file", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Passes each template class of the given type which is listed in the
+     * templates file to the given analyzer. Does nothing unless the service is
+     * in production mode, since templates are only cached in production mode.
+     * <p>
+     * A template which cannot be analyzed is logged and skipped so that the
+     * failure is reported when the template is used, like without
+     * preloading.
+     *
+     * @param <T>
+     *            the template base type
+     * @param service
+     *            the service being initialized, not <code>null</code>
+     * @param templateType
+     *            the template base type, not <code>null</code>
+     * @param analyzer
+     *            the analyzer which stores the analyzed template data, not
+     *            <code>null</code>
+     */
+    public static <T> void preload(VaadinService service, Class<T> templateType,
+            Consumer<Class<? extends T>> analyzer) {
+        if (!service.getDeploymentConfiguration().isProductionMode()) {
+            return;
+        }
+        ClassLoader classLoader = service.getClassLoader();
+        long start = System.nanoTime();
+        int count = 0;
+        for (String className : getTemplateClassNames(classLoader)) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                getLogger().debug("Unable to load template class {}",
+                        className, e);
+                continue;
+            }
+            if (!templateType.isAssignableFrom(clazz)) {
+                continue;
+            }
+            try {
+                analyzer.accept(clazz.asSubclass(templateType));
+                count++;
+            } catch (RuntimeException e) {
+                getLogger().warn("Unable to analyze the template {}",
+                        className, e);
+            }
+        }
+        if (count > 0) {
+            getLogger().debug("Analyzed {} {} templates in {} ms", count,
+                    templateType.getSimpleName(),
+                    (System.nanoTime() - start) / 1000000);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(TemplatePreloader.class);
+    }
+}
@@ -391,4 +391,56 @@ public interface DeploymentConfiguration extends Serializable {
         return getBooleanProperty(InitParameters.SERVLET_PARAMETER_ENABLE_PNPM,
                 Boolean.valueOf(Constants.ENABLE_PNPM_DEFAULT_STRING));
     }
+
+    /**
+     * Returns the time budget for applying the changes of a server message in
+     * the browser. When the budget is positive, the client applies the DOM
+     * changes of a large message in several animation frames, using at most
+     * about the given time per frame, so that the browser stays responsive.
+     * The client does not send or handle other messages until the changes
+     * have been applied.
+     * <p>
+     * The default value zero applies all changes at once.
+     *
+     * @return the time budget per animation frame in milliseconds, or zero to
+     *         apply all changes at once
+     */
+    default int getChangeApplyBudget() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CHANGE_APPLY_BUDGET, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Returns whether the registered routes should be warmed up when the
+     * service is initialized. The warm-up loads the route targets, their
+     * parent layouts and the components they use, and analyzes their
+     * annotations in advance so that the first navigation to each route does
+     * not need to.
+     * <p>
+     * By default it is <code>false</code>.
+     *
+     * @return {@code true} if the routes are warmed up at startup
+     */
+    default boolean isStartupWarmupEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_STARTUP_WARMUP, false);
+    }
+
+    /**
+     * Returns whether the startup warm-up should also create each route target
+     * with its parent layouts. The components are created in a UI which is not
+     * attached to any session and discarded afterwards, so route targets which
+     * need a session or have side effects in their constructors should not be
+     * rendered.
+     * <p>
+     * Only used if {@link #isStartupWarmupEnabled()} is <code>true</code>. By
+     * default it is <code>false</code>.
+     *
+     * @return {@code true} if the routes are rendered during the warm-up
+     */
+    default boolean isStartupWarmupRenderEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_STARTUP_WARMUP_RENDER, false);
+    }
 }
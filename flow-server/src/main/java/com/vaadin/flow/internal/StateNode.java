@@ -108,23 +108,36 @@ public class StateNode implements Serializable {
     }
 
     private static class FeatureSet implements Serializable {
-        private final Set<Class<? extends NodeFeature>> reportedFeatures;
+        private final FeatureSetKey key;
+
+        private final transient Set<Class<? extends NodeFeature>> reportedFeatures;
 
         /**
          * Maps from a node feature type to its index in the {@link #features}
          * array. This instance is cached per unique set of used node feature
          * types in {@link #featureSetCache}.
          */
-        private final Map<Class<? extends NodeFeature>, Integer> mappings = new HashMap<>();
+        private final transient Map<Class<? extends NodeFeature>, Integer> mappings = new HashMap<>();
 
         public FeatureSet(FeatureSetKey featureSetKey) {
+            key = featureSetKey;
             reportedFeatures = featureSetKey.reportedFeatures;
 
             featureSetKey.getAllFeatures()
                     .sorted(NodeFeatureRegistry.PRIORITY_COMPARATOR)
-                    .forEach(key -> mappings.put(key,
+                    .forEach(type -> mappings.put(type,
                             Integer.valueOf(mappings.size())));
         }
+
+        /**
+         * Only the key is serialized, the mappings are restored from (and
+         * shared through) the cache when deserializing.
+         *
+         * @return the cached feature set for the deserialized key
+         */
+        private Object readResolve() {
+            return featureSetCache.computeIfAbsent(key, FeatureSet::new);
+        }
     }
 
     private static class ReplacedViaPreserveOnRefresh implements Serializable {
@@ -144,7 +157,11 @@ public class StateNode implements Serializable {
      */
     private Serializable features;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    /**
+     * Change trackers indexed like the features, or <code>null</code> if no
+     * feature has changes.
+     */
+    private Serializable[] changes;
 
     private List<Command> attachListeners;
 
@@ -346,17 +363,25 @@ public class StateNode implements Serializable {
     }
 
     private void forEachFeature(Consumer<NodeFeature> action) {
-        getInitializedFeatures().forEach(action::accept);
+        if (features instanceof NodeFeature) {
+            action.accept((NodeFeature) features);
+        } else if (features != null) {
+            for (NodeFeature feature : (NodeFeature[]) features) {
+                if (feature != null) {
+                    action.accept(feature);
+                }
+            }
+        }
     }
 
-    private Stream<NodeFeature> getInitializedFeatures() {
-        if (features == null) {
-            return Stream.empty();
-        } else if (features instanceof NodeFeature) {
-            return Stream.of((NodeFeature) features);
-        } else {
-            return Stream.of((NodeFeature[]) features).filter(Objects::nonNull);
+    private NodeFeature getInitializedFeature(int featureIndex) {
+        if (features instanceof NodeFeature) {
+            return featureIndex == 0 ? (NodeFeature) features : null;
+        } else if (features != null
+                && featureIndex < ((NodeFeature[]) features).length) {
+            return ((NodeFeature[]) features)[featureIndex];
         }
+        return null;
     }
 
     /**
@@ -614,38 +639,32 @@ public class StateNode implements Serializable {
         if (!isAttached()) {
             return;
         }
-        if (isInactive()) {
-            if (isInitialChanges) {
-                // send only required (reported) features updates
-                Stream<NodeFeature> initialFeatures = Stream
-                        .concat(featureSet.mappings.keySet().stream()
-                                .filter(this::isReportedFeature)
-                                .map(this::getFeature), getDisalowFeatures());
-                doCollectChanges(collector, initialFeatures);
+        boolean inactive = isInactive();
+        boolean reportedOnly = inactive && isInitialChanges;
+        if (reportedOnly) {
+            // send only required (reported) features updates
+            featureSet.reportedFeatures.forEach(this::getFeature);
+        }
+        boolean hasRemainingChanges = false;
+        for (int i = 0; changes != null && i < changes.length; i++) {
+            if (changes[i] == null) {
+                continue;
+            }
+            NodeFeature feature = getInitializedFeature(i);
+            if (feature != null && (!inactive || !feature.allowsChanges()
+                    || reportedOnly && isReportedFeature(feature.getClass()))) {
+                feature.collectChanges(collector);
+                changes[i] = null;
             } else {
-                doCollectChanges(collector, getDisalowFeatures());
+                hasRemainingChanges = true;
             }
-        } else {
-            doCollectChanges(collector, getInitializedFeatures());
         }
-    }
-
-    private void doCollectChanges(Consumer<NodeChange> collector,
-            Stream<NodeFeature> features) {
-        features.filter(this::hasChangeTracker).forEach(feature -> {
-            feature.collectChanges(collector);
-            changes.remove(feature.getClass());
-        });
         isInitialChanges = false;
-        if (changes != null && changes.isEmpty()) {
+        if (!hasRemainingChanges) {
             changes = null;
         }
     }
 
-    private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
-    }
-
     /**
      * Clears all changes recorded for this node. This method is public only for
      * testing purposes.
@@ -850,12 +869,17 @@ public class StateNode implements Serializable {
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
+        int featureIndex = getFeatureIndex(feature.getClass());
         if (changes == null) {
-            changes = new HashMap<>();
+            changes = new Serializable[featureSet.mappings.size()];
         }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+        Serializable tracker = changes[featureIndex];
+        if (tracker == null) {
+            tracker = factory.get();
+            changes[featureIndex] = tracker;
+        }
+        return (T) tracker;
     }
 
     /**
@@ -917,7 +941,7 @@ public class StateNode implements Serializable {
      * @see NodeFeature#allowsChanges()
      */
     public void updateActiveState() {
-        setInactive(getDisalowFeatures().count() != 0);
+        setInactive(hasFeatureDisallowingChanges());
     }
 
     /**
@@ -934,9 +958,15 @@ public class StateNode implements Serializable {
         return getParent().isInactive();
     }
 
-    private Stream<NodeFeature> getDisalowFeatures() {
-        return getInitializedFeatures()
-                .filter(feature -> !feature.allowsChanges());
+    private boolean hasFeatureDisallowingChanges() {
+        int featureCount = featureSet.mappings.size();
+        for (int i = 0; i < featureCount; i++) {
+            NodeFeature feature = getInitializedFeature(i);
+            if (feature != null && !feature.allowsChanges()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void setInactive(boolean inactive) {
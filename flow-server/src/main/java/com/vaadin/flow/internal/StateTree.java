@@ -133,6 +133,12 @@ public class StateTree implements NodeOwner {
 
     private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
 
+    /**
+     * Ids of the nodes marked as dirty since the last replication snapshot, or
+     * <code>null</code> if replication changes are not tracked.
+     */
+    private Set<Integer> replicationDirtyNodeIds;
+
     private final Map<Integer, StateNode> idToNode = new HashMap<>();
 
     private int nextId = 1;
@@ -279,6 +285,53 @@ public class StateTree implements NodeOwner {
         checkHasLock();
 
         dirtyNodes.add(node);
+        if (replicationDirtyNodeIds != null) {
+            replicationDirtyNodeIds.add(Integer.valueOf(node.getId()));
+        }
+    }
+
+    /**
+     * Starts tracking the nodes that are marked as dirty for session
+     * replication purposes. Unlike {@link #collectDirtyNodes()}, the tracked
+     * nodes are not reset when changes are sent to the client, but only when
+     * {@link #collectReplicationDirtyNodeIds()} is called.
+     * <p>
+     * Does nothing if tracking is already enabled.
+     */
+    public void enableReplicationTracking() {
+        if (replicationDirtyNodeIds == null) {
+            replicationDirtyNodeIds = new HashSet<>();
+        }
+    }
+
+    /**
+     * Checks whether nodes marked as dirty are tracked for session replication.
+     *
+     * @return <code>true</code> if tracking is enabled, <code>false</code>
+     *         otherwise
+     * @see #enableReplicationTracking()
+     */
+    public boolean isReplicationTrackingEnabled() {
+        return replicationDirtyNodeIds != null;
+    }
+
+    /**
+     * Gets the ids of the nodes that have been marked as dirty since the last
+     * time this method was called and resets the tracked nodes.
+     *
+     * @return a set of node ids, not <code>null</code>
+     * @throws IllegalStateException
+     *             if replication tracking is not enabled
+     * @see #enableReplicationTracking()
+     */
+    public Set<Integer> collectReplicationDirtyNodeIds() {
+        if (replicationDirtyNodeIds == null) {
+            throw new IllegalStateException(
+                    "Replication tracking is not enabled");
+        }
+        Set<Integer> collected = replicationDirtyNodeIds;
+        replicationDirtyNodeIds = new HashSet<>();
+        return collected;
     }
 
     /**
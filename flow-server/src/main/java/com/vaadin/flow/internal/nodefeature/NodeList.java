@@ -16,6 +16,9 @@
 
 package com.vaadin.flow.internal.nodefeature;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
@@ -138,7 +141,11 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         }
     }
 
-    private List<T> values;
+    /**
+     * Written explicitly by {@link #writeObject(ObjectOutputStream)} to avoid
+     * serializing the class descriptor and spare capacity of the backing list.
+     */
+    private transient List<T> values;
 
     private boolean isRemoveAllCalled;
 
@@ -488,6 +495,31 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         }
     }
 
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        if (values == null) {
+            stream.writeInt(0);
+            return;
+        }
+        stream.writeInt(values.size());
+        for (T value : values) {
+            stream.writeObject(value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = stream.readInt();
+        if (size > 0) {
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add((T) stream.readObject());
+            }
+        }
+    }
+
     @Override
     public void onDetach() {
         if (isPopulated && values == null) {
@@ -16,6 +16,9 @@
 
 package com.vaadin.flow.internal.nodefeature;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -144,7 +147,11 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
-    private Values values;
+    /**
+     * Written explicitly by {@link #writeObject(ObjectOutputStream)} to avoid
+     * serializing the class descriptors of the internal storage classes.
+     */
+    private transient Values values;
 
     private boolean isPopulated;
 
@@ -516,6 +523,36 @@ public abstract class NodeMap extends NodeFeature {
         return !hadValueEarlier || !Objects.equals(newValue, values.get(key));
     }
 
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        if (values == null) {
+            stream.writeInt(0);
+            return;
+        }
+        stream.writeInt(values.size());
+        for (String key : values.keySet()) {
+            stream.writeUTF(key);
+            stream.writeObject(values.get(key));
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = stream.readInt();
+        if (size == 1) {
+            values = new SingleValue(stream.readUTF(),
+                    (Serializable) stream.readObject());
+        } else if (size > 1) {
+            HashMapValues hashMapValues = new HashMapValues(null);
+            for (int i = 0; i < size; i++) {
+                hashMapValues.set(stream.readUTF(),
+                        (Serializable) stream.readObject());
+            }
+            values = hashMapValues;
+        }
+    }
+
     // Exposed for testing purposes
     boolean usesSingleMap() {
         return values instanceof SingleValue;
@@ -1159,6 +1159,14 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             appConfig.put("maxMessageSuspendTimeout",
                     deploymentConfiguration.getMaxMessageSuspendTimeout());
 
+            int changeApplyBudget = deploymentConfiguration
+                    .getChangeApplyBudget();
+            if (changeApplyBudget > 0) {
+                appConfig.put(
+                        InitParameters.SERVLET_PARAMETER_CHANGE_APPLY_BUDGET,
+                        changeApplyBudget);
+            }
+
             boolean sendUrlsAsParameters = deploymentConfiguration
                     .isSendUrlsAsParameters();
             if (!sendUrlsAsParameters) {
@@ -224,6 +224,22 @@ public final class Constants implements Serializable {
     public static final String STATISTICS_JSON_DEFAULT = Constants.VAADIN_CONFIGURATION
             + "stats.json";
 
+    /**
+     * Path of the file listing the template classes of the application. It is
+     * written by the frontend build and used to analyze templates eagerly in
+     * production mode.
+     */
+    public static final String TEMPLATES_JSON_DEFAULT = Constants.VAADIN_CONFIGURATION
+            + "templates.json";
+
+    /**
+     * Path of the folder with the PWA icons rendered by the frontend build.
+     * The icons are loaded from it instead of rendering them when the
+     * application starts.
+     */
+    public static final String PWA_ICONS_DEFAULT = Constants.VAADIN_CONFIGURATION
+            + "pwa-icons/";
+
     /**
      * Name of the <code>npm</code> main file.
      */
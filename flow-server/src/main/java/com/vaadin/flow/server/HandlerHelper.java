@@ -20,8 +20,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.shared.ApplicationConstants;
@@ -87,10 +91,46 @@ public class HandlerHelper implements Serializable {
         }
     }
 
+    private static final Map<String, RequestType> REQUEST_TYPES = Stream
+            .of(RequestType.values()).collect(Collectors.toMap(
+                    RequestType::getIdentifier, Function.identity()));
+
+    /**
+     * Request attribute holding the identifier of the resolved request type,
+     * or an empty string if the request does not have any known type.
+     */
+    private static final String REQUEST_TYPE_ATTRIBUTE = HandlerHelper.class
+            .getName() + ".requestType";
+
     private HandlerHelper() {
         // Only utility methods
     }
 
+    /**
+     * Returns the type of the given request. The type is resolved from the
+     * request parameters once and then kept as a request attribute, so that
+     * the request handlers checking the type do not need to resolve it again.
+     *
+     * @param request
+     *            the request to check
+     * @return the type of the request, or <code>null</code> if the request does
+     *         not have any known type
+     */
+    public static RequestType getRequestType(VaadinRequest request) {
+        Object resolved = request.getAttribute(REQUEST_TYPE_ATTRIBUTE);
+        if (resolved instanceof String) {
+            return REQUEST_TYPES.get(resolved);
+        }
+
+        String identifier = request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+        RequestType requestType = identifier == null ? null
+                : REQUEST_TYPES.get(identifier);
+        request.setAttribute(REQUEST_TYPE_ATTRIBUTE,
+                requestType == null ? "" : requestType.getIdentifier());
+        return requestType;
+    }
+
     /**
      * Returns whether the given request is of the given type.
      *
@@ -103,8 +143,7 @@ public class HandlerHelper implements Serializable {
      */
     public static boolean isRequestType(VaadinRequest request,
             RequestType requestType) {
-        return requestType.getIdentifier().equals(request
-                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER));
+        return getRequestType(request) == requestType;
     }
 
     /**
@@ -170,6 +209,36 @@ public class HandlerHelper implements Serializable {
         longHeaderSetter.accept("Expires", 0L);
     }
 
+    /**
+     * Checks whether an {@code If-None-Match} header matches the given entity
+     * tag. Weak comparison is used, as required for {@code If-None-Match}, so
+     * weak tags in the header match the tag, and {@code *} matches any tag.
+     *
+     * @param ifNoneMatch
+     *            the value of the {@code If-None-Match} header, or
+     *            <code>null</code> if the header is missing
+     * @param eTag
+     *            the quoted entity tag of the current content, not
+     *            <code>null</code>
+     * @return <code>true</code> if the header matches the tag,
+     *         <code>false</code> otherwise
+     */
+    public static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets a relative path that cancels the provided path. This essentially
      * adds one .. for each part of the path to cancel.
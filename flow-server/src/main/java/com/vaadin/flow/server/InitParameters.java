@@ -130,6 +130,16 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_DEVMODE_ENABLE_LIVE_RELOAD = "devmode.liveReload.enabled";
 
+    /**
+     * Configuration parameter name for enabling compression of sessions
+     * serialized through the {@link VaadinService#getSessionSerializer()
+     * session serializer}. It has no effect on sessions serialized by the
+     * servlet container.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_SESSION_SERIALIZATION_COMPRESSION = "sessionSerialization.compress";
+
     /**
      * I18N provider property.
      */
@@ -158,4 +168,30 @@ public class InitParameters implements Serializable {
      * component UI imports them as dependencies.
      */
     public static final String COMPILED_WEB_COMPONENTS_PATH = "compiled.web.components.path";
+
+    /**
+     * Configuration name for the time budget in milliseconds which the client
+     * uses for applying the changes of a server message in one animation
+     * frame. The default value zero applies all changes at once.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_CHANGE_APPLY_BUDGET = "changeApplyBudget";
+
+    /**
+     * Configuration name for the parameter that enables warming up the
+     * registered routes when the service is initialized.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_STARTUP_WARMUP = "startupWarmup";
+
+    /**
+     * Configuration name for the parameter that makes the startup warm-up also
+     * create each route with its parent layouts in a UI which is not attached
+     * to any session.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_STARTUP_WARMUP_RENDER = "startupWarmup.render";
 }
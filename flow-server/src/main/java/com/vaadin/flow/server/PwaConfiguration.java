@@ -94,7 +94,7 @@ public class PwaConfiguration implements Serializable {
                 || servletContext.getContextPath().isEmpty());
     }
 
-    private static String checkPath(String path) {
+    static String checkPath(String path) {
         return path.replaceAll("^[./]+", "");
     }
 
@@ -19,13 +19,16 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
 import org.jsoup.nodes.Element;
 
 /**
@@ -59,6 +62,7 @@ public class PwaIcon implements Serializable {
     private String baseName;
     private Domain domain;
     private byte[] data;
+    private URL dataUrl;
 
     private final Map<String, String> attributes = new HashMap<>();
     private String tag = "link";
@@ -211,6 +215,7 @@ public class PwaIcon implements Serializable {
             ImageIO.write(image, "png", stream);
             stream.flush();
             data = stream.toByteArray();
+            dataUrl = null;
             fileHash = Arrays.hashCode(data);
             setRelativeName();
         } catch (IOException ioe) {
@@ -218,6 +223,31 @@ public class PwaIcon implements Serializable {
         }
     }
 
+    /**
+     * Sets the image presenting the icon to a pre-rendered png image, which
+     * is only read when the icon is written for the first time.
+     *
+     * @param dataUrl
+     *            the URL of the image in png format
+     * @param fileHash
+     *            the hash of the image data
+     */
+    void setImage(URL dataUrl, long fileHash) {
+        this.dataUrl = dataUrl;
+        this.fileHash = fileHash;
+        data = null;
+        setRelativeName();
+    }
+
+    /**
+     * Gets the hash of the image data, used to bust caches when it changes.
+     *
+     * @return the hash of the image data
+     */
+    long getFileHash() {
+        return fileHash;
+    }
+
     /**
      * Writes the icon image to output stream.
      *
@@ -226,7 +256,14 @@ public class PwaIcon implements Serializable {
      */
     public void write(OutputStream outputStream) {
         try {
-            outputStream.write(data);
+            byte[] bytes = data;
+            if (bytes == null && dataUrl != null) {
+                try (InputStream stream = dataUrl.openStream()) {
+                    bytes = IOUtils.toByteArray(stream);
+                }
+                data = bytes;
+            }
+            outputStream.write(bytes);
         } catch (IOException ioe) {
             throw new UncheckedIOException(
                     "Failed to store the icon image into the stream provided",
@@ -23,9 +23,13 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
@@ -33,16 +37,24 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+import static com.vaadin.flow.server.Constants.PWA_ICONS_DEFAULT;
+import static com.vaadin.flow.server.Constants.VAADIN_SERVLET_RESOURCES;
 
 /**
  * Registry for PWA data.
@@ -68,6 +80,11 @@ public class PwaRegistry implements Serializable {
             + "and (-webkit-device-pixel-ratio: %d)";
     public static final String WORKBOX_FOLDER = "VAADIN/static/server/workbox/";
     private static final String WORKBOX_CACHE_FORMAT = "{ url: '%s', revision: '%s' }";
+    private static final String PRERENDERED_ICONS_INDEX = "icons.json";
+    private static final String ICON_PATH = "iconPath";
+    private static final String LOGO_LENGTH = "logoLength";
+    private static final String LOGO_DIGEST = "logoDigest";
+    private static final String ICONS = "icons";
 
     private String offlineHtml = "";
     private String manifestJson = "";
@@ -88,11 +105,6 @@ public class PwaRegistry implements Serializable {
      */
     public PwaRegistry(PWA pwa, ServletContext servletContext)
             throws IOException {
-        if (System.getProperty(HEADLESS_PROPERTY) == null) {
-            // set headless mode if the property is not explicitly set
-            System.setProperty(HEADLESS_PROPERTY, Boolean.TRUE.toString());
-        }
-
         // set basic configuration by given PWA annotation
         // fall back to defaults if unavailable
         pwaConfiguration = new PwaConfiguration(pwa, servletContext);
@@ -106,18 +118,24 @@ public class PwaRegistry implements Serializable {
                     pwaConfiguration.relOfflinePath());
             // Load base logo from servlet context if available
             // fall back to local image if unavailable
-            BufferedImage baseImage = getBaseImage(logo);
-
-            if (baseImage == null) {
-                LoggerFactory.getLogger(PwaRegistry.class).error(
-                        "Image is not found or can't be loaded: " + logo);
+            byte[] logoData = getLogoData(logo);
+
+            // Use the icons rendered by the frontend build if they have been
+            // rendered from the same logo, render them otherwise
+            List<PwaIcon> prerenderedIcons = getPrerenderedIcons(
+                    PwaRegistry.class.getClassLoader(),
+                    pwaConfiguration.getIconPath(), logoData);
+            if (prerenderedIcons != null) {
+                icons = prerenderedIcons;
             } else {
-                // Pick top-left pixel as fill color if needed for image
-                // resizing
-                int bgColor = baseImage.getRGB(0, 0);
-
-                // initialize icons
-                icons = initializeIcons(baseImage, bgColor);
+                BufferedImage baseImage = readImage(logoData);
+                if (baseImage == null) {
+                    LoggerFactory.getLogger(PwaRegistry.class).error(
+                            "Image is not found or can't be loaded: " + logo);
+                } else {
+                    icons = renderIcons(pwaConfiguration.getIconPath(),
+                            baseImage);
+                }
             }
 
             // Load offline page as string, from servlet context if
@@ -146,19 +164,128 @@ public class PwaRegistry implements Serializable {
         return resourceUrl;
     }
 
-    private List<PwaIcon> initializeIcons(BufferedImage baseImage,
-            int bgColor) {
-        for (PwaIcon icon : getIconTemplates(pwaConfiguration.getIconPath())) {
+    /**
+     * Renders the icons of the given logo and writes them to the given
+     * directory, from where they are loaded when the application starts
+     * instead of rendering them again.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param iconPath
+     *            the icon path of the {@link PWA} configuration, not
+     *            <code>null</code>
+     * @param logo
+     *            the URL of the logo image, or <code>null</code> to use the
+     *            default logo
+     * @param outputDirectory
+     *            the directory of the Vaadin servlet resources in the build
+     *            output, not <code>null</code>
+     * @throws IOException
+     *             if the logo cannot be read or the icons cannot be written
+     */
+    public static void writePrerenderedIcons(String iconPath, URL logo,
+            File outputDirectory) throws IOException {
+        String baseName = PwaConfiguration.checkPath(iconPath);
+        byte[] logoData = getLogoData(logo);
+        BufferedImage baseImage = readImage(logoData);
+        if (baseImage == null) {
+            throw new IOException("Image can't be loaded: " + logo);
+        }
+        File iconsDirectory = new File(outputDirectory, PWA_ICONS_DEFAULT);
+        JsonObject hashes = Json.createObject();
+        for (PwaIcon icon : renderIcons(baseName, baseImage)) {
+            String name = icon.getRelHref().substring(1);
+            File iconFile = new File(iconsDirectory, name);
+            FileUtils.forceMkdirParent(iconFile);
+            try (OutputStream stream = new FileOutputStream(iconFile)) {
+                icon.write(stream);
+            }
+            hashes.put(name, icon.getFileHash());
+        }
+        JsonObject index = Json.createObject();
+        index.put(ICON_PATH, baseName);
+        index.put(LOGO_LENGTH, logoData.length);
+        index.put(LOGO_DIGEST, getLogoDigest(logoData));
+        index.put(ICONS, hashes);
+        FileUtils.writeStringToFile(
+                new File(iconsDirectory, PRERENDERED_ICONS_INDEX),
+                JsonUtil.stringify(index, 2) + "\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the icons rendered by the frontend build.
+     *
+     * @param classLoader
+     *            the class loader to load the icons with
+     * @param iconPath
+     *            the icon path of the configuration
+     * @param logoData
+     *            the logo image data
+     * @return the icons, or <code>null</code> if they have not been rendered
+     *         from the given logo
+     */
+    static List<PwaIcon> getPrerenderedIcons(ClassLoader classLoader,
+            String iconPath, byte[] logoData) {
+        String folder = VAADIN_SERVLET_RESOURCES + PWA_ICONS_DEFAULT;
+        JsonObject hashes;
+        try (InputStream stream = classLoader
+                .getResourceAsStream(folder + PRERENDERED_ICONS_INDEX)) {
+            if (stream == null) {
+                return null;
+            }
+            JsonObject index = Json
+                    .parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+            if (!iconPath.equals(index.getString(ICON_PATH))
+                    || !index.hasKey(LOGO_LENGTH) || !index.hasKey(LOGO_DIGEST)
+                    || (int) index.getNumber(LOGO_LENGTH) != logoData.length
+                    || !getLogoDigest(logoData)
+                            .equals(index.getString(LOGO_DIGEST))) {
+                return null;
+            }
+            hashes = index.getObject(ICONS);
+        } catch (IOException | RuntimeException e) {
+            LoggerFactory.getLogger(PwaRegistry.class)
+                    .warn("Unable to read the pre-rendered PWA icons", e);
+            return null;
+        }
+        List<PwaIcon> prerendered = new ArrayList<>();
+        for (PwaIcon icon : getIconTemplates(iconPath)) {
+            String name = icon.getRelHref().substring(1);
+            URL data = classLoader.getResource(folder + name);
+            if (hashes == null || !hashes.hasKey(name) || data == null) {
+                return null;
+            }
+            icon.setImage(data, (long) hashes.getNumber(name));
+            prerendered.add(icon);
+        }
+        return prerendered;
+    }
+
+    private static String getLogoDigest(byte[] logoData) {
+        return Base64.getEncoder()
+                .encodeToString(MessageDigestUtil.sha256(logoData));
+    }
+
+    private static List<PwaIcon> renderIcons(String iconPath,
+            BufferedImage baseImage) {
+        if (System.getProperty(HEADLESS_PROPERTY) == null) {
+            // set headless mode if the property is not explicitly set
+            System.setProperty(HEADLESS_PROPERTY, Boolean.TRUE.toString());
+        }
+        // Pick top-left pixel as fill color if needed for image resizing
+        int bgColor = baseImage.getRGB(0, 0);
+        List<PwaIcon> rendered = new ArrayList<>();
+        for (PwaIcon icon : getIconTemplates(iconPath)) {
             // New image with wanted size
             icon.setImage(drawIconImage(baseImage, bgColor, icon));
             // Store byte array and hashcode of image (GeneratedImage)
-            icons.add(icon);
+            rendered.add(icon);
         }
-        return icons;
+        return rendered;
     }
 
-    private BufferedImage drawIconImage(BufferedImage baseImage, int bgColor,
-            PwaIcon icon) {
+    private static BufferedImage drawIconImage(BufferedImage baseImage,
+            int bgColor, PwaIcon icon) {
         BufferedImage bimage = new BufferedImage(icon.getWidth(),
                 icon.getHeight(), BufferedImage.TYPE_INT_ARGB);
         // Draw the image on to the buffered image
@@ -383,11 +510,17 @@ public class PwaRegistry implements Serializable {
         }
     }
 
-    private BufferedImage getBaseImage(URL logo) throws IOException {
+    private static byte[] getLogoData(URL logo) throws IOException {
         URLConnection logoResource = logo != null ? logo.openConnection()
                 : BootstrapHandler.class.getResource("default-logo.png")
                         .openConnection();
-        return ImageIO.read(logoResource.getInputStream());
+        try (InputStream stream = logoResource.getInputStream()) {
+            return IOUtils.toByteArray(stream);
+        }
+    }
+
+    private static BufferedImage readImage(byte[] data) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(data));
     }
 
     /**
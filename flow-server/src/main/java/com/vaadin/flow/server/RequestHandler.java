@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.Serializable;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 
 /**
  * Handler for producing a response to HTTP requests. Handlers can be either
@@ -57,4 +58,29 @@ public interface RequestHandler extends Serializable {
     boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException;
 
+    /**
+     * Checks whether this handler might handle requests of the given type. The
+     * service classifies each request once and only invokes the handlers which
+     * return <code>true</code> for the type of the request. The actual
+     * decision whether to handle a request is still made by
+     * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}.
+     * <p>
+     * The default implementation returns <code>true</code> for all types. If a
+     * subclass of the class implementing this method overrides
+     * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)} or
+     * {@link SynchronizedRequestHandler#canHandleRequest(VaadinRequest)}
+     * without also overriding this method, the handler is invoked for requests
+     * of any type.
+     *
+     * @param requestType
+     *            the type of the request, or <code>null</code> for requests
+     *            without any known type
+     * @return <code>true</code> if the handler might handle requests of the
+     *         given type, <code>false</code> if it never does
+     * @see HandlerHelper#getRequestType(VaadinRequest)
+     */
+    default boolean canHandleRequestType(RequestType requestType) {
+        return true;
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+
+/**
+ * Counts the requests handled by a {@link VaadinService} and their latencies
+ * by {@link RequestType request type}.
+ * <p>
+ * Latencies are collected into a histogram with fixed bucket bounds, see
+ * {@link #getLatencyBucketBounds()}. Requests without a known type are counted
+ * using the type <code>null</code>.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see VaadinService#getRequestStatistics()
+ */
+public class RequestStatistics implements Serializable {
+
+    private static final long[] BUCKET_BOUNDS = { 1, 2, 5, 10, 20, 50, 100,
+            200, 500, 1000, 2000, 5000 };
+
+    private static final int UNTYPED = RequestType.values().length;
+
+    private final LongAdder[] counts = new LongAdder[UNTYPED + 1];
+    private final LongAdder[] totalDurations = new LongAdder[UNTYPED + 1];
+    private final AtomicLongArray[] histograms = new AtomicLongArray[UNTYPED
+            + 1];
+
+    /**
+     * Creates a new instance without any recorded requests.
+     */
+    public RequestStatistics() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+            totalDurations[i] = new LongAdder();
+            histograms[i] = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+        }
+    }
+
+    /**
+     * Records a handled request.
+     *
+     * @param requestType
+     *            the type of the request, or <code>null</code> for requests
+     *            without a known type
+     * @param durationNanos
+     *            the time it took to handle the request, in nanoseconds
+     */
+    public void record(RequestType requestType, long durationNanos) {
+        int index = indexOf(requestType);
+        long durationMillis = durationNanos / 1000000;
+
+        counts[index].increment();
+        totalDurations[index].add(durationMillis);
+
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length
+                && durationMillis >= BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        histograms[index].incrementAndGet(bucket);
+    }
+
+    /**
+     * Gets the number of handled requests of the given type.
+     *
+     * @param requestType
+     *            the request type, or <code>null</code> for requests without a
+     *            known type
+     * @return the number of requests
+     */
+    public long getRequestCount(RequestType requestType) {
+        return counts[indexOf(requestType)].sum();
+    }
+
+    /**
+     * Gets the total time spent handling requests of the given type.
+     *
+     * @param requestType
+     *            the request type, or <code>null</code> for requests without a
+     *            known type
+     * @return the total duration in milliseconds
+     */
+    public long getTotalDuration(RequestType requestType) {
+        return totalDurations[indexOf(requestType)].sum();
+    }
+
+    /**
+     * Gets the latency histogram of requests of the given type. The value at
+     * index <code>i</code> is the number of requests which took less than
+     * <code>getLatencyBucketBounds()[i]</code> milliseconds but not less than
+     * the bound of the previous bucket. The last value is the number of
+     * requests which took at least as long as the largest bound.
+     *
+     * @param requestType
+     *            the request type, or <code>null</code> for requests without a
+     *            known type
+     * @return a copy of the histogram, one element longer than the bucket
+     *         bounds
+     */
+    public long[] getLatencyHistogram(RequestType requestType) {
+        AtomicLongArray histogram = histograms[indexOf(requestType)];
+        long[] copy = new long[histogram.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the exclusive upper bounds of the latency histogram buckets.
+     *
+     * @return the bucket bounds in milliseconds, in ascending order
+     */
+    public static long[] getLatencyBucketBounds() {
+        return BUCKET_BOUNDS.clone();
+    }
+
+    private static int indexOf(RequestType requestType) {
+        return requestType == null ? UNTYPED : requestType.ordinal();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.InputStream;
+
+/**
+ * Producer of {@link InputStream} instances which can start reading the
+ * resource data at any position.
+ * <p>
+ * A {@link StreamResource} created with a seekable factory and a known content
+ * length can answer HTTP range requests, e.g. when seeking in media, by reading
+ * only the requested parts of the data.
+ *
+ * @see StreamResource#StreamResource(String, SeekableInputStreamFactory)
+ * @see StreamResource#setContentLength(long)
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@FunctionalInterface
+public interface SeekableInputStreamFactory extends InputStreamFactory {
+
+    /**
+     * Produce {@link InputStream} instance to read resource data starting from
+     * the given position.
+     * <p>
+     * This method is called under the Vaadin session lock, in the same way as
+     * {@link #createInputStream()}.
+     * <p>
+     * Return value may not be null.
+     *
+     * @param offset
+     *            the position of the first byte to read, not negative
+     * @return data input stream. May not be null.
+     */
+    InputStream createInputStream(long offset);
+
+    @Override
+    default InputStream createInputStream() {
+        return createInputStream(0);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Handler for producing a response to HTTP requests which do not depend on the
+ * user session, e.g. application wide generated resources.
+ * <p>
+ * A service level {@link RequestHandler} which also implements this interface
+ * is given the chance to handle the request before the {@link VaadinSession}
+ * is looked up. No session is created or locked for requests handled this way.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@FunctionalInterface
+public interface SessionlessRequestHandler extends Serializable {
+
+    /**
+     * Called when a request needs to be handled before any session is
+     * available. If a response is written, this method should return
+     * <code>true</code> to indicate that the request should not be handled any
+     * further.
+     * <p>
+     * This method may be called concurrently by several threads.
+     *
+     * @param request
+     *            The request to handle
+     * @param response
+     *            The response object to which a response can be written.
+     * @return true if a response has been written and the request should not
+     *         be handled any further, otherwise false
+     * @throws IOException
+     *             If an IO error occurred
+     */
+    boolean handleSessionlessRequest(VaadinRequest request,
+            VaadinResponse response) throws IOException;
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventBusUtil;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.DomEvent;
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.dependency.Uses;
+import com.vaadin.flow.di.Instantiator;
+import com.vaadin.flow.internal.AnnotationReader;
+import com.vaadin.flow.router.RouteData;
+import com.vaadin.flow.router.RouterLayout;
+
+/**
+ * Warms up the registered routes when a service is initialized, so that the
+ * first users after a deployment do not pay for loading and analyzing the
+ * view classes.
+ * <p>
+ * The route targets, their parent layouts and the components referred to by
+ * {@link Uses} annotations are analyzed in parallel, which fills the
+ * annotation caches of the components and their {@link DomEvent} types.
+ * Optionally each route is also created with its parent layouts in a UI which
+ * is not attached to any session.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see com.vaadin.flow.function.DeploymentConfiguration#isStartupWarmupEnabled()
+ */
+final class StartupWarmup implements Serializable {
+
+    private StartupWarmup() {
+        // Only static methods
+    }
+
+    /**
+     * Warms up the given routes of the given service. Failures are logged and
+     * otherwise ignored, so that they are reported when the route is used,
+     * like without the warm-up.
+     *
+     * @param service
+     *            the service being initialized, not <code>null</code>
+     * @param routes
+     *            the routes to warm up, not <code>null</code>
+     */
+    static void warmUp(VaadinService service, List<RouteData> routes) {
+        long start = System.nanoTime();
+        Set<Class<? extends Component>> componentClasses = collectComponentClasses(
+                routes);
+        long analyzed = componentClasses.parallelStream()
+                .filter(componentClass -> analyze(service, componentClass))
+                .count();
+        getLogger().info("Analyzed {} component classes of {} routes in {} ms",
+                analyzed, routes.size(), toMillis(System.nanoTime() - start));
+
+        if (service.getDeploymentConfiguration()
+                .isStartupWarmupRenderEnabled()) {
+            start = System.nanoTime();
+            int rendered = render(service, routes);
+            getLogger().info("Rendered {} of {} routes in {} ms", rendered,
+                    routes.size(), toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Collects the route targets and parent layouts of the given routes
+     * together with the components they refer to through {@link Uses}
+     * annotations, recursively.
+     *
+     * @param routes
+     *            the routes, not <code>null</code>
+     * @return the component classes, not <code>null</code>
+     */
+    static Set<Class<? extends Component>> collectComponentClasses(
+            List<RouteData> routes) {
+        Set<Class<? extends Component>> classes = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        for (RouteData route : routes) {
+            queue.add(route.getNavigationTarget());
+            queue.addAll(route.getParentLayouts());
+        }
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!Component.class.isAssignableFrom(type)
+                    || !classes.add(type.asSubclass(Component.class))) {
+                continue;
+            }
+            for (Uses uses : AnnotationReader.getAnnotationsFor(type,
+                    Uses.class)) {
+                queue.add(uses.value());
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Creates each route target with its parent layouts in a throwaway UI.
+     * The routes are created one at a time since the route constructors are
+     * not expected to be thread safe.
+     *
+     * @param service
+     *            the service being initialized, not <code>null</code>
+     * @param routes
+     *            the routes to render, not <code>null</code>
+     * @return the number of routes which were rendered without failures
+     */
+    static int render(VaadinService service, List<RouteData> routes) {
+        Instantiator instantiator = service.getInstantiator();
+        int rendered = 0;
+        UI previousUI = UI.getCurrent();
+        try {
+            for (RouteData route : routes) {
+                UI ui = new UI();
+                UI.setCurrent(ui);
+                try {
+                    HasElement content = instantiator.createRouteTarget(
+                            route.getNavigationTarget(), null);
+                    for (Class<? extends RouterLayout> layoutType : route
+                            .getParentLayouts()) {
+                        RouterLayout layout = instantiator
+                                .createRouteTarget(layoutType, null);
+                        layout.showRouterLayoutContent(content);
+                        content = layout;
+                    }
+                    ui.getElement().appendChild(content.getElement());
+                    rendered++;
+                } catch (RuntimeException | LinkageError e) {
+                    getLogger().debug("Unable to render the route {}",
+                            route.getTemplate(), e);
+                }
+            }
+        } finally {
+            UI.setCurrent(previousUI);
+        }
+        return rendered;
+    }
+
+    private static boolean analyze(VaadinService service,
+            Class<? extends Component> componentClass) {
+        try {
+            ComponentUtil.getSynchronizedProperties(componentClass);
+            ComponentUtil.getDependencies(service, componentClass);
+            analyzeEventTypes(componentClass);
+            return true;
+        } catch (RuntimeException | LinkageError e) {
+            getLogger().debug("Unable to analyze the component {}",
+                    componentClass.getName(), e);
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void analyzeEventTypes(Class<?> componentClass) {
+        for (Class<?> type = componentClass; type != null
+                && type != Component.class; type = type.getSuperclass()) {
+            for (Class<?> nested : type.getDeclaredClasses()) {
+                if (ComponentEvent.class.isAssignableFrom(nested)
+                        && nested.isAnnotationPresent(DomEvent.class)) {
+                    ComponentEventBusUtil.getEventDataExpressions(
+                            (Class<? extends ComponentEvent<?>>) nested);
+                }
+            }
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1000000;
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StartupWarmup.class);
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Optional;
 
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.ContentTypeResolver;
+import com.vaadin.flow.function.SerializableSupplier;
 
 /**
  * Represents dynamically generated data.
@@ -50,6 +51,14 @@ public class StreamResource extends AbstractStreamResource {
 
     private ContentTypeResolver resolver = DEFAULT_RESOLVER;
 
+    private SeekableInputStreamFactory seekableFactory;
+
+    private long contentLength = -1;
+
+    private SerializableSupplier<String> eTagSupplier;
+
+    private long lastModified = -1;
+
     private static class DefaultResolver implements ContentTypeResolver {
 
         @Override
@@ -158,6 +167,25 @@ public class StreamResource extends AbstractStreamResource {
         assert name != null;
     }
 
+    /**
+     * Creates {@link StreamResource} instance using mandatory parameters
+     * {@code name} as a resource file name and a seekable input stream
+     * {@code factory} as a factory for data.
+     * <p>
+     * If also the content length is set using
+     * {@link #setContentLength(long)}, HTTP range requests for the resource
+     * are answered by reading only the requested ranges from the factory.
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param factory
+     *            seekable data input stream factory. May not be null.
+     */
+    public StreamResource(String name, SeekableInputStreamFactory factory) {
+        this(name, (InputStreamFactory) factory);
+        seekableFactory = factory;
+    }
+
     /**
      * Returns the stream resource writer.
      * <p>
@@ -217,6 +245,101 @@ public class StreamResource extends AbstractStreamResource {
         return resolver;
     }
 
+    /**
+     * Gets the seekable factory which is used to read ranges of the resource
+     * data.
+     *
+     * @return the seekable input stream factory, or an empty optional if the
+     *         resource was not created with one
+     */
+    public Optional<SeekableInputStreamFactory> getSeekableInputStreamFactory() {
+        return Optional.ofNullable(seekableFactory);
+    }
+
+    /**
+     * Sets the length of the resource data in bytes. The length is sent to the
+     * client, and it is required for answering range requests.
+     * <p>
+     * By default the length is unknown.
+     *
+     * @param contentLength
+     *            the length of the data in bytes, or a negative value if the
+     *            length is unknown
+     * @return this resource
+     */
+    public StreamResource setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+        return this;
+    }
+
+    /**
+     * Gets the length of the resource data in bytes.
+     *
+     * @return the length of the data, or a negative value if the length is
+     *         unknown
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Sets the supplier of the entity tag which identifies the current version
+     * of the resource data. The supplier is called under the session lock for
+     * each request of the resource, and a request with a matching
+     * {@code If-None-Match} header is answered with {@code 304 Not Modified}
+     * without writing the data.
+     * <p>
+     * The supplied value is sent as a strong entity tag, and it should not
+     * include the surrounding quotes.
+     *
+     * @param eTagSupplier
+     *            the entity tag supplier, or <code>null</code> to not send an
+     *            entity tag
+     * @return this resource
+     */
+    public StreamResource setETagSupplier(
+            SerializableSupplier<String> eTagSupplier) {
+        this.eTagSupplier = eTagSupplier;
+        return this;
+    }
+
+    /**
+     * Gets the entity tag of the current version of the resource data.
+     *
+     * @return the entity tag without the surrounding quotes, or
+     *         <code>null</code> if there is no entity tag
+     */
+    public String getETag() {
+        return eTagSupplier == null ? null : eTagSupplier.get();
+    }
+
+    /**
+     * Sets the time when the resource data was last modified. A request with
+     * an {@code If-Modified-Since} header which is not before the time is
+     * answered with {@code 304 Not Modified} without writing the data.
+     * <p>
+     * By default the modification time is unknown.
+     *
+     * @param lastModified
+     *            the modification time in milliseconds since the epoch, or a
+     *            negative value if the time is unknown
+     * @return this resource
+     */
+    public StreamResource setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+        return this;
+    }
+
+    /**
+     * Gets the time when the resource data was last modified.
+     *
+     * @return the modification time in milliseconds since the epoch, or a
+     *         negative value if the time is unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
     @Override
     public String getName() {
         return fileName;
@@ -32,6 +32,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -76,6 +77,8 @@ import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
+import com.vaadin.flow.server.session.CompactSessionSerializer;
+import com.vaadin.flow.server.session.SessionSerializer;
 import com.vaadin.flow.server.webcomponent.WebComponentConfigurationRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
@@ -163,6 +166,23 @@ public abstract class VaadinService implements Serializable {
 
     private Iterable<RequestHandler> requestHandlers;
 
+    /**
+     * The request handlers applicable to each request type, in the same order
+     * as {@link #requestHandlers}.
+     */
+    private Map<RequestType, List<RequestHandler>> requestHandlersByType;
+
+    private List<RequestHandler> untypedRequestHandlers;
+
+    /**
+     * The request handlers which may handle requests before the session is
+     * looked up, in the same order as {@link #requestHandlers}.
+     */
+    private List<SessionlessRequestHandler> sessionlessRequestHandlers = Collections
+            .emptyList();
+
+    private final RequestStatistics requestStatistics = new RequestStatistics();
+
     private Iterable<BootstrapListener> bootstrapListeners;
 
     private transient Iterable<IndexHtmlRequestListener> indexHtmlRequestListeners;
@@ -190,6 +210,8 @@ public abstract class VaadinService implements Serializable {
 
     private Instantiator instantiator;
 
+    private SessionSerializer sessionSerializer;
+
     private VaadinContext vaadinContext;
 
     /**
@@ -246,6 +268,7 @@ public abstract class VaadinService implements Serializable {
      */
     public void init() throws ServiceException {
         instantiator = createInstantiator();
+        sessionSerializer = createSessionSerializer();
 
         // init the router now so that registry will be available for
         // modifications
@@ -266,6 +289,16 @@ public abstract class VaadinService implements Serializable {
             Collections.reverse(handlers);
 
             requestHandlers = Collections.unmodifiableCollection(handlers);
+            requestHandlersByType = new EnumMap<>(RequestType.class);
+            for (RequestType type : RequestType.values()) {
+                requestHandlersByType.put(type,
+                        filterRequestHandlers(handlers, type));
+            }
+            untypedRequestHandlers = filterRequestHandlers(handlers, null);
+            sessionlessRequestHandlers = handlers.stream()
+                    .filter(SessionlessRequestHandler.class::isInstance)
+                    .map(SessionlessRequestHandler.class::cast)
+                    .collect(Collectors.toList());
 
             dependencyFilters = Collections.unmodifiableCollection(instantiator
                     .getDependencyFilters(event.getAddedDependencyFilters())
@@ -293,10 +326,70 @@ public abstract class VaadinService implements Serializable {
         if (getDeploymentConfiguration().isPnpmEnabled()) {
             UsageStatistics.markAsUsed("flow/pnpm", null);
         }
+        if (configuration.isStartupWarmupEnabled()) {
+            runWithServiceContext(() -> StartupWarmup.warmUp(this,
+                    getRouteRegistry().getRegisteredRoutes()));
+        }
 
         initialized = true;
     }
 
+    private static List<RequestHandler> filterRequestHandlers(
+            List<RequestHandler> handlers, RequestType type) {
+        return handlers.stream()
+                .filter(handler -> handler.canHandleRequestType(type)
+                        || isRequestTypeRestrictionOverridden(handler))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether a subclass of the class restricting the request types of
+     * the given handler overrides the methods deciding whether a request is
+     * handled. Such a handler might accept other types of requests, e.g. a
+     * heartbeat handler subclass accepting also other requests, so it is
+     * invoked for requests of any type.
+     */
+    private static boolean isRequestTypeRestrictionOverridden(
+            RequestHandler handler) {
+        Class<?> restrictingClass = findDeclaringClass(handler.getClass(),
+                "canHandleRequestType", RequestType.class);
+        if (restrictingClass == null) {
+            // Not restricted, the default implementation accepts all types
+            return false;
+        }
+        for (Class<?> type = handler.getClass(); type != restrictingClass; type = type
+                .getSuperclass()) {
+            if (declaresMethod(type, "canHandleRequest", VaadinRequest.class)
+                    || declaresMethod(type, "handleRequest",
+                            VaadinSession.class, VaadinRequest.class,
+                            VaadinResponse.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?> findDeclaringClass(Class<?> type, String name,
+            Class<?>... parameterTypes) {
+        for (Class<?> current = type; current != null; current = current
+                .getSuperclass()) {
+            if (declaresMethod(current, name, parameterTypes)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private static boolean declaresMethod(Class<?> type, String name,
+            Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     private void addRouterUsageStatistics() {
         if (UsageStatistics.getEntries().anyMatch(
                 e -> Constants.STATISTIC_ROUTING_CLIENT.equals(e.getName()))) {
@@ -448,6 +541,53 @@ public abstract class VaadinService implements Serializable {
         return instantiators.stream().findFirst();
     }
 
+    /**
+     * Creates the serializer used for replicating sessions of this service.
+     * The serializer is not used for storing the session in the HTTP session,
+     * see {@link #getSessionSerializer()}.
+     * <p>
+     * A serializer available through the {@link Lookup} is used if there is
+     * one. Otherwise a {@link CompactSessionSerializer} is created, with
+     * compression enabled if the
+     * {@link InitParameters#SERVLET_PARAMETER_SESSION_SERIALIZATION_COMPRESSION}
+     * parameter is set.
+     *
+     * @return the session serializer to use, not <code>null</code>
+     * @see #getSessionSerializer()
+     */
+    protected SessionSerializer createSessionSerializer() {
+        Lookup lookup = getContext().getAttribute(Lookup.class);
+        if (lookup != null) {
+            // lookup may be null in tests
+            SessionSerializer serializer = lookup
+                    .lookup(SessionSerializer.class);
+            if (serializer != null) {
+                return serializer;
+            }
+        }
+        return new CompactSessionSerializer(getDeploymentConfiguration()
+                .getBooleanProperty(
+                        InitParameters.SERVLET_PARAMETER_SESSION_SERIALIZATION_COMPRESSION,
+                        false));
+    }
+
+    /**
+     * Gets the serializer that session replication integrations should use to
+     * serialize and deserialize the {@link VaadinSession}s of this service.
+     * <p>
+     * This is an opt-in API: the session is stored in the HTTP session as is,
+     * so the servlet container serializes it using plain Java serialization.
+     * Only integrations which replicate sessions themselves, e.g. through
+     * {@link com.vaadin.flow.server.session.SessionReplicationTracker}, use
+     * this serializer.
+     *
+     * @return the session serializer, or <code>null</code> if this service has
+     *         not been initialized
+     */
+    public SessionSerializer getSessionSerializer() {
+        return sessionSerializer;
+    }
+
     /**
      * Gets the instantiator used by this service.
      *
@@ -731,6 +871,45 @@ public abstract class VaadinService implements Serializable {
         return vaadinSession;
     }
 
+    /**
+     * Finds the already loaded Vaadin session of the given request without
+     * locking the session. Only sessions which have been loaded by this
+     * service are returned, since loading a session needs the lock.
+     *
+     * @param request
+     *            the request to get the vaadin service session for
+     * @return the vaadin service session for the request, or
+     *         <code>null</code> if it must be looked up while holding the
+     *         session lock
+     */
+    private VaadinSession findExistingVaadinSessionWithoutLock(
+            VaadinRequest request) {
+        if (hasParameter(request, Constants.URL_PARAMETER_RESTART_APPLICATION)
+                || hasParameter(request,
+                        Constants.URL_PARAMETER_CLOSE_APPLICATION)) {
+            return null;
+        }
+        WrappedSession wrappedSession = request.getWrappedSession(false);
+        if (wrappedSession == null) {
+            return null;
+        }
+        VaadinSession vaadinSession;
+        try {
+            vaadinSession = readFromHttpSession(wrappedSession);
+        } catch (IllegalStateException e) {
+            // Invalidated, let the regular lookup report it
+            return null;
+        }
+        if (vaadinSession == null || vaadinSession.getService() != this) {
+            return null;
+        }
+
+        VaadinSession.setCurrent(vaadinSession);
+        request.setAttribute(VaadinSession.class.getName(), vaadinSession);
+
+        return vaadinSession;
+    }
+
     /**
      * Associates the given lock with this service and the given wrapped
      * session. This method should not be called more than once when the lock is
@@ -1483,6 +1662,13 @@ public abstract class VaadinService implements Serializable {
     /**
      * Called after the framework has handled a request and the response has
      * been written.
+     * <p>
+     * The session is cleaned up and the request duration recorded right away
+     * if the session lock is available. If the lock is held by some other
+     * thread, e.g. by a concurrent request to the same session, the cleanup is
+     * instead queued as a pending access task which is run by that thread
+     * when it releases the lock, so that the request does not need to wait
+     * for the lock a second time.
      *
      * @param request
      *            The request object
@@ -1496,19 +1682,35 @@ public abstract class VaadinService implements Serializable {
             VaadinSession session) {
         if (session != null) {
             assert VaadinSession.getCurrent() == session;
-            session.lock();
-            try {
-                cleanupSession(session);
-                final long duration = (System.nanoTime() - (Long) request
-                        .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
-                session.setLastRequestDuration(duration);
-            } finally {
-                session.unlock();
+            final long duration = (System.nanoTime() - (Long) request
+                    .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
+            if (tryLock(session)) {
+                try {
+                    cleanupSession(session);
+                    session.setLastRequestDuration(duration);
+                } finally {
+                    session.unlock();
+                }
+            } else {
+                accessSession(session, () -> {
+                    cleanupSession(session);
+                    session.setLastRequestDuration(duration);
+                });
             }
         }
         CurrentInstance.clearAll();
     }
 
+    private static boolean tryLock(VaadinSession session) {
+        try {
+            // tryLock() would be shorter, but it does not guarantee fairness
+            return session.getLockInstance().tryLock(0, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     /**
      * Returns the request handlers that are registered with this service. The
      * iteration order of the returned collection is the same as the order in
@@ -1521,6 +1723,15 @@ public abstract class VaadinService implements Serializable {
         return requestHandlers;
     }
 
+    /**
+     * Gets the statistics of the requests handled by this service.
+     *
+     * @return the request statistics, not <code>null</code>
+     */
+    public RequestStatistics getRequestStatistics() {
+        return requestStatistics;
+    }
+
     /**
      * Gets the filters which all resource dependencies are passed through
      * before being sent to the client for loading.
@@ -1535,6 +1746,9 @@ public abstract class VaadinService implements Serializable {
     /**
      * Handles the incoming request and writes the response into the response
      * object. Uses {@link #getRequestHandlers()} for handling the request.
+     * The type of the request is resolved once and only the handlers which
+     * {@link RequestHandler#canHandleRequestType(RequestType) can handle} that
+     * type are invoked.
      * <p>
      * If a session expiration is detected during request handling then each
      * {@link RequestHandler request handler} has an opportunity to handle the
@@ -1555,15 +1769,33 @@ public abstract class VaadinService implements Serializable {
             throws ServiceException {
         requestStart(request, response);
 
+        long start = System.nanoTime();
+        RequestType requestType = HandlerHelper.getRequestType(request);
         VaadinSession vaadinSession = null;
         try {
-            // Find out the service session this request is related to
-            vaadinSession = findVaadinSession(request);
+            for (SessionlessRequestHandler handler : sessionlessRequestHandlers) {
+                if (handler.handleSessionlessRequest(request, response)) {
+                    return;
+                }
+            }
+
+            // Heartbeats only need an existing session, so they should not
+            // wait for the session lock behind e.g. long access tasks
+            if (requestType == RequestType.HEARTBEAT) {
+                vaadinSession = findExistingVaadinSessionWithoutLock(request);
+            }
             if (vaadinSession == null) {
-                return;
+                // Find out the service session this request is related to
+                vaadinSession = findVaadinSession(request);
+                if (vaadinSession == null) {
+                    return;
+                }
             }
 
-            for (RequestHandler handler : getRequestHandlers()) {
+            List<RequestHandler> handlers = requestType == null
+                    ? untypedRequestHandlers
+                    : requestHandlersByType.get(requestType);
+            for (RequestHandler handler : handlers) {
                 if (handler.handleRequest(vaadinSession, request, response)) {
                     return;
                 }
@@ -1579,6 +1811,7 @@ public abstract class VaadinService implements Serializable {
             handleExceptionDuringRequest(request, response, vaadinSession, e);
         } finally {
             requestEnd(request, response, vaadinSession);
+            requestStatistics.record(requestType, System.nanoTime() - start);
         }
     }
 
@@ -22,7 +22,6 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Locale;
@@ -31,6 +30,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
@@ -94,7 +94,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
 
     private int nextUIId = 0;
-    private Map<Integer, UI> uIs = new HashMap<>();
+    private Map<Integer, UI> uIs = new ConcurrentHashMap<>();
 
     protected WebBrowser browser = new WebBrowser();
 
@@ -131,6 +131,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private final Attributes attributes = new Attributes();
 
+    private int attributeModificationCount;
+
     private final StreamResourceRegistry resourceRegistry;
 
     /**
@@ -271,6 +273,34 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return lastRequestTimestamp;
     }
 
+    /**
+     * Runs the given command while the request timing fields of this session
+     * have fixed values. The timings are updated on every request, so this
+     * can be used for comparing the serialized form of the session without
+     * them.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param command
+     *            the command to run, not <code>null</code>
+     */
+    public void runWithoutRequestTimings(Command command) {
+        checkHasLock();
+        long cumulativeDuration = cumulativeRequestDuration;
+        long lastDuration = lastRequestDuration;
+        long timestamp = lastRequestTimestamp;
+        cumulativeRequestDuration = 0;
+        lastRequestDuration = -1;
+        lastRequestTimestamp = 0;
+        try {
+            command.execute();
+        } finally {
+            cumulativeRequestDuration = cumulativeDuration;
+            lastRequestDuration = lastDuration;
+            lastRequestTimestamp = timestamp;
+        }
+    }
+
     /**
      * Gets the underlying session to which this service session is currently
      * associated.
@@ -513,6 +543,24 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return uIs.get(uiId);
     }
 
+    /**
+     * Returns a UI with the given id without requiring the session to be
+     * locked.
+     * <p>
+     * The returned UI may be concurrently modified or removed from the session
+     * by other threads, so only thread safe methods of it may be used without
+     * locking the session. This is meant for framework internal use in
+     * request handlers which do not need exclusive access to the session, e.g.
+     * when handling heartbeats.
+     *
+     * @param uiId
+     *            The UI id
+     * @return The UI with the given id or null if not found
+     */
+    public UI getUIByIdWithoutLock(int uiId) {
+        return uIs.get(uiId);
+    }
+
     /**
      * Checks if the current thread has exclusive access to this
      * <code>VaadinSession</code>.
@@ -723,6 +771,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     public void setAttribute(String name, Object value) {
         checkHasLock();
         attributes.setAttribute(name, value);
+        attributeModificationCount++;
     }
 
     /**
@@ -749,6 +798,22 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     public <T> void setAttribute(Class<T> type, T value) {
         checkHasLock();
         attributes.setAttribute(type, value);
+        attributeModificationCount++;
+    }
+
+    /**
+     * Gets the number of times an attribute of this session has been set. It
+     * can be used for cheaply detecting whether attributes have been set or
+     * removed, e.g. for session replication. Changes made to the attribute
+     * values themselves are not counted.
+     *
+     * @return the number of times an attribute has been set
+     * @see #setAttribute(String, Object)
+     * @see #setAttribute(Class, Object)
+     */
+    public int getAttributeModificationCount() {
+        checkHasLock();
+        return attributeModificationCount;
     }
 
     /**
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * The state of an upload which is received in chunks, possibly in parallel
+ * and over several connections.
+ * <p>
+ * The chunks are written to their positions in a temporary file, and the
+ * received byte ranges are tracked so that the client can resume the upload
+ * by sending only the missing ranges. The file is only open while a chunk is
+ * written or the completed data is read.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class ChunkedUpload implements Serializable {
+
+    private final long length;
+    private final File file;
+    // Start offset -> end offset (exclusive) of the received ranges, merged
+    private final TreeMap<Long, Long> received = new TreeMap<>();
+    private boolean completed;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    private ChunkedUpload(long length, File file) {
+        this.length = length;
+        this.file = file;
+    }
+
+    /**
+     * Creates an upload backed by a new temporary file.
+     *
+     * @param length
+     *            the total length of the uploaded data
+     * @return the upload
+     * @throws IOException
+     *             if the temporary file cannot be created
+     */
+    static ChunkedUpload create(long length) throws IOException {
+        return new ChunkedUpload(length,
+                File.createTempFile("vaadin-upload", ".tmp"));
+    }
+
+    /**
+     * Gets the total length of the uploaded data.
+     *
+     * @return the length in bytes
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the time when the upload last received data.
+     *
+     * @return the time in milliseconds
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Writes a chunk to its position in the temporary file. Chunks may be
+     * written concurrently. The range of the chunk is marked as received only
+     * if the whole chunk is read and matches the checksum.
+     *
+     * @param in
+     *            the chunk data
+     * @param offset
+     *            the position of the chunk in the uploaded data
+     * @param checksum
+     *            the expected CRC32 checksum of the chunk, or <code>null</code>
+     *            to not verify the chunk
+     * @param bufferSize
+     *            the size of the buffer to copy the data with
+     * @param interrupted
+     *            tells whether the upload has been interrupted and the rest of
+     *            the chunk should not be written
+     * @return <code>true</code> if the chunk was received, <code>false</code>
+     *         if it does not match the checksum, does not fit in the upload,
+     *         was interrupted or the upload is already completed
+     * @throws IOException
+     *             if reading the chunk or writing the file fails
+     */
+    boolean write(InputStream in, long offset, Long checksum, int bufferSize,
+            BooleanSupplier interrupted) throws IOException {
+        if (isCompleted()) {
+            return false;
+        }
+        lastAccess = System.currentTimeMillis();
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[bufferSize];
+        long position = offset;
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (position + read > length || interrupted.getAsBoolean()) {
+                    return false;
+                }
+                crc.update(buffer, 0, read);
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) {
+                    position += channel.write(data, position);
+                }
+            }
+        }
+        lastAccess = System.currentTimeMillis();
+        if (checksum != null && checksum != crc.getValue()) {
+            return false;
+        }
+        markReceived(offset, position);
+        return true;
+    }
+
+    private synchronized void markReceived(long start, long end) {
+        if (start == end) {
+            return;
+        }
+        long newStart = start;
+        long newEnd = end;
+        // Merge with the overlapping or adjacent ranges
+        Map.Entry<Long, Long> previous = received.floorEntry(start);
+        if (previous != null && previous.getValue() >= start) {
+            newStart = previous.getKey();
+            newEnd = Math.max(newEnd, previous.getValue());
+        }
+        Map.Entry<Long, Long> next;
+        while ((next = received.ceilingEntry(newStart)) != null
+                && next.getKey() <= newEnd) {
+            newEnd = Math.max(newEnd, next.getValue());
+            received.remove(next.getKey());
+        }
+        received.put(newStart, newEnd);
+    }
+
+    /**
+     * Gets the received byte ranges in the format
+     * <code>start-end,start-end</code>, where the end offsets are exclusive.
+     *
+     * @return the received ranges, empty if nothing has been received
+     */
+    synchronized String getReceivedRanges() {
+        return received.entrySet().stream()
+                .map(range -> range.getKey() + "-" + range.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Marks the upload as completed if all data has been received. Returns
+     * <code>true</code> only once, so that only one of the requests which
+     * deliver the last chunks processes the completed upload.
+     *
+     * @return <code>true</code> if the upload was completed by this call
+     */
+    synchronized boolean complete() {
+        if (completed) {
+            return false;
+        }
+        Long end = received.get(0L);
+        completed = (end == null ? 0 : end) == length;
+        return completed;
+    }
+
+    /**
+     * Checks whether the upload has been completed or discarded, in which
+     * case it does not accept any more chunks.
+     *
+     * @return <code>true</code> if the upload is completed
+     */
+    synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Marks the upload as completed without processing it and deletes the
+     * temporary file.
+     */
+    void discard() {
+        synchronized (this) {
+            completed = true;
+        }
+        delete();
+    }
+
+    /**
+     * Opens a stream for reading the received data.
+     *
+     * @return a stream with the uploaded data
+     * @throws IOException
+     *             if the temporary file cannot be read
+     */
+    InputStream openInputStream() throws IOException {
+        return Files.newInputStream(file.toPath());
+    }
+
+    /**
+     * Deletes the temporary file.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LoggerFactory.getLogger(ChunkedUpload.class)
+                    .debug("Unable to delete temporary upload file", e);
+        }
+    }
+}
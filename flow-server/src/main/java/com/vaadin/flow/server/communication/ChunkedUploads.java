@@ -0,0 +1,129 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * The chunked uploads of a session, stored as a session attribute.
+ * <p>
+ * Completed uploads are kept until they expire, so that chunks which arrive
+ * after the upload has been processed are rejected instead of starting a new
+ * upload with the same id.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class ChunkedUploads implements Serializable {
+
+    private final Map<String, ChunkedUpload> uploads = new HashMap<>();
+
+    /**
+     * Gets the chunked uploads of the given session, creating them if needed.
+     * Locks the session while doing so.
+     *
+     * @param session
+     *            the session, not <code>null</code>
+     * @return the chunked uploads of the session, not <code>null</code>
+     */
+    static ChunkedUploads get(VaadinSession session) {
+        session.lock();
+        try {
+            ChunkedUploads uploads = session
+                    .getAttribute(ChunkedUploads.class);
+            if (uploads == null) {
+                uploads = new ChunkedUploads();
+                session.setAttribute(ChunkedUploads.class, uploads);
+            }
+            return uploads;
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * Gets the upload with the given key without creating it.
+     *
+     * @param key
+     *            the key of the upload
+     * @return the upload, or <code>null</code> if there is no upload with the
+     *         given key
+     */
+    synchronized ChunkedUpload get(String key) {
+        return uploads.get(key);
+    }
+
+    /**
+     * Gets the upload with the given key, or creates it if the session does
+     * not already have the maximum number of unfinished uploads.
+     *
+     * @param key
+     *            the key of the upload
+     * @param length
+     *            the total length of the uploaded data
+     * @param maxUploads
+     *            the maximum number of unfinished uploads
+     * @return the upload, or <code>null</code> if there are too many
+     *         unfinished uploads
+     * @throws IOException
+     *             if the temporary file of a new upload cannot be created
+     */
+    synchronized ChunkedUpload getOrCreate(String key, long length,
+            int maxUploads) throws IOException {
+        ChunkedUpload upload = uploads.get(key);
+        if (upload != null) {
+            return upload;
+        }
+        long unfinished = uploads.values().stream()
+                .filter(existing -> !existing.isCompleted()).count();
+        if (unfinished >= maxUploads) {
+            return null;
+        }
+        upload = ChunkedUpload.create(length);
+        uploads.put(key, upload);
+        return upload;
+    }
+
+    /**
+     * Removes and deletes the uploads which have not received any data after
+     * the given time.
+     *
+     * @param expired
+     *            the time in milliseconds
+     */
+    synchronized void purgeExpired(long expired) {
+        uploads.values().removeIf(upload -> {
+            if (upload.getLastAccess() < expired) {
+                upload.discard();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Removes and deletes all uploads.
+     */
+    synchronized void discardAll() {
+        uploads.values().forEach(ChunkedUpload::discard);
+        uploads.clear();
+    }
+}
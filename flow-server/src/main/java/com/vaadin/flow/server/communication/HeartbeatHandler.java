@@ -50,6 +50,44 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType == RequestType.HEARTBEAT;
+    }
+
+    /**
+     * Handles a heartbeat request without locking the session. The UI is
+     * looked up and its heartbeat timestamp updated using only thread safe
+     * operations, so that heartbeats do not compete for the session lock with
+     * UIDL requests and other tasks. The session is only accessed if there are
+     * heartbeat listeners to notify.
+     *
+     * @see UIInternals#receiveHeartbeat(long)
+     */
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        String uiIdString = request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER);
+        UI ui = null;
+        if (uiIdString != null) {
+            ui = session.getUIByIdWithoutLock(Integer.parseInt(uiIdString));
+        }
+        if (ui != null) {
+            ui.getInternals().receiveHeartbeat(System.currentTimeMillis());
+            writeHeartbeatResponse(response);
+        } else {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND,
+                    "UI not found");
+        }
+
+        return true;
+    }
+
     /**
      * Handles a heartbeat request for the given session. Reads the GET
      * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
@@ -65,12 +103,7 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         if (ui != null) {
             ui.getInternals()
                     .setLastHeartbeatTimestamp(System.currentTimeMillis());
-            // Ensure that the browser does not cache heartbeat responses.
-            // iOS 6 Safari requires this (#10370)
-            response.setHeader("Cache-Control", "no-cache");
-            // If Content-Type is not set, browsers assume text/html and may
-            // complain about the empty response body (#12182)
-            response.setHeader("Content-Type", "text/plain");
+            writeHeartbeatResponse(response);
         } else {
             response.sendError(HttpServletResponse.SC_NOT_FOUND,
                     "UI not found");
@@ -79,6 +112,15 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return true;
     }
 
+    private static void writeHeartbeatResponse(VaadinResponse response) {
+        // Ensure that the browser does not cache heartbeat responses.
+        // iOS 6 Safari requires this (#10370)
+        response.setHeader("Cache-Control", "no-cache");
+        // If Content-Type is not set, browsers assume text/html and may
+        // complain about the empty response body (#12182)
+        response.setHeader("Content-Type", "text/plain");
+    }
+
     /*
      * (non-Javadoc)
      *
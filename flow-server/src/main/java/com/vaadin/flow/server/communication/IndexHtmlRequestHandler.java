@@ -36,6 +36,7 @@ import com.vaadin.flow.internal.BrowserLiveReloadAccess;
 import com.vaadin.flow.internal.UsageStatisticsExporter;
 import com.vaadin.flow.server.AppShellRegistry;
 import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -189,6 +190,12 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
                 .isValidUrl(request);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Decided by the bootstrap URL predicate instead
+        return true;
+    }
+
     @Override
     protected void initializeUIWithRouter(VaadinRequest request, UI ui) {
         if (request.getService().getBootstrapInitialPredicate()
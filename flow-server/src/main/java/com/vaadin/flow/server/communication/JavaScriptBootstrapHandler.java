@@ -82,6 +82,11 @@ public class JavaScriptBootstrapHandler extends BootstrapHandler {
         return HandlerHelper.isRequestType(request, RequestType.INIT);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType == RequestType.INIT;
+    }
+
     protected String getRequestUrl(VaadinRequest request) {
         return ((VaadinServletRequest) request).getRequestURL().toString();
     }
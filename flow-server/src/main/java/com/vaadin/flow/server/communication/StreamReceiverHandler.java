@@ -25,8 +25,11 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.net.URLDecoder;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.fileupload.FileItemIterator;
 import org.apache.commons.fileupload.FileItemStream;
@@ -36,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.server.ErrorEvent;
@@ -64,7 +68,66 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class StreamReceiverHandler implements Serializable {
 
-    private static final int MAX_UPLOAD_BUFFER_SIZE = 4 * 1024;
+    /* Default size of the buffer used for copying the upload data. */
+    public static final int DEFAULT_UPLOAD_BUFFER_SIZE = 64 * 1024;
+
+    /*
+     * Default time after which an unfinished chunked upload without new
+     * chunks is discarded.
+     */
+    public static final int DEFAULT_CHUNKED_UPLOAD_TIMEOUT_MS = 60 * 60 * 1000;
+
+    /* Default maximum total length of a chunked upload. */
+    public static final long DEFAULT_MAX_CHUNKED_UPLOAD_LENGTH = 4L * 1024
+            * 1024 * 1024;
+
+    /* Default maximum number of unfinished chunked uploads in a session. */
+    public static final int DEFAULT_MAX_CHUNKED_UPLOADS_PER_SESSION = 10;
+
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Request header with the client generated id of a chunked upload. A
+     * request with this header is handled as a chunk of the upload.
+     */
+    public static final String UPLOAD_ID_HEADER = "X-Upload-Id";
+
+    /**
+     * Request header with the total length in bytes of a chunked upload.
+     */
+    public static final String UPLOAD_LENGTH_HEADER = "X-Upload-Length";
+
+    /**
+     * Request header with the position of the chunk in a chunked upload.
+     */
+    public static final String UPLOAD_OFFSET_HEADER = "X-Upload-Offset";
+
+    /**
+     * Optional request header with the CRC32 checksum of the chunk as a
+     * hexadecimal number.
+     */
+    public static final String UPLOAD_CHECKSUM_HEADER = "X-Upload-Checksum";
+
+    /**
+     * Optional request header with the URI encoded file name of a chunked
+     * upload.
+     */
+    public static final String UPLOAD_NAME_HEADER = "X-Upload-Name";
+
+    /**
+     * Optional request header with the MIME type of a chunked upload.
+     */
+    public static final String UPLOAD_TYPE_HEADER = "X-Upload-Type";
+
+    /**
+     * Response header with the byte ranges of a chunked upload received so
+     * far, in the format <code>start-end,start-end</code> where the end
+     * offsets are exclusive. A client can send a chunk without data to get the
+     * ranges when resuming an upload.
+     */
+    public static final String UPLOAD_RECEIVED_HEADER = "X-Upload-Received";
+
+    private final AtomicBoolean sessionDestroyListenerAdded = new AtomicBoolean();
 
     /* Minimum interval which will be used for streaming progress events. */
     public static final int DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS = 500;
@@ -92,6 +155,74 @@ public class StreamReceiverHandler implements Serializable {
         OK, ERROR
     }
 
+    /**
+     * Delivers progress events of an upload without holding the session lock
+     * in the upload thread. The events are handed over to the UI using
+     * {@link UI#access(com.vaadin.flow.server.Command)}, and an event that has
+     * not been delivered yet is replaced by a newer one, so a slow UI never
+     * gets a backlog of progress events.
+     */
+    private static class ProgressNotifier implements Serializable {
+        private final VaadinSession session;
+        private final UI ui;
+        private final StreamVariable streamVariable;
+        private final int interval;
+        private final AtomicReference<StreamingProgressEventImpl> pending = new AtomicReference<>();
+        private long lastEventTime;
+
+        private ProgressNotifier(VaadinSession session, UI ui,
+                StreamVariable streamVariable, int interval) {
+            this.session = session;
+            this.ui = ui;
+            this.streamVariable = streamVariable;
+            this.interval = interval;
+        }
+
+        private void update(StreamingProgressEventImpl event) {
+            long now = System.currentTimeMillis();
+            // to avoid event storms, events are sent in intervals
+            if (lastEventTime + interval > now) {
+                return;
+            }
+            lastEventTime = now;
+            if (pending.getAndSet(event) != null) {
+                // The previously scheduled task delivers this event instead
+                return;
+            }
+            try {
+                if (ui == null) {
+                    session.access(this::deliverPending);
+                } else {
+                    ui.access(this::deliverPending);
+                }
+            } catch (UIDetachedException e) {
+                pending.set(null);
+                getLogger().debug(
+                        "Progress event dropped since the UI is detached", e);
+            }
+        }
+
+        private void deliverPending() {
+            StreamingProgressEventImpl event = pending.getAndSet(null);
+            if (event != null) {
+                streamVariable.onProgress(event);
+            }
+        }
+
+        /**
+         * Delivers the final progress event. Must be called with the session
+         * locked.
+         */
+        private void finish(StreamingProgressEventImpl event) {
+            pending.set(null);
+            streamVariable.onProgress(event);
+        }
+
+        private void cancel() {
+            pending.set(null);
+        }
+    }
+
     /**
      * Handle reception of incoming stream from the client.
      *
@@ -135,7 +266,10 @@ public class StreamReceiverHandler implements Serializable {
         }
 
         try {
-            if (isMultipartUpload(request)) {
+            if (isChunkedUpload(request)) {
+                doHandleChunkedUpload(session, request, response,
+                        streamReceiver, source);
+            } else if (isMultipartUpload(request)) {
                 doHandleMultipartFileUpload(session, request, response,
                         streamReceiver, source);
             } else {
@@ -326,6 +460,219 @@ public class StreamReceiverHandler implements Serializable {
         sendUploadResponse(response, success);
     }
 
+    /**
+     * Receives a chunk of an upload which is sent in several requests.
+     * <p>
+     * The chunks are written to a temporary file at the positions given in the
+     * requests, so they may arrive in any order and in parallel, and a chunk
+     * which fails can be sent again. Until the upload is completed, each
+     * response tells the ranges received so far in the
+     * {@value #UPLOAD_RECEIVED_HEADER} header. An empty chunk of a non-empty
+     * upload only reports the ranges received so far, without starting the
+     * upload if it does not exist yet. When all data has been received, the
+     * file is passed to the stream variable like a single upload, and the
+     * response to the request that completed the upload is the normal upload
+     * response without the header.
+     * <p>
+     * Uploads longer than {@link #getMaxChunkedUploadLength()} and new uploads
+     * beyond {@link #getMaxChunkedUploadsPerSession()} are rejected, as are
+     * chunks for an upload which has already been completed. If the stream
+     * variable is interrupted, the received data is discarded. The
+     * unfinished uploads of a session are deleted when they expire or when
+     * the session is destroyed.
+     * <p>
+     * This method takes care of locking the session as needed and does not
+     * assume the caller has locked the session.
+     *
+     * @param session
+     *            The session containing the stream variable
+     * @param request
+     *            The chunk request
+     * @param response
+     *            The chunk response
+     * @param streamReceiver
+     *            the receiver containing the destination stream variable
+     * @param owner
+     *            The owner of the stream
+     * @throws IOException
+     *             If there is a problem reading the request, writing the
+     *             temporary file or writing the response
+     */
+    protected void doHandleChunkedUpload(VaadinSession session,
+            VaadinRequest request, VaadinResponse response,
+            StreamReceiver streamReceiver, StateNode owner)
+            throws IOException {
+        if (sessionDestroyListenerAdded.compareAndSet(false, true)) {
+            session.getService().addSessionDestroyListener(
+                    event -> discardChunkedUploads(event.getSession()));
+        }
+        ChunkedUploads uploads = ChunkedUploads.get(session);
+        uploads.purgeExpired(
+                System.currentTimeMillis() - getChunkedUploadTimeout());
+
+        long length = parseLong(request.getHeader(UPLOAD_LENGTH_HEADER), 10);
+        long offset = parseLong(request.getHeader(UPLOAD_OFFSET_HEADER), 10);
+        String checksumHeader = request.getHeader(UPLOAD_CHECKSUM_HEADER);
+        Long checksum = checksumHeader == null ? null
+                : parseLong(checksumHeader, 16);
+        if (length < 0 || offset < 0 || offset > length
+                || (checksum != null && checksum < 0)) {
+            getLogger().debug("Received a chunk with invalid headers");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (length > getMaxChunkedUploadLength()) {
+            getLogger().debug("Rejected a chunked upload of {} bytes", length);
+            response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        String key = streamReceiver.getId() + '/'
+                + request.getHeader(UPLOAD_ID_HEADER);
+        // An empty chunk of a non-empty upload only asks for the received
+        // ranges, so it should not start a new upload
+        boolean probe = length > 0 && getContentLength(request) == 0;
+        ChunkedUpload upload;
+        if (probe) {
+            upload = uploads.get(key);
+            if (upload == null) {
+                response.setHeader(UPLOAD_RECEIVED_HEADER, "");
+                response.setStatus(HttpServletResponse.SC_OK);
+                return;
+            }
+        } else {
+            upload = uploads.getOrCreate(key, length,
+                    getMaxChunkedUploadsPerSession());
+        }
+        if (upload == null) {
+            getLogger().debug(
+                    "Rejected a chunked upload since the session has too many unfinished uploads");
+            response.setStatus(SC_TOO_MANY_REQUESTS);
+            return;
+        }
+        if (upload.isCompleted()) {
+            getLogger().debug("Received a chunk for a completed upload");
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            return;
+        }
+        if (upload.getLength() != length) {
+            getLogger().debug("Received a chunk with a different length");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (probe) {
+            response.setHeader(UPLOAD_RECEIVED_HEADER,
+                    upload.getReceivedRanges());
+            response.setStatus(HttpServletResponse.SC_OK);
+            return;
+        }
+
+        StreamVariable streamVariable = streamReceiver.getStreamVariable();
+        boolean received = upload.write(request.getInputStream(), offset,
+                checksum, getUploadBufferSize(),
+                streamVariable::isInterrupted);
+        if (streamVariable.isInterrupted()) {
+            getLogger().debug("Discarded an interrupted chunked upload");
+            upload.discard();
+            sendUploadResponse(response, false);
+            return;
+        }
+        if (!received) {
+            getLogger().debug("Received an invalid chunk at offset {}",
+                    offset);
+            response.setHeader(UPLOAD_RECEIVED_HEADER,
+                    upload.getReceivedRanges());
+            response.setStatus(upload.isCompleted()
+                    ? HttpServletResponse.SC_CONFLICT
+                    : HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (!upload.complete()) {
+            response.setHeader(UPLOAD_RECEIVED_HEADER,
+                    upload.getReceivedRanges());
+            response.setStatus(HttpServletResponse.SC_OK);
+            return;
+        }
+
+        boolean success = false;
+        try (InputStream stream = upload.openInputStream()) {
+            success = handleFileUploadValidationAndData(session, stream,
+                    streamReceiver, getChunkedUploadName(request),
+                    getChunkedUploadType(request), length, owner);
+        } catch (UploadException e) {
+            session.getErrorHandler().error(new ErrorEvent(e));
+        } finally {
+            upload.delete();
+        }
+        sendUploadResponse(response, success);
+    }
+
+    /**
+     * Gets the time after which an unfinished chunked upload that has not
+     * received any data is discarded. To adjust this value override the
+     * method, and register your own handler in
+     * VaadinService.createRequestHandlers(). The default is one hour.
+     *
+     * @return the chunked upload timeout in milliseconds
+     */
+    protected int getChunkedUploadTimeout() {
+        return DEFAULT_CHUNKED_UPLOAD_TIMEOUT_MS;
+    }
+
+    /**
+     * Gets the maximum total length of a chunked upload. Uploads which are
+     * longer are rejected before any data is written to the disk. To adjust
+     * this value override the method, and register your own handler in
+     * VaadinService.createRequestHandlers(). The default is 4 GB.
+     *
+     * @return the maximum chunked upload length in bytes
+     */
+    protected long getMaxChunkedUploadLength() {
+        return DEFAULT_MAX_CHUNKED_UPLOAD_LENGTH;
+    }
+
+    /**
+     * Gets the maximum number of unfinished chunked uploads in a session. New
+     * uploads are rejected until one of the uploads is completed or expires.
+     * To adjust this value override the method, and register your own handler
+     * in VaadinService.createRequestHandlers(). The default is 10.
+     *
+     * @return the maximum number of unfinished chunked uploads per session
+     */
+    protected int getMaxChunkedUploadsPerSession() {
+        return DEFAULT_MAX_CHUNKED_UPLOADS_PER_SESSION;
+    }
+
+    private static void discardChunkedUploads(VaadinSession session) {
+        ChunkedUploads uploads = session.getAttribute(ChunkedUploads.class);
+        if (uploads != null) {
+            uploads.discardAll();
+            session.setAttribute(ChunkedUploads.class, null);
+        }
+    }
+
+    private static String getChunkedUploadName(VaadinRequest request)
+            throws IOException {
+        String name = request.getHeader(UPLOAD_NAME_HEADER);
+        return name == null ? "unknown" : URLDecoder.decode(name, "UTF-8");
+    }
+
+    private static String getChunkedUploadType(VaadinRequest request) {
+        String type = request.getHeader(UPLOAD_TYPE_HEADER);
+        return type == null ? "unknown" : type;
+    }
+
+    private static long parseLong(String value, int radix) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value, radix);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Validate that stream target is in a valid state for receiving data
      * and send stream to receiver. Handles cleanup and error in reading stream
@@ -399,6 +746,19 @@ public class StreamReceiverHandler implements Serializable {
         return DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS;
     }
 
+    /**
+     * Gets the size of the buffer used for copying the upload data to the
+     * output stream of the stream variable. A larger buffer means fewer reads
+     * and writes for large uploads. To adjust this value override the method,
+     * and register your own handler in VaadinService.createRequestHandlers().
+     * The default is 64 KB.
+     *
+     * @return the upload buffer size in bytes
+     */
+    protected int getUploadBufferSize() {
+        return DEFAULT_UPLOAD_BUFFER_SIZE;
+    }
+
     static void tryToCloseStream(OutputStream out) {
         try {
             // try to close output stream (e.g. file handle)
@@ -463,7 +823,10 @@ public class StreamReceiverHandler implements Serializable {
         StreamingStartEventImpl startedEvent = new StreamingStartEventImpl(
                 filename, type, contentLength);
         boolean success = false;
+        ProgressNotifier progressNotifier = null;
         try {
+            // The session is only locked at the start and at the end, the
+            // data is copied without holding the lock
             boolean listenProgress;
             session.lock();
             try {
@@ -473,6 +836,11 @@ public class StreamReceiverHandler implements Serializable {
             } finally {
                 session.unlock();
             }
+            if (listenProgress) {
+                progressNotifier = new ProgressNotifier(session,
+                        UI.getCurrent(), streamVariable,
+                        getProgressEventInterval());
+            }
 
             // Gets the output target stream
             if (out == null) {
@@ -484,27 +852,22 @@ public class StreamReceiverHandler implements Serializable {
                 throw new NoInputStreamException();
             }
 
-            final byte[] buffer = new byte[MAX_UPLOAD_BUFFER_SIZE];
-            long lastStreamingEvent = 0;
+            final byte[] buffer = new byte[getUploadBufferSize()];
             int bytesReadToBuffer;
-            do {
-                bytesReadToBuffer = in.read(buffer);
-                if (bytesReadToBuffer > 0) {
-                    out.write(buffer, 0, bytesReadToBuffer);
-                    totalBytes += bytesReadToBuffer;
-                }
-                if (listenProgress) {
-                    StreamingProgressEventImpl progressEvent = new StreamingProgressEventImpl(
-                            filename, type, contentLength, totalBytes);
-
-                    lastStreamingEvent = updateProgress(session, streamVariable,
-                            progressEvent, lastStreamingEvent,
-                            bytesReadToBuffer);
+            while ((bytesReadToBuffer = in.read(buffer)) > 0) {
+                out.write(buffer, 0, bytesReadToBuffer);
+                totalBytes += bytesReadToBuffer;
+                if (progressNotifier != null) {
+                    progressNotifier.update(new StreamingProgressEventImpl(
+                            filename, type, contentLength, totalBytes));
                 }
                 if (streamVariable.isInterrupted()) {
                     throw new UploadInterruptedException();
                 }
-            } while (bytesReadToBuffer > 0);
+            }
+            if (streamVariable.isInterrupted()) {
+                throw new UploadInterruptedException();
+            }
 
             // upload successful
             out.close();
@@ -512,6 +875,10 @@ public class StreamReceiverHandler implements Serializable {
                     filename, type, totalBytes);
             session.lock();
             try {
+                if (progressNotifier != null) {
+                    progressNotifier.finish(new StreamingProgressEventImpl(
+                            filename, type, contentLength, totalBytes));
+                }
                 streamVariable.streamingFinished(event);
             } finally {
                 session.unlock();
@@ -519,6 +886,9 @@ public class StreamReceiverHandler implements Serializable {
             success = true;
         } catch (UploadInterruptedException e) {
             // Download interrupted by application code
+            if (progressNotifier != null) {
+                progressNotifier.cancel();
+            }
             tryToCloseStream(out);
             StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
                     filename, type, contentLength, totalBytes, e);
@@ -531,6 +901,9 @@ public class StreamReceiverHandler implements Serializable {
             // Note, we are not throwing interrupted exception forward as it is
             // not a terminal level error like all other exception.
         } catch (final Exception e) {
+            if (progressNotifier != null) {
+                progressNotifier.cancel();
+            }
             tryToCloseStream(out);
             session.lock();
             try {
@@ -548,25 +921,6 @@ public class StreamReceiverHandler implements Serializable {
                 success ? UploadStatus.OK : UploadStatus.ERROR);
     }
 
-    private long updateProgress(VaadinSession session,
-            StreamVariable streamVariable,
-            StreamingProgressEventImpl progressEvent, long lastStreamingEvent,
-            int bytesReadToBuffer) {
-        long now = System.currentTimeMillis();
-        // to avoid excessive session locking and event storms,
-        // events are sent in intervals, or at the end of the file.
-        if (lastStreamingEvent + getProgressEventInterval() <= now
-                || bytesReadToBuffer <= 0) {
-            session.lock();
-            try {
-                streamVariable.onProgress(progressEvent);
-            } finally {
-                session.unlock();
-            }
-        }
-        return now;
-    }
-
     /**
      * The request.getContentLength() is limited to "int" by the Servlet
      * specification. To support larger file uploads manually evaluate the
@@ -580,6 +934,10 @@ public class StreamReceiverHandler implements Serializable {
         }
     }
 
+    protected boolean isChunkedUpload(VaadinRequest request) {
+        return request.getHeader(UPLOAD_ID_HEADER) != null;
+    }
+
     protected boolean isMultipartUpload(VaadinRequest request) {
         return request instanceof HttpServletRequest && ServletFileUpload
                 .isMultipartContent((HttpServletRequest) request);
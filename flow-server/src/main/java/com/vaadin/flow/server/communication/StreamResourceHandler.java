@@ -18,10 +18,17 @@ package com.vaadin.flow.server.communication;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletResponse;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.vaadin.flow.server.HandlerHelper;
+import com.vaadin.flow.server.SeekableInputStreamFactory;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
@@ -38,8 +45,29 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final String ETAG_HEADER = "ETag";
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+    private static final String RANGE_HEADER = "Range";
+    private static final String IF_RANGE_HEADER = "If-Range";
+    private static final String ACCEPT_RANGES_HEADER = "Accept-Ranges";
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String MULTIPART_BOUNDARY = "VAADIN_BYTERANGES";
+    private static final int MAX_RANGES = 16;
+    private static final int BUFFER_SIZE = 8192;
+
     /**
      * Handle sending for a stream resource request.
+     * <p>
+     * If the resource has an entity tag or a modification time, conditional
+     * requests are answered with {@code 304 Not Modified} without invoking
+     * the resource writer. If the resource has a seekable input stream factory
+     * and a known content length, range requests are answered by reading only
+     * the requested ranges.
      *
      * @param session
      *            session for the request
@@ -57,18 +85,47 @@ public class StreamResourceHandler implements Serializable {
             VaadinResponse response, StreamResource streamResource)
             throws IOException {
 
-        StreamResourceWriter writer;
+        StreamResourceWriter writer = null;
+        String contentType;
+        SeekableInputStreamFactory seekableFactory = null;
+        List<long[]> ranges = null;
+        long contentLength = streamResource.getContentLength();
+        long lastModified = streamResource.getLastModified();
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
-            response.setContentType(streamResource.getContentTypeResolver()
-                    .apply(streamResource, context));
+            contentType = streamResource.getContentTypeResolver()
+                    .apply(streamResource, context);
+            response.setContentType(contentType);
             response.setCacheTime(streamResource.getCacheTime());
-            writer = streamResource.getWriter();
-            if (writer == null) {
-                throw new IOException(
-                        "Stream resource produces null input stream");
+            String eTag = streamResource.getETag();
+            if (eTag != null) {
+                eTag = '"' + eTag + '"';
+                response.setHeader(ETAG_HEADER, eTag);
+            }
+            if (lastModified >= 0) {
+                response.setDateHeader(LAST_MODIFIED_HEADER, lastModified);
+            }
+            if (isNotModified(request, eTag, lastModified)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            if (contentLength >= 0) {
+                seekableFactory = streamResource
+                        .getSeekableInputStreamFactory().orElse(null);
+            }
+            if (seekableFactory != null) {
+                response.setHeader(ACCEPT_RANGES_HEADER, BYTES_UNIT);
+                ranges = getRequestedRanges(request, eTag, lastModified,
+                        contentLength);
+            }
+            if (ranges == null) {
+                writer = streamResource.getWriter();
+                if (writer == null) {
+                    throw new IOException(
+                            "Stream resource produces null input stream");
+                }
             }
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -77,6 +134,14 @@ public class StreamResourceHandler implements Serializable {
         } finally {
             session.unlock();
         }
+        if (ranges != null) {
+            writeRanges(session, response, seekableFactory, ranges,
+                    contentType, contentLength);
+            return;
+        }
+        if (contentLength >= 0) {
+            setContentLength(response, contentLength);
+        }
         // don't use here "try resource" syntax sugar because in case there is
         // an exception the {@code outputStream} will be closed before "catch"
         // block which sets the status code and this code will not have any
@@ -95,4 +160,197 @@ public class StreamResourceHandler implements Serializable {
         }
     }
 
+    private static boolean isNotModified(VaadinRequest request, String eTag,
+            long lastModified) {
+        String ifNoneMatch = request.getHeader(IF_NONE_MATCH_HEADER);
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            return eTag != null
+                    && HandlerHelper.matchesETag(ifNoneMatch, eTag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request,
+                IF_MODIFIED_SINCE_HEADER);
+        // HTTP dates have a precision of one second
+        return ifModifiedSince >= 0
+                && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static long getDateHeader(VaadinRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the ranges requested with a {@code Range} header, as inclusive
+     * {@code [first, last]} pairs. Returns <code>null</code> if the full
+     * content should be sent instead, and an empty list if none of the ranges
+     * can be satisfied.
+     */
+    private static List<long[]> getRequestedRanges(VaadinRequest request,
+            String eTag, long lastModified, long contentLength) {
+        String header = request.getHeader(RANGE_HEADER);
+        if (header == null || !header.startsWith(BYTES_UNIT + "=")) {
+            return null;
+        }
+        if (!isRangeCurrent(request, eTag, lastModified)) {
+            // The client has an older version, send everything
+            return null;
+        }
+        String[] specs = header.substring(BYTES_UNIT.length() + 1).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        List<long[]> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            String trimmed = spec.trim();
+            int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            long first;
+            long last;
+            try {
+                if (dash == 0) {
+                    // Suffix range: the last N bytes
+                    long suffix = Long.parseLong(trimmed.substring(1));
+                    if (suffix < 0) {
+                        return null;
+                    }
+                    first = Math.max(0, contentLength - suffix);
+                    last = suffix == 0 ? -1 : contentLength - 1;
+                } else {
+                    first = Long.parseLong(trimmed.substring(0, dash));
+                    last = dash == trimmed.length() - 1 ? Long.MAX_VALUE
+                            : Long.parseLong(trimmed.substring(dash + 1));
+                    if (last < first) {
+                        return null;
+                    }
+                    last = Math.min(last, contentLength - 1);
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            // Ranges starting after the content cannot be satisfied
+            if (first <= last) {
+                ranges.add(new long[] { first, last });
+            }
+        }
+        return ranges;
+    }
+
+    private static boolean isRangeCurrent(VaadinRequest request, String eTag,
+            long lastModified) {
+        String ifRange = request.getHeader(IF_RANGE_HEADER);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Strong comparison is used for If-Range
+            return ifRange.equals(eTag);
+        }
+        long date = getDateHeader(request, IF_RANGE_HEADER);
+        return date >= 0 && lastModified >= 0
+                && lastModified / 1000 <= date / 1000;
+    }
+
+    private static void writeRanges(VaadinSession session,
+            VaadinResponse response, SeekableInputStreamFactory factory,
+            List<long[]> ranges, String contentType, long contentLength)
+            throws IOException {
+        if (ranges.isEmpty()) {
+            response.setHeader(CONTENT_RANGE_HEADER,
+                    BYTES_UNIT + " */" + contentLength);
+            response.setStatus(
+                    HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            response.setHeader(CONTENT_RANGE_HEADER,
+                    getContentRange(range, contentLength));
+            setContentLength(response, range[1] - range[0] + 1);
+            try (OutputStream out = response.getOutputStream()) {
+                copyRange(session, factory, range, out);
+            }
+            return;
+        }
+        response.setContentType(
+                "multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
+        try (OutputStream out = response.getOutputStream()) {
+            for (long[] range : ranges) {
+                String partHeader = "\r\n--" + MULTIPART_BOUNDARY + "\r\n"
+                        + "Content-Type: " + contentType + "\r\n"
+                        + CONTENT_RANGE_HEADER + ": "
+                        + getContentRange(range, contentLength) + "\r\n\r\n";
+                out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                copyRange(session, factory, range, out);
+            }
+            out.write(("\r\n--" + MULTIPART_BOUNDARY + "--\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static String getContentRange(long[] range, long contentLength) {
+        return BYTES_UNIT + " " + range[0] + "-" + range[1] + "/"
+                + contentLength;
+    }
+
+    /**
+     * Copies a range of the resource data, locking the session like
+     * {@link StreamResource} does when it reads a whole input stream.
+     */
+    private static void copyRange(VaadinSession session,
+            SeekableInputStreamFactory factory, long[] range,
+            OutputStream out) throws IOException {
+        InputStream input;
+        session.lock();
+        try {
+            input = factory.createInputStream(range[0]);
+        } finally {
+            session.unlock();
+        }
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = range[1] - range[0] + 1;
+            while (remaining > 0) {
+                int length = (int) Math.min(buffer.length, remaining);
+                int read;
+                if (factory.requiresLock()) {
+                    session.lock();
+                    try {
+                        read = input.read(buffer, 0, length);
+                    } finally {
+                        session.unlock();
+                    }
+                } else {
+                    read = input.read(buffer, 0, length);
+                }
+                if (read < 0) {
+                    throw new EOFException(
+                            "Stream resource ended before the requested range");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    private static void setContentLength(VaadinResponse response,
+            long length) {
+        if (length <= Integer.MAX_VALUE) {
+            response.setContentLength((int) length);
+        } else {
+            response.setHeader(CONTENT_LENGTH_HEADER, String.valueOf(length));
+        }
+    }
+
 }
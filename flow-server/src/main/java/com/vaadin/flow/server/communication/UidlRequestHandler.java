@@ -87,6 +87,11 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return HandlerHelper.isRequestType(request, RequestType.UIDL);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType == RequestType.UIDL;
+    }
+
     /**
      * Creates the ServerRpcHandler to use.
      *
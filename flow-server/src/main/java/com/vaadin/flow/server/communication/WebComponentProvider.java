@@ -19,11 +19,12 @@ import javax.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.util.Base64;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,6 +33,9 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.webcomponent.WebComponentConfiguration;
+import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.server.HandlerHelper;
+import com.vaadin.flow.server.SessionlessRequestHandler;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -43,15 +47,23 @@ import static com.vaadin.flow.shared.ApplicationConstants.CONTENT_TYPE_TEXT_JAVA
 /**
  * Request handler that supplies the script/html of the web component matching
  * the given tag.
+ * <p>
+ * The scripts do not depend on the user session, so they are served before the
+ * session is looked up, without creating or locking a session. Each script is
+ * generated once and cached for the application together with an ETag which
+ * allows browsers to revalidate it.
  *
  * @author Vaadin Ltd.
  * @since 2.0
  */
-public class WebComponentProvider extends SynchronizedRequestHandler {
+public class WebComponentProvider extends SynchronizedRequestHandler
+        implements SessionlessRequestHandler {
     private static final String WEB_COMPONENT_PATH = "web-component/";
     private static final String PATH_PREFIX = "/" + WEB_COMPONENT_PATH;
     private static final String HTML_EXTENSION = "html";
     private static final String JS_EXTENSION = "js";
+    private static final String ETAG_HEADER = "ETag";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
     /**
      * Matches paths ending in words separated by at least one dash, and ending
      * in either .js or .html (words cannot contain underscore)
@@ -63,8 +75,8 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
             .compile(".*/(([\\w&&[^_]]+-)+([\\w&&[^_]]+))\\." + "("
                     + JS_EXTENSION + "|" + HTML_EXTENSION + ")$");
 
-    // tag name -> generated html
-    private Map<String, String> cache = new HashMap<>();
+    // tag name -> generated script
+    private volatile Map<String, GeneratedScript> cache = new ConcurrentHashMap<>();
 
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
@@ -81,9 +93,25 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
         return true;
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        return handleSessionlessRequest(request, response);
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
+        return handleSessionlessRequest(request, response);
+    }
+
+    @Override
+    public boolean handleSessionlessRequest(VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
         String pathInfo = request.getPathInfo();
 
         final ComponentInfo componentInfo = new ComponentInfo(pathInfo);
@@ -121,19 +149,30 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
             WebComponentConfiguration<? extends Component> webComponentConfiguration = optionalWebComponentConfiguration
                     .get();
 
-            String generated;
-            Supplier<String> responder;
             response.setContentType(CONTENT_TYPE_TEXT_JAVASCRIPT_UTF_8);
-            responder = () -> generateNPMResponse(
-                    webComponentConfiguration.getTag(), request, response);
-            if (cache == null) {
-                generated = responder.get();
+            Map<String, GeneratedScript> currentCache = cache;
+            GeneratedScript generated;
+            if (currentCache == null) {
+                generated = new GeneratedScript(generateNPMResponse(
+                        webComponentConfiguration.getTag(), request,
+                        response));
             } else {
-                generated = cache.computeIfAbsent(componentInfo.tag,
-                        moduleTag -> responder.get());
+                generated = currentCache.computeIfAbsent(componentInfo.tag,
+                        moduleTag -> new GeneratedScript(generateNPMResponse(
+                                webComponentConfiguration.getTag(), request,
+                                response)));
+            }
+
+            // The script may change on redeploy, so it is always revalidated
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader(ETAG_HEADER, generated.eTag);
+            if (HandlerHelper.matchesETag(
+                    request.getHeader(IF_NONE_MATCH_HEADER), generated.eTag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
             }
 
-            IOUtils.write(generated, response.getOutputStream(),
+            IOUtils.write(generated.content, response.getOutputStream(),
                     StandardCharsets.UTF_8);
         } else {
             response.sendError(HttpServletResponse.SC_NOT_FOUND,
@@ -163,7 +202,7 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
      */
     public void setCacheEnabled(boolean cacheEnabled) {
         if (cacheEnabled) {
-            cache = new HashMap<>();
+            cache = new ConcurrentHashMap<>();
         } else {
             cache = null;
         }
@@ -226,6 +265,22 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
                 + "} ";
     }
 
+    private static class GeneratedScript implements Serializable {
+        private final String content;
+        private final String eTag;
+
+        private GeneratedScript(String content) {
+            this.content = content;
+            // 64 bits of the content hash are plenty for telling versions of
+            // the same script apart
+            ByteBuffer digest = ByteBuffer
+                    .wrap(MessageDigestUtil.sha256(content), 0, 8);
+            eTag = '"' + StandardCharsets.US_ASCII
+                    .decode(Base64.getEncoder().encode(digest)).toString()
+                    + '"';
+        }
+    }
+
     private static class ComponentInfo implements Serializable {
         final String tag;
         final String extension;
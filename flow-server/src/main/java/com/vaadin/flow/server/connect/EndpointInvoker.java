@@ -0,0 +1,174 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.connect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+import com.googlecode.gentyref.GenericTypeReflector;
+
+import com.vaadin.flow.internal.ReflectTools;
+
+/**
+ * Invokes a single endpoint method.
+ * <p>
+ * The exact generic parameter types of the method are resolved once, and the
+ * method is invoked through a {@link MethodHandle} when the method can be
+ * looked up publicly. Otherwise the method is invoked using reflection.
+ */
+class EndpointInvoker {
+
+    private final Method method;
+    private final Type endpointType;
+    private final Type[] parameterTypes;
+    private final Class<?>[] rawParameterTypes;
+    private final Class<?>[] argumentTypes;
+    private final MethodHandle handle;
+    private volatile Type returnType;
+
+    /**
+     * Creates an invoker for the given method.
+     *
+     * @param method
+     *            the endpoint method
+     * @param endpointType
+     *            the type of the endpoint the method is invoked on, used for
+     *            resolving generic parameter types
+     */
+    EndpointInvoker(Method method, Type endpointType) {
+        this.method = method;
+        this.endpointType = endpointType;
+        parameterTypes = GenericTypeReflector.getExactParameterTypes(method,
+                endpointType);
+        handle = createHandle(method);
+        if (handle == null) {
+            rawParameterTypes = null;
+            argumentTypes = null;
+        } else {
+            rawParameterTypes = method.getParameterTypes();
+            argumentTypes = new Class<?>[rawParameterTypes.length];
+            for (int i = 0; i < rawParameterTypes.length; i++) {
+                argumentTypes[i] = ReflectTools
+                        .convertPrimitiveType(rawParameterTypes[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the invoked method.
+     *
+     * @return the method
+     */
+    Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the parameter types of the method, with type variables resolved
+     * against the endpoint type.
+     *
+     * @return the parameter types
+     */
+    Type[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * Gets the return type of the method, with type variables resolved against
+     * the endpoint type.
+     *
+     * @return the return type
+     */
+    Type getReturnType() {
+        if (returnType == null) {
+            returnType = GenericTypeReflector.getExactReturnType(method,
+                    endpointType);
+        }
+        return returnType;
+    }
+
+    /**
+     * Invokes the method with the same exception semantics as
+     * {@link Method#invoke(Object, Object...)}.
+     *
+     * @param endpoint
+     *            the endpoint instance
+     * @param arguments
+     *            the method arguments
+     * @return the return value of the method, <code>null</code> for void
+     *         methods
+     * @throws IllegalAccessException
+     *             if the method is not accessible
+     * @throws IllegalArgumentException
+     *             if the arguments do not match the method parameters
+     * @throws InvocationTargetException
+     *             if the method throws an exception
+     */
+    Object invoke(Object endpoint, Object[] arguments)
+            throws IllegalAccessException, InvocationTargetException {
+        if (handle == null) {
+            return method.invoke(endpoint, arguments);
+        }
+        checkArguments(endpoint, arguments);
+        try {
+            return (Object) handle.invokeExact(endpoint, arguments);
+        } catch (Throwable throwable) { // NOSONAR
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
+    private void checkArguments(Object endpoint, Object[] arguments) {
+        if (!method.getDeclaringClass().isInstance(endpoint)) {
+            throw new IllegalArgumentException(
+                    "object is not an instance of declaring class");
+        }
+        if (arguments.length != argumentTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            boolean valid = argument == null
+                    ? !rawParameterTypes[i].isPrimitive()
+                    : argumentTypes[i].isInstance(argument);
+            if (!valid) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
+    private static MethodHandle createHandle(Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().findVirtual(
+                    method.getDeclaringClass(), method.getName(),
+                    MethodType.methodType(method.getReturnType(),
+                            method.getParameterTypes()));
+            // (Object, Object[]) -> Object so that it can be invoked exactly
+            return handle.asType(handle.type().generic())
+                    .asSpreader(Object[].class, method.getParameterCount());
+        } catch (NoSuchMethodException | IllegalAccessException
+                | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -15,21 +15,27 @@
  */
 package com.vaadin.flow.server.connect;
 
+import javax.annotation.Nullable;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletRegistration;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,14 +43,26 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.googlecode.gentyref.GenericTypeReflector;
 
@@ -52,6 +70,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
 import org.springframework.context.ApplicationContext;
@@ -65,6 +84,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.CurrentInstance;
@@ -93,6 +114,15 @@ import com.vaadin.flow.server.startup.ServletDeployer.StubServletConfig;
  * the method has parameters, the request body should contain a valid JSON with
  * all parameters in the same order as they are declared in the method. The
  * parameter types should also correspond for the request to be successful.
+ * <p>
+ * A method may return a {@link CompletionStage}, in which case the request is
+ * processed asynchronously and the servlet thread is released until the stage
+ * completes. A method returning a {@link Stream} or an {@link Iterator} has its
+ * elements serialized one by one into a JSON array as they are consumed.
+ * <p>
+ * Several calls can be sent in a single POST request to
+ * {@literal http://${base_url}/batch}, see
+ * {@link #serveBatch(ArrayNode, HttpServletRequest)}.
  */
 @RestController
 @Import({ VaadinConnectControllerConfiguration.class,
@@ -109,6 +139,26 @@ public class VaadinConnectController {
     public static final String VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER =
             "vaadinEndpointMapper";
 
+    /**
+     * A qualifier for an {@link Executor} bean which is used for executing the
+     * calls of a batch request in parallel.
+     *
+     * @see #setBatchExecutor(Executor)
+     */
+    public static final String VAADIN_ENDPOINT_BATCH_EXECUTOR_BEAN_QUALIFIER =
+            "vaadinEndpointBatchExecutor";
+
+    /**
+     * The path of the batch request mapping, relative to the endpoint prefix.
+     */
+    public static final String BATCH_PATH = "/batch";
+
+    static final String BATCH_ENDPOINT = "endpoint";
+    static final String BATCH_METHOD = "method";
+    static final String BATCH_PARAMS = "params";
+    static final String BATCH_STATUS = "status";
+    static final String BATCH_BODY = "body";
+
     final Map<String, VaadinEndpointData> vaadinEndpoints = new HashMap<>();
 
     private final ObjectMapper vaadinEndpointMapper;
@@ -116,6 +166,9 @@ public class VaadinConnectController {
     private final Validator validator = Validation
             .buildDefaultValidatorFactory().getValidator();
     private final ExplicitNullableTypeChecker explicitNullableTypeChecker;
+    private final Map<Type, ObjectReader> parameterReaders = new ConcurrentHashMap<>();
+    private Executor batchExecutor;
+    private Long asyncTimeout;
 
     /**
      * A constructor used to initialize the controller.
@@ -166,6 +219,48 @@ public class VaadinConnectController {
         }
     }
 
+    /**
+     * Sets the executor used for executing the calls of a batch request in
+     * parallel. By default, the calls are executed one after another in the
+     * request thread.
+     * <p>
+     * The access checks and the parameters of the calls are always handled
+     * in the request thread, and only the endpoint methods are invoked by the
+     * executor. An endpoint method which uses thread bound state, such as the
+     * Spring Security context, needs an executor which propagates that state,
+     * e.g. a <code>DelegatingSecurityContextExecutor</code>.
+     *
+     * @param batchExecutor
+     *            the executor to use, or <code>null</code> to execute the
+     *            calls sequentially
+     */
+    @Autowired(required = false)
+    public void setBatchExecutor(
+            @Qualifier(VAADIN_ENDPOINT_BATCH_EXECUTOR_BEAN_QUALIFIER)
+            Executor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    /**
+     * Sets the time to wait for the result of an endpoint method returning a
+     * {@link CompletionStage} when the result is handled by the asynchronous
+     * request processing of Spring MVC. If the stage does not complete in
+     * time, the call fails with the status
+     * {@link HttpStatus#SERVICE_UNAVAILABLE}. The value is read from the
+     * <code>vaadin.endpoint.async-timeout</code> property. By default, the
+     * timeout of Spring MVC, <code>spring.mvc.async.request-timeout</code>,
+     * is used.
+     *
+     * @param asyncTimeout
+     *            the timeout in milliseconds, zero or a negative value for no
+     *            timeout, or <code>null</code> to use the timeout of Spring MVC
+     */
+    @Autowired(required = false)
+    public void setAsyncTimeout(
+            @Value("${vaadin.endpoint.async-timeout:#{null}}") Long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
     private ObjectMapper createVaadinConnectObjectMapper(ApplicationContext context) {
         Jackson2ObjectMapperBuilder builder = context.getBean(Jackson2ObjectMapperBuilder.class);
         ObjectMapper objectMapper = builder.createXmlMapper(false).build();
@@ -222,7 +317,8 @@ public class VaadinConnectController {
         }
 
         vaadinEndpoints.put(endpointName.toLowerCase(Locale.ENGLISH),
-                new VaadinEndpointData(endpointBean, beanType.getMethods()));
+                new VaadinEndpointData(endpointBean, beanType,
+                        beanType.getMethods()));
     }
 
     /**
@@ -247,7 +343,13 @@ public class VaadinConnectController {
      *            called has parameters
      * @param request
      *            the current request which triggers the endpoint call
-     * @return execution result as a JSON string or an error message string
+     * @param response
+     *            the current response, used for writing asynchronous and
+     *            streamed results
+     * @return execution result as a JSON string or an error message string,
+     *         or <code>null</code> if the result is written directly to the
+     *         response or is handled by the asynchronous request processing
+     *         of Spring MVC
      */
     @PostMapping(path = "/{endpoint}/{method}", produces =
             MediaType.APPLICATION_JSON_UTF8_VALUE)
@@ -255,15 +357,46 @@ public class VaadinConnectController {
             @PathVariable("endpoint") String endpointName,
             @PathVariable("method") String methodName,
             @RequestBody(required = false) ObjectNode body,
-            HttpServletRequest request) {
+            HttpServletRequest request, HttpServletResponse response) {
         getLogger().debug("Endpoint: {}, method: {}, request body: {}",
                 endpointName, methodName, body);
 
+        try {
+            setCurrentRequest(request);
+            return prepareEndpointCall(endpointName, methodName, body,
+                    request, response).invoke();
+        } catch (JsonProcessingException e) {
+            return createSerializationErrorResponse(endpointName, methodName,
+                    e);
+        } catch (IOException e) {
+            getLogger().error(
+                    "Failed to write endpoint '{}' method '{}' response",
+                    endpointName, methodName, e);
+            return null;
+        } finally {
+            CurrentInstance.set(VaadinRequest.class, null);
+        }
+    }
+
+    /**
+     * Puts a VaadinRequest in the instances object so as the request is
+     * available in the end-point method.
+     */
+    private static void setCurrentRequest(HttpServletRequest request) {
+        VaadinServletService service = (VaadinServletService) VaadinService
+                .getCurrent();
+        CurrentInstance.set(VaadinRequest.class,
+                new VaadinServletRequest(request, service));
+    }
+
+    private PreparedCall prepareEndpointCall(String endpointName,
+            String methodName, ObjectNode body, HttpServletRequest request,
+            HttpServletResponse response) throws JsonProcessingException {
         VaadinEndpointData vaadinEndpointData = vaadinEndpoints
                 .get(endpointName.toLowerCase(Locale.ENGLISH));
         if (vaadinEndpointData == null) {
             getLogger().debug("Endpoint '{}' not found", endpointName);
-            return ResponseEntity.notFound().build();
+            return respond(ResponseEntity.notFound().build());
         }
 
         Method methodToInvoke = vaadinEndpointData
@@ -271,60 +404,232 @@ public class VaadinConnectController {
         if (methodToInvoke == null) {
             getLogger().debug("Method '{}' not found in endpoint '{}'",
                     methodName, endpointName);
-            return ResponseEntity.notFound().build();
+            return respond(ResponseEntity.notFound().build());
         }
 
-        try {
+        return prepareVaadinEndpointMethodCall(endpointName, methodName,
+                vaadinEndpointData.getInvoker(methodToInvoke), body,
+                vaadinEndpointData, request, response);
+    }
 
-            // Put a VaadinRequest in the instances object so as the request is
-            // available in the end-point method
-            VaadinServletService service = (VaadinServletService)VaadinService.getCurrent();
-            CurrentInstance.set(VaadinRequest.class, new VaadinServletRequest(request, service));
+    private static PreparedCall respond(ResponseEntity<String> entity) {
+        return () -> entity;
+    }
 
-            return invokeVaadinEndpointMethod(endpointName, methodName,
-                    methodToInvoke, body, vaadinEndpointData, request);
-        } catch (JsonProcessingException e) {
-            String errorMessage = String.format(
-                    "Failed to serialize endpoint '%s' method '%s' response. "
-                            + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
-                    endpointName, methodName,
-                    VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER);
-            getLogger().error(errorMessage, e);
-            try {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createResponseErrorObject(errorMessage));
-            } catch (JsonProcessingException unexpected) {
-                throw new IllegalStateException(String.format(
-                        "Unexpected: Failed to serialize a plain Java string '%s' into a JSON. "
-                                + "Double check the provided mapper's configuration.",
-                        errorMessage), unexpected);
+    /**
+     * Processes a Vaadin endpoint request without access to the response.
+     * <p>
+     * Asynchronous results are waited for, and streamed results are collected
+     * before they are serialized.
+     *
+     * @param endpointName
+     *            the name of an endpoint to address the calls to, not case
+     *            sensitive
+     * @param methodName
+     *            the method name to execute on an endpoint, not case sensitive
+     * @param body
+     *            optional request body, that should be specified if the method
+     *            called has parameters
+     * @param request
+     *            the current request which triggers the endpoint call
+     * @return execution result as a JSON string or an error message string
+     * @see #serveEndpoint(String, String, ObjectNode, HttpServletRequest,
+     *      HttpServletResponse)
+     */
+    public ResponseEntity<String> serveEndpoint(String endpointName,
+            String methodName, ObjectNode body, HttpServletRequest request) {
+        return serveEndpoint(endpointName, methodName, body, request, null);
+    }
+
+    /**
+     * Captures and processes a batch of Vaadin endpoint calls.
+     * <p>
+     * The request body is a JSON array of calls, each of which is an object
+     * with the <code>endpoint</code> and <code>method</code> names and the
+     * optional <code>params</code> object which is the request body of the
+     * corresponding single call. The calls are processed like separate
+     * requests, so one failing call does not affect the others.
+     * <p>
+     * The response is a JSON array with an object for each call, in the order
+     * of the calls, with the HTTP <code>status</code> and the
+     * <code>body</code> the call would have had as a separate request.
+     *
+     * @param calls
+     *            the calls to process
+     * @param request
+     *            the current request which triggers the endpoint calls
+     * @return the results of the calls as a JSON string
+     */
+    @PostMapping(path = BATCH_PATH, produces =
+            MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<String> serveBatch(@RequestBody ArrayNode calls,
+            HttpServletRequest request) {
+        getLogger().debug("Batch of {} endpoint calls", calls.size());
+
+        List<CompletableFuture<ResponseEntity<String>>> results = new ArrayList<>(
+                calls.size());
+        Map<Class<?>, CurrentInstance> instances = CurrentInstance
+                .getInstances();
+        for (JsonNode call : calls) {
+            // The request is not thread safe and the security context of the
+            // user may be bound to the request thread, so the access check and
+            // the parameters are handled here and only the endpoint method is
+            // invoked by the executor
+            PreparedCall preparedCall = prepareBatchCall(call, request);
+            if (batchExecutor == null || calls.size() == 1) {
+                results.add(CompletableFuture.completedFuture(
+                        invokeBatchCall(call, preparedCall, request)));
+            } else {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    CurrentInstance.restoreInstances(instances);
+                    try {
+                        return invokeBatchCall(call, preparedCall, request);
+                    } finally {
+                        CurrentInstance.clearAll();
+                    }
+                }, batchExecutor));
             }
+        }
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = vaadinEndpointMapper.getFactory()
+                .createGenerator(writer)) {
+            generator.writeStartArray();
+            for (CompletableFuture<ResponseEntity<String>> result : results) {
+                writeBatchResult(generator, getBatchResult(result));
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "Unexpected: Failed to write the batch response", e);
+        }
+        return ResponseEntity.ok(writer.toString());
+    }
+
+    private PreparedCall prepareBatchCall(JsonNode call,
+            HttpServletRequest request) {
+        JsonNode endpointName = call.get(BATCH_ENDPOINT);
+        JsonNode methodName = call.get(BATCH_METHOD);
+        JsonNode params = call.get(BATCH_PARAMS);
+        try {
+            if (endpointName == null || !endpointName.isTextual()
+                    || methodName == null || !methodName.isTextual()
+                    || (params != null && !params.isNull()
+                            && !params.isObject())) {
+                return respond(ResponseEntity.badRequest()
+                        .body(createResponseErrorObject(String.format(
+                                "Invalid batch call '%s', expected an object with "
+                                        + "'%s' and '%s' names and optional '%s' object",
+                                call, BATCH_ENDPOINT, BATCH_METHOD,
+                                BATCH_PARAMS))));
+            }
+            getLogger().debug("Batch call: {}", call);
+            setCurrentRequest(request);
+            return prepareEndpointCall(endpointName.asText(),
+                    methodName.asText(),
+                    params instanceof ObjectNode ? (ObjectNode) params : null,
+                    request, null);
+        } catch (JsonProcessingException | RuntimeException e) {
+            getLogger().error(String.format(
+                    "Batch call '%s' execution failure", call), e);
+            return respond(ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR).body(null));
         } finally {
-                CurrentInstance.set(VaadinRequest.class, null);
+            CurrentInstance.set(VaadinRequest.class, null);
         }
     }
 
-    private ResponseEntity<String> invokeVaadinEndpointMethod(String endpointName,
-            String methodName, Method methodToInvoke, ObjectNode body,
-            VaadinEndpointData vaadinEndpointData, HttpServletRequest request)
-            throws JsonProcessingException {
+    private ResponseEntity<String> invokeBatchCall(JsonNode call,
+            PreparedCall preparedCall, HttpServletRequest request) {
+        try {
+            setCurrentRequest(request);
+            return preparedCall.invoke();
+        } catch (JsonProcessingException e) {
+            return createSerializationErrorResponse(
+                    call.get(BATCH_ENDPOINT).asText(),
+                    call.get(BATCH_METHOD).asText(), e);
+        } catch (IOException | RuntimeException e) {
+            getLogger().error(String.format(
+                    "Batch call '%s' execution failure", call), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        } finally {
+            CurrentInstance.set(VaadinRequest.class, null);
+        }
+    }
+
+    private ResponseEntity<String> getBatchResult(
+            CompletableFuture<ResponseEntity<String>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLogger().error("Interrupted while waiting for a batch call", e);
+        } catch (ExecutionException e) {
+            getLogger().error("Batch call execution failure", e.getCause());
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+    }
+
+    private void writeBatchResult(JsonGenerator generator,
+            ResponseEntity<String> result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(BATCH_STATUS, result.getStatusCodeValue());
+        if (result.getBody() != null) {
+            generator.writeFieldName(BATCH_BODY);
+            // The body is already serialized JSON
+            generator.writeRawValue(result.getBody());
+        }
+        generator.writeEndObject();
+    }
+
+    private ResponseEntity<String> createSerializationErrorResponse(
+            String endpointName, String methodName,
+            JsonProcessingException e) {
+        String errorMessage = String.format(
+                "Failed to serialize endpoint '%s' method '%s' response. "
+                        + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
+                endpointName, methodName,
+                VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER);
+        getLogger().error(errorMessage, e);
+        try {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createResponseErrorObject(errorMessage));
+        } catch (JsonProcessingException unexpected) {
+            throw new IllegalStateException(String.format(
+                    "Unexpected: Failed to serialize a plain Java string '%s' into a JSON. "
+                            + "Double check the provided mapper's configuration.",
+                    errorMessage), unexpected);
+        }
+    }
+
+    /**
+     * Checks the access to an endpoint method and reads its parameters, which
+     * need the request, and returns the call which invokes the method.
+     */
+    private PreparedCall prepareVaadinEndpointMethodCall(String endpointName,
+            String methodName, EndpointInvoker invoker, ObjectNode body,
+            VaadinEndpointData vaadinEndpointData, HttpServletRequest request,
+            HttpServletResponse response) throws JsonProcessingException {
+        Method methodToInvoke = invoker.getMethod();
         String checkError = accessChecker.check(methodToInvoke, request);
         if (checkError != null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            return respond(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(createResponseErrorObject(String.format(
                             "Endpoint '%s' method '%s' request cannot be accessed, reason: '%s'",
-                            endpointName, methodName, checkError)));
+                            endpointName, methodName, checkError))));
         }
 
         Map<String, JsonNode> requestParameters = getRequestParameters(body);
-        Type[] javaParameters = getJavaParameters(methodToInvoke, ClassUtils.getUserClass(vaadinEndpointData.vaadinEndpointObject));
+        Type[] javaParameters = invoker.getParameterTypes();
         if (javaParameters.length != requestParameters.size()) {
-            return ResponseEntity.badRequest()
+            return respond(ResponseEntity.badRequest()
                     .body(createResponseErrorObject(String.format(
                             "Incorrect number of parameters for endpoint '%s' method '%s', "
                                     + "expected: %s, got: %s",
                             endpointName, methodName, javaParameters.length,
-                            requestParameters.size())));
+                            requestParameters.size()))));
         }
 
         Object[] vaadinEndpointParameters;
@@ -335,8 +640,9 @@ public class VaadinConnectController {
             getLogger().debug(
                     "Endpoint '{}' method '{}' received invalid response",
                     endpointName, methodName, e);
-            return ResponseEntity.badRequest().body(vaadinEndpointMapper
-                    .writeValueAsString(e.getSerializationData()));
+            return respond(ResponseEntity.badRequest().body(
+                    vaadinEndpointMapper.writeValueAsString(
+                            e.getSerializationData())));
         }
 
         Set<ConstraintViolation<Object>> methodParameterConstraintViolations = validator
@@ -344,19 +650,30 @@ public class VaadinConnectController {
                 .validateParameters(vaadinEndpointData.getEndpointObject(),
                         methodToInvoke, vaadinEndpointParameters);
         if (!methodParameterConstraintViolations.isEmpty()) {
-            return ResponseEntity.badRequest().body(vaadinEndpointMapper
+            return respond(ResponseEntity.badRequest().body(vaadinEndpointMapper
                     .writeValueAsString(new EndpointValidationException(
                             String.format(
                                     "Validation error in endpoint '%s' method '%s'",
                                     endpointName, methodName),
                             createMethodValidationErrors(
                                     methodParameterConstraintViolations))
-                                            .getSerializationData()));
+                                            .getSerializationData())));
         }
 
+        return () -> invokeVaadinEndpointMethod(endpointName, methodName,
+                invoker, vaadinEndpointParameters, vaadinEndpointData,
+                request, response);
+    }
+
+    private ResponseEntity<String> invokeVaadinEndpointMethod(
+            String endpointName, String methodName, EndpointInvoker invoker,
+            Object[] vaadinEndpointParameters,
+            VaadinEndpointData vaadinEndpointData, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Method methodToInvoke = invoker.getMethod();
         Object returnValue;
         try {
-            returnValue = methodToInvoke.invoke(
+            returnValue = invoker.invoke(
                     vaadinEndpointData.getEndpointObject(),
                     vaadinEndpointParameters);
         } catch (IllegalArgumentException e) {
@@ -364,7 +681,7 @@ public class VaadinConnectController {
                     "Received incorrect arguments for endpoint '%s' method '%s'. "
                             + "Expected parameter types (and their order) are: '[%s]'",
                     endpointName, methodName,
-                    listMethodParameterTypes(javaParameters));
+                    listMethodParameterTypes(invoker.getParameterTypes()));
             getLogger().debug(errorMessage, e);
             return ResponseEntity.badRequest()
                     .body(createResponseErrorObject(errorMessage));
@@ -376,21 +693,31 @@ public class VaadinConnectController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createResponseErrorObject(errorMessage));
         } catch (InvocationTargetException e) {
-            return handleMethodExecutionError(endpointName, methodName, e);
+            return handleMethodExecutionError(endpointName, methodName,
+                    e.getCause());
+        }
+
+        if (returnValue instanceof CompletionStage) {
+            return handleAsyncResult(endpointName, methodName, invoker,
+                    (CompletionStage<?>) returnValue, request, response);
+        } else if (returnValue instanceof BaseStream) {
+            try (BaseStream<?, ?> stream = (BaseStream<?, ?>) returnValue) {
+                return handleStreamedResult(endpointName, methodName,
+                        invoker, getTypeArgument(invoker.getReturnType(),
+                                BaseStream.class),
+                        stream.iterator(), response);
+            }
+        } else if (returnValue instanceof Iterator) {
+            return handleStreamedResult(endpointName, methodName, invoker,
+                    getTypeArgument(invoker.getReturnType(), Iterator.class),
+                    (Iterator<?>) returnValue, response);
         }
 
         String implicitNullError = this.explicitNullableTypeChecker
                 .checkValueForAnnotatedElement(returnValue, methodToInvoke);
         if (implicitNullError != null) {
-            EndpointException returnValueException = new EndpointException(
-                    String.format(
-                            "Unexpected return value in endpoint '%s' method '%s'. %s",
-                            endpointName, methodName, implicitNullError));
-
-            getLogger().error(returnValueException.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(vaadinEndpointMapper.writeValueAsString(
-                            returnValueException.getSerializationData()));
+            return createImplicitNullErrorResponse(endpointName, methodName,
+                    implicitNullError);
         }
 
         Set<ConstraintViolation<Object>> returnValueConstraintViolations = validator
@@ -406,17 +733,231 @@ public class VaadinConnectController {
                 .ok(vaadinEndpointMapper.writeValueAsString(returnValue));
     }
 
-    private Type[] getJavaParameters(Method methodToInvoke, Type classType) {
-        return Stream.of(GenericTypeReflector.getExactParameterTypes(methodToInvoke, classType)).toArray(Type[]::new);
+    private ResponseEntity<String> handleAsyncResult(String endpointName,
+            String methodName, EndpointInvoker invoker,
+            CompletionStage<?> stage, HttpServletRequest request,
+            HttpServletResponse response) throws JsonProcessingException {
+        Type resultType = getTypeArgument(invoker.getReturnType(),
+                CompletionStage.class);
+        CompletableFuture<?> future = stage.toCompletableFuture();
+        // A completed result is cheaper to serve without an asynchronous
+        // dispatch
+        if (response != null && request.isAsyncSupported()
+                && !future.isDone()) {
+            serveAsyncResult(endpointName, methodName, invoker.getMethod(),
+                    resultType, stage, request);
+            return null;
+        }
+
+        Object result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleMethodExecutionError(endpointName, methodName, e);
+        } catch (ExecutionException e) {
+            return handleMethodExecutionError(endpointName, methodName,
+                    e.getCause());
+        }
+        return createAsyncResultResponse(endpointName, methodName,
+                invoker.getMethod(), resultType, result);
+    }
+
+    /**
+     * Hands the result over to the asynchronous request processing of Spring
+     * MVC, which dispatches the request back to the container once the stage
+     * completes or the timeout expires, and writes the response like for any
+     * other {@link ResponseEntity}.
+     */
+    private void serveAsyncResult(String endpointName, String methodName,
+            Method method, Type resultType, CompletionStage<?> stage,
+            HttpServletRequest request) throws JsonProcessingException {
+        Long timeout = asyncTimeout == null ? null : Math.max(asyncTimeout, 0);
+        DeferredResult<ResponseEntity<String>> deferredResult = new DeferredResult<>(
+                timeout);
+        ResponseEntity<String> timeoutResponse = ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(createResponseErrorObject(String.format(
+                        "Endpoint '%s' method '%s' did not complete in time",
+                        endpointName, methodName)));
+        deferredResult.onTimeout(() -> {
+            getLogger().warn("Endpoint '{}' method '{}' did not complete in time",
+                    endpointName, methodName);
+            deferredResult.setResult(timeoutResponse);
+        });
+
+        stage.whenComplete((result, error) -> {
+            ResponseEntity<String> entity;
+            try {
+                entity = error == null
+                        ? createAsyncResultResponse(endpointName, methodName,
+                                method, resultType, result)
+                        : handleMethodExecutionError(endpointName, methodName,
+                                unwrapCompletionError(error));
+            } catch (JsonProcessingException e) {
+                entity = createSerializationErrorResponse(endpointName,
+                        methodName, e);
+            }
+            if (!deferredResult.setResult(entity)) {
+                getLogger().debug(
+                        "Endpoint '{}' method '{}' completed after the request had ended",
+                        endpointName, methodName);
+            }
+        });
+
+        try {
+            WebAsyncUtils.getAsyncManager(request)
+                    .startDeferredResultProcessing(deferredResult);
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format(
+                    "Unable to start the asynchronous processing of endpoint '%s' method '%s'",
+                    endpointName, methodName), e);
+        }
+    }
+
+    private ResponseEntity<String> createAsyncResultResponse(
+            String endpointName, String methodName, Method method,
+            Type resultType, Object result) throws JsonProcessingException {
+        String implicitNullError = checkResultValue(method, result,
+                resultType);
+        if (implicitNullError != null) {
+            return createImplicitNullErrorResponse(endpointName, methodName,
+                    implicitNullError);
+        }
+        return ResponseEntity
+                .ok(vaadinEndpointMapper.writeValueAsString(result));
+    }
+
+    private ResponseEntity<String> handleStreamedResult(String endpointName,
+            String methodName, EndpointInvoker invoker, Type elementType,
+            Iterator<?> iterator, HttpServletResponse response)
+            throws IOException {
+        Method method = invoker.getMethod();
+        if (response != null) {
+            writeStreamedResult(endpointName, methodName, method, elementType,
+                    iterator, response);
+            return null;
+        }
+
+        List<Object> elements = new ArrayList<>();
+        try {
+            while (iterator.hasNext()) {
+                Object element = iterator.next();
+                String implicitNullError = checkResultValue(method, element,
+                        elementType);
+                if (implicitNullError != null) {
+                    return createImplicitNullErrorResponse(endpointName,
+                            methodName, implicitNullError);
+                }
+                elements.add(element);
+            }
+        } catch (RuntimeException e) {
+            return handleMethodExecutionError(endpointName, methodName, e);
+        }
+        return ResponseEntity
+                .ok(vaadinEndpointMapper.writeValueAsString(elements));
+    }
+
+    private void writeStreamedResult(String endpointName, String methodName,
+            Method method, Type elementType, Iterator<?> iterator,
+            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        // Let the response buffer decide when to send the data instead of
+        // flushing after each element
+        ObjectWriter writer = vaadinEndpointMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = vaadinEndpointMapper.getFactory()
+                .createGenerator(response.getOutputStream());
+        // An unfinished array tells the client that the result is incomplete
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            generator.writeStartArray();
+            while (iterator.hasNext()) {
+                Object element = iterator.next();
+                String implicitNullError = checkResultValue(method, element,
+                        elementType);
+                if (implicitNullError != null) {
+                    abortStreamedResult(response,
+                            createImplicitNullErrorResponse(endpointName,
+                                    methodName, implicitNullError));
+                    return;
+                }
+                writer.writeValue(generator, element);
+            }
+            generator.writeEndArray();
+            generator.close();
+        } catch (JsonProcessingException e) {
+            abortStreamedResult(response, createSerializationErrorResponse(
+                    endpointName, methodName, e));
+        } catch (RuntimeException e) {
+            abortStreamedResult(response,
+                    handleMethodExecutionError(endpointName, methodName, e));
+        }
+    }
+
+    private void abortStreamedResult(HttpServletResponse response,
+            ResponseEntity<String> errorResponse) throws IOException {
+        // Once a part of the array has been sent, the truncated array is all
+        // the client gets
+        if (!response.isCommitted()) {
+            response.reset();
+            writeResponse(response, errorResponse);
+        }
+    }
+
+    private void writeResponse(HttpServletResponse response,
+            ResponseEntity<String> entity) throws IOException {
+        response.setStatus(entity.getStatusCodeValue());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        if (entity.getBody() != null) {
+            response.getOutputStream().write(
+                    entity.getBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String checkResultValue(Method method, Object value, Type type) {
+        if (method.isAnnotationPresent(Nullable.class)) {
+            return null;
+        }
+        return explicitNullableTypeChecker.checkValueForType(value, type);
+    }
+
+    private ResponseEntity<String> createImplicitNullErrorResponse(
+            String endpointName, String methodName, String implicitNullError)
+            throws JsonProcessingException {
+        EndpointException returnValueException = new EndpointException(
+                String.format(
+                        "Unexpected return value in endpoint '%s' method '%s'. %s",
+                        endpointName, methodName, implicitNullError));
+
+        getLogger().error(returnValueException.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(vaadinEndpointMapper.writeValueAsString(
+                        returnValueException.getSerializationData()));
+    }
+
+    private static Throwable unwrapCompletionError(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static Type getTypeArgument(Type type, Class<?> genericType) {
+        Type argument = GenericTypeReflector.getTypeParameter(type,
+                genericType.getTypeParameters()[0]);
+        if (argument instanceof WildcardType) {
+            argument = ((WildcardType) argument).getUpperBounds()[0];
+        }
+        return argument == null ? Object.class : argument;
     }
 
     private ResponseEntity<String> handleMethodExecutionError(
-            String endpointName, String methodName, InvocationTargetException e)
+            String endpointName, String methodName, Throwable e)
             throws JsonProcessingException {
-        if (EndpointException.class
-                .isAssignableFrom(e.getCause().getClass())) {
-            EndpointException endpointException = ((EndpointException) e
-                    .getCause());
+        if (e instanceof EndpointException) {
+            EndpointException endpointException = (EndpointException) e;
             getLogger().debug("Endpoint '{}' method '{}' aborted the execution",
                     endpointName, methodName, endpointException);
             return ResponseEntity.badRequest()
@@ -455,9 +996,7 @@ public class VaadinConnectController {
         for (int i = 0; i < javaParameters.length; i++) {
             Type expectedType = javaParameters[i];
             try {
-                Object parameter = vaadinEndpointMapper
-                        .readerFor(vaadinEndpointMapper.getTypeFactory()
-                                .constructType(expectedType))
+                Object parameter = getParameterReader(expectedType)
                         .readValue(requestParameters.get(parameterNames[i]));
 
                 endpointParameters[i] = parameter;
@@ -483,6 +1022,13 @@ public class VaadinConnectController {
                 errorParams, constraintViolations);
     }
 
+    private ObjectReader getParameterReader(Type parameterType) {
+        return parameterReaders.computeIfAbsent(parameterType,
+                type -> vaadinEndpointMapper.readerFor(
+                        vaadinEndpointMapper.getTypeFactory()
+                                .constructType(type)));
+    }
+
     private EndpointValidationException getInvalidEndpointParametersException(
             String methodName, String endpointName,
             Map<String, String> deserializationErrors,
@@ -545,25 +1091,53 @@ public class VaadinConnectController {
         return parametersData;
     }
 
+    /**
+     * An endpoint call whose access has been checked and whose parameters
+     * have been read, or which has already failed.
+     */
+    @FunctionalInterface
+    private interface PreparedCall {
+        ResponseEntity<String> invoke() throws IOException;
+    }
+
     static class VaadinEndpointData {
         final Map<String, Method> methods = new HashMap<>();
+        private final Map<Method, EndpointInvoker> invokers = new ConcurrentHashMap<>();
         private final Object vaadinEndpointObject;
+        private final Class<?> endpointType;
 
         private VaadinEndpointData(Object vaadinEndpointObject,
-                Method... endpointMethods) {
+                Class<?> endpointType, Method... endpointMethods) {
             this.vaadinEndpointObject = vaadinEndpointObject;
+            this.endpointType = endpointType;
             Stream.of(endpointMethods)
                     .filter(method -> method.getDeclaringClass() != Object.class
                             && !method.isBridge())
                     .forEach(method -> methods.put(
                             method.getName().toLowerCase(Locale.ENGLISH),
                             method));
+            // Prepare the invokers up front so that requests do not need to
+            // resolve generic types or look up method handles
+            for (Method method : methods.values()) {
+                try {
+                    getInvoker(method);
+                } catch (RuntimeException e) {
+                    getLogger().debug(
+                            "Unable to prepare endpoint method '{}'", method,
+                            e);
+                }
+            }
         }
 
         private Optional<Method> getMethod(String methodName) {
             return Optional.ofNullable(methods.get(methodName));
         }
 
+        private EndpointInvoker getInvoker(Method method) {
+            return invokers.computeIfAbsent(method,
+                    key -> new EndpointInvoker(key, endpointType));
+        }
+
         private Object getEndpointObject() {
             return vaadinEndpointObject;
         }
@@ -24,6 +24,8 @@ import javax.servlet.http.HttpSession;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +77,25 @@ public class VaadinConnectAccessChecker {
 
     private boolean xsrfProtectionEnabled = true;
 
+    private final Map<Method, MethodSecurity> methodSecurity = new ConcurrentHashMap<>();
+
+    /**
+     * The security annotations of a method, resolved once per method.
+     */
+    private static class MethodSecurity {
+        private final boolean anonymousAllowed;
+        private final boolean denyAll;
+        private final String[] rolesAllowed;
+
+        private MethodSecurity(AnnotatedElement target) {
+            anonymousAllowed = target
+                    .isAnnotationPresent(AnonymousAllowed.class);
+            denyAll = target.isAnnotationPresent(DenyAll.class);
+            RolesAllowed roles = target.getAnnotation(RolesAllowed.class);
+            rolesAllowed = roles == null ? null : roles.value();
+        }
+    }
+
     /**
      * Check that the endpoint is accessible for the current user.
      *
@@ -115,8 +136,7 @@ public class VaadinConnectAccessChecker {
 
     private String verifyAnonymousUser(Method method,
             HttpServletRequest request) {
-        if (!getSecurityTarget(method)
-                .isAnnotationPresent(AnonymousAllowed.class)
+        if (!getMethodSecurity(method).anonymousAllowed
                 || cannotAccessMethod(method, request)) {
             return "Anonymous access is not allowed";
         }
@@ -134,7 +154,16 @@ public class VaadinConnectAccessChecker {
     private boolean cannotAccessMethod(Method method,
             HttpServletRequest request) {
         return requestForbidden(request)
-                || entityForbidden(getSecurityTarget(method), request);
+                || entityForbidden(getMethodSecurity(method), request);
+    }
+
+    private MethodSecurity getMethodSecurity(Method method) {
+        MethodSecurity security = methodSecurity.get(method);
+        if (security == null) {
+            security = new MethodSecurity(getSecurityTarget(method));
+            methodSecurity.put(method, security);
+        }
+        return security;
     }
 
     private boolean requestForbidden(HttpServletRequest request) {
@@ -169,21 +198,19 @@ public class VaadinConnectAccessChecker {
         return false;
     }
 
-    private boolean entityForbidden(AnnotatedElement entity,
+    private boolean entityForbidden(MethodSecurity security,
             HttpServletRequest request) {
-        return entity.isAnnotationPresent(DenyAll.class) || (!entity
-                .isAnnotationPresent(AnonymousAllowed.class)
-                && !roleAllowed(entity.getAnnotation(RolesAllowed.class),
-                        request));
+        return security.denyAll || (!security.anonymousAllowed
+                && !roleAllowed(security.rolesAllowed, request));
     }
 
-    private boolean roleAllowed(RolesAllowed rolesAllowed,
+    private boolean roleAllowed(String[] rolesAllowed,
             HttpServletRequest request) {
         if (rolesAllowed == null) {
             return true;
         }
 
-        for (String role : rolesAllowed.value()) {
+        for (String role : rolesAllowed) {
             if (request.isUserInRole(role)) {
                 return true;
             }
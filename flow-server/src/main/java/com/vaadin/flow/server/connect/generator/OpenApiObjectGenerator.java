@@ -64,7 +64,6 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSol
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import com.github.javaparser.utils.Pair;
 import com.github.javaparser.utils.SourceRoot;
-import com.github.javaparser.utils.SourceRoot.Callback;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
@@ -212,13 +211,18 @@ public class OpenApiObjectGenerator {
         schemaResolver = new SchemaResolver();
         ParserConfiguration parserConfiguration = createParserConfiguration();
 
-        javaSourcePaths.stream()
+        // Each file is parsed only once, in parallel, and the compilation
+        // units are then visited in a stable order on this thread since the
+        // symbol resolution and the collected model are not thread safe
+        List<CompilationUnit> compilationUnits = javaSourcePaths.stream()
                 .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(soureRoot -> parseSourceRoot(soureRoot, this::findEndpointExposed));
+                .flatMap(sourceRoot -> parseSourceRoot(sourceRoot).stream())
+                .collect(Collectors.toList());
 
-        javaSourcePaths.stream()
-                .map(path -> new SourceRoot(path, parserConfiguration))
-                .forEach(soureRoot -> parseSourceRoot(soureRoot, this::process));
+        compilationUnits.forEach(this::findEndpointExposed);
+        compilationUnits.forEach(this::process);
+        pathItems.forEach((pathName, pathItem) -> openApiModel.getPaths()
+                .addPathItem(pathName, pathItem));
 
         for (Map.Entry<String, ResolvedReferenceType> entry : usedTypes
                 .entrySet()) {
@@ -247,14 +251,23 @@ public class OpenApiObjectGenerator {
                 .setSymbolResolver(new JavaSymbolSolver(combinedTypeSolver));
     }
 
-    private void parseSourceRoot(SourceRoot sourceRoot, Callback callback) {
+    private List<CompilationUnit> parseSourceRoot(SourceRoot sourceRoot) {
+        List<ParseResult<CompilationUnit>> results;
         try {
-            sourceRoot.parse("", callback);
+            results = sourceRoot.tryToParseParallelized();
         } catch (Exception e) {
             throw new IllegalStateException(String.format(
                     "Can't parse the java files in the source root '%s'",
                     sourceRoot), e);
         }
+        return results.stream().filter(ParseResult::isSuccessful)
+                .map(ParseResult::getResult)
+                .filter(Optional::isPresent).map(Optional::get)
+                .sorted(Comparator.comparing(
+                        compilationUnit -> compilationUnit.getStorage()
+                                .map(storage -> storage.getPath().toString())
+                                .orElse("")))
+                .collect(Collectors.toList());
     }
 
     private void addTagsInformation() {
@@ -300,10 +313,8 @@ public class OpenApiObjectGenerator {
         return openAPI;
     }
 
-    @SuppressWarnings("squid:S1172")
-    private SourceRoot.Callback.Result process(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
-        result.ifSuccessful(compilationUnit -> compilationUnit.getPrimaryType()
+    private void process(CompilationUnit compilationUnit) {
+        compilationUnit.getPrimaryType()
                 .filter(BodyDeclaration::isClassOrInterfaceDeclaration)
                 .map(BodyDeclaration::asClassOrInterfaceDeclaration)
                 .filter(classOrInterfaceDeclaration -> !classOrInterfaceDeclaration
@@ -312,24 +323,18 @@ public class OpenApiObjectGenerator {
                         declaration, compilationUnit, EndpointExposed.class))
                 .map(this::appendNestedClasses).orElse(Collections.emptyList())
                 .forEach(classOrInterfaceDeclaration -> this.parseClass(
-                        classOrInterfaceDeclaration, compilationUnit)));
-        pathItems.forEach((pathName, pathItem) -> openApiModel.getPaths()
-                .addPathItem(pathName, pathItem));
-        return SourceRoot.Callback.Result.DONT_SAVE;
+                        classOrInterfaceDeclaration, compilationUnit));
     }
 
-    @SuppressWarnings("squid:S1172")
-    private SourceRoot.Callback.Result findEndpointExposed(Path localPath,
-            Path absolutePath, ParseResult<CompilationUnit> result) {
-        result.ifSuccessful(compilationUnit -> compilationUnit.getPrimaryType()
+    private void findEndpointExposed(CompilationUnit compilationUnit) {
+        compilationUnit.getPrimaryType()
                 .filter(BodyDeclaration::isClassOrInterfaceDeclaration)
                 .map(BodyDeclaration::asClassOrInterfaceDeclaration)
                 .filter(declaration -> GeneratorUtils.hasAnnotation(declaration,
                         compilationUnit, EndpointExposed.class))
-                .map(delcaration -> endpointExposedMap.put(
-                        delcaration.resolve().getQualifiedName(),
-                        delcaration)));
-        return SourceRoot.Callback.Result.DONT_SAVE;
+                .ifPresent(declaration -> endpointExposedMap.put(
+                        declaration.resolve().getQualifiedName(),
+                        declaration));
     }
 
     private Collection<TypeDeclaration<?>> appendNestedClasses(
@@ -626,7 +631,10 @@ public class OpenApiObjectGenerator {
                 }
             }
         });
-        if (!methodDeclaration.getType().isVoidType()) {
+        if (!methodDeclaration.getType().isVoidType()
+                && !schemaResolver.isAsyncVoidType(resolvedTypeParametersMap
+                        .replaceAll(methodDeclaration.resolve()
+                                .getReturnType()))) {
             MediaType mediaItem = createReturnMediaType(methodDeclaration,
                     resolvedTypeParametersMap);
             successfulContent.addMediaType("application/json", mediaItem);
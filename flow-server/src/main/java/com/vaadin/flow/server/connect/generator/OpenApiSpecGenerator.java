@@ -16,6 +16,7 @@
 
 package com.vaadin.flow.server.connect.generator;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -80,9 +81,7 @@ public class OpenApiSpecGenerator {
         OpenAPI openAPI = generator.generateOpenApi();
         try {
             if (openAPI.getPaths().size() > 0) {
-                log.info("writing file {}", specOutputFile);
-                FileUtils.writeStringToFile(specOutputFile.toFile(),
-                        Json.pretty(openAPI), StandardCharsets.UTF_8);
+                writeIfChanged(specOutputFile.toFile(), Json.pretty(openAPI));
             } else {
                 log.info("There are no endpoints to generate.");
                 FileUtils.deleteQuietly(specOutputFile.toFile());
@@ -112,6 +111,17 @@ public class OpenApiSpecGenerator {
         generateOpenApiSpec(sourcesPaths, specOutputFile);
     }
 
+    private static void writeIfChanged(File file, String content)
+            throws IOException {
+        if (file.isFile() && content.equals(
+                FileUtils.readFileToString(file, StandardCharsets.UTF_8))) {
+            log.debug("OpenAPI file {} is up to date", file);
+            return;
+        }
+        log.info("writing file {}", file);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+    }
+
     private OpenApiConfiguration extractOpenApiConfiguration(
             Properties applicationProperties) {
         String prefix = (String) applicationProperties.getOrDefault(PREFIX,
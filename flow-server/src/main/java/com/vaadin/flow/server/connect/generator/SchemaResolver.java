@@ -24,9 +24,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.BaseStream;
 import java.util.stream.Collectors;
 
 import com.github.javaparser.resolution.declarations.ResolvedEnumConstantDeclaration;
@@ -55,6 +58,12 @@ class SchemaResolver {
         if (resolvedType.isArray()) {
             return createArraySchema(resolvedType);
         }
+        if (isAsyncType(resolvedType)) {
+            // The client receives the result once it is available
+            ResolvedType resultType = getAsyncResultType(resolvedType);
+            return resultType == null ? new ObjectSchema()
+                    : parseResolvedTypeToSchema(resultType);
+        }
         if (isNumberType(resolvedType)) {
             return new NumberSchema();
         } else if (isStringType(resolvedType)) {
@@ -130,6 +139,38 @@ class SchemaResolver {
         return mapSchema;
     }
 
+    /**
+     * Checks whether the given type is an asynchronous result without a value,
+     * e.g. <code>CompletableFuture&lt;Void&gt;</code>.
+     *
+     * @param resolvedType
+     *            the type to check
+     * @return <code>true</code> if the type is an asynchronous result of
+     *         {@link Void}
+     */
+    boolean isAsyncVoidType(ResolvedType resolvedType) {
+        if (!isAsyncType(resolvedType)) {
+            return false;
+        }
+        ResolvedType resultType = getAsyncResultType(resolvedType);
+        return resultType != null && isTypeOf(resultType, Void.class);
+    }
+
+    private boolean isAsyncType(ResolvedType resolvedType) {
+        // Only completion stages are unwrapped by the endpoint controller
+        return resolvedType.isReferenceType()
+                && isTypeOf(resolvedType, CompletionStage.class);
+    }
+
+    private ResolvedType getAsyncResultType(ResolvedType resolvedType) {
+        List<Pair<ResolvedTypeParameterDeclaration, ResolvedType>> typeParametersMap = resolvedType
+                .asReferenceType().getTypeParametersMap();
+        if (typeParametersMap.isEmpty()) {
+            return null;
+        }
+        return typeParametersMap.get(0).b;
+    }
+
     private boolean isOptionalType(ResolvedType resolvedType) {
         return resolvedType.isReferenceType()
                 && isTypeOf(resolvedType, Optional.class);
@@ -161,7 +202,9 @@ class SchemaResolver {
     }
 
     private boolean isCollectionType(ResolvedType type) {
-        return !type.isPrimitive() && isTypeOf(type, Collection.class);
+        // Streams and iterators are serialized as arrays
+        return !type.isPrimitive() && isTypeOf(type, Collection.class,
+                Iterator.class, BaseStream.class);
     }
 
     private boolean isMapType(ResolvedType type) {
@@ -17,6 +17,7 @@ package com.vaadin.flow.server.connect.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -115,10 +116,22 @@ public class VaadinConnectTsGenerator extends AbstractTypeScriptClientCodegen {
         public File writeToFile(String filename, String contents)
                 throws IOException {
             if (filename.endsWith(TS)) {
+                File file = new File(filename);
+                if (isUnchanged(file, contents)) {
+                    // Keep the file untouched so that only the files of the
+                    // changed endpoints and entities get rebuilt
+                    return file;
+                }
                 return super.writeToFile(filename, contents);
             }
             return null;
         }
+
+        private static boolean isUnchanged(File file, String contents)
+                throws IOException {
+            return file.isFile() && contents.equals(
+                    FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        }
     }
 
     /**
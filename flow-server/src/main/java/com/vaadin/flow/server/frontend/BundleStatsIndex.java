@@ -0,0 +1,266 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import static com.vaadin.flow.server.frontend.FrontendUtils.DEAULT_FLOW_RESOURCES_FOLDER;
+import static com.vaadin.flow.server.frontend.FrontendUtils.FLOW_NPM_PACKAGE_NAME;
+
+/**
+ * Index of the module sources in a webpack stats file.
+ * <p>
+ * The stats file is read once using a streaming parser which only descends
+ * into the <code>modules</code> and <code>chunks</code> arrays. For each
+ * module, only the normalized name and the source are kept, and modules listed
+ * several times, e.g. both at the top level and in a chunk, share the same
+ * source instance. The rest of the stats file is not retained. Lookups are
+ * done by the last path segment of the requested file name, so they do not
+ * need to walk the whole module tree.
+ * <p>
+ * The lookup semantics are the same as for the template bundle parsers: the
+ * first module in depth-first order (nested modules, then nested chunks, then
+ * the module itself) whose name ends with the requested file name is used.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class BundleStatsIndex implements Serializable {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final String HASH = "hash";
+    private static final String SOURCE = "source";
+    private static final String NAME = "name";
+    private static final String CHUNKS = "chunks";
+    private static final String MODULES = "modules";
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, List<Integer>> entriesBySegment = new HashMap<>();
+    private final List<Integer> flowResourceEntries = new ArrayList<>();
+    private String hash;
+    // Used for sharing the sources of duplicate modules while parsing
+    private transient Map<String, String> parsedSources = new HashMap<>();
+
+    private static class Entry implements Serializable {
+        private final String name;
+        private final boolean flowResource;
+        private final String source;
+
+        private Entry(String name, boolean flowResource, String source) {
+            this.name = name;
+            this.flowResource = flowResource;
+            this.source = source;
+        }
+
+        private boolean matches(String fileName, String alternativeFileName,
+                String flowResourceFileName) {
+            return name.endsWith(fileName) || name.endsWith(
+                    flowResource ? flowResourceFileName : alternativeFileName);
+        }
+    }
+
+    private BundleStatsIndex() {
+        // Only created by parse
+    }
+
+    /**
+     * Indexes the content of a webpack stats file.
+     *
+     * @param content
+     *            the content of the stats file, not <code>null</code>
+     * @return the index
+     * @throws UncheckedIOException
+     *             if the content is not valid JSON
+     */
+    public static BundleStatsIndex parse(String content) {
+        BundleStatsIndex index = new BundleStatsIndex();
+        try (JsonParser parser = FACTORY.createParser(content)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                index.readObject(parser, true, index.entries);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to parse the webpack stats file", e);
+        }
+        index.parsedSources = null;
+        for (int i = 0; i < index.entries.size(); i++) {
+            index.entriesBySegment
+                    .computeIfAbsent(getLastSegment(index.entries.get(i).name),
+                            key -> new ArrayList<>())
+                    .add(i);
+            if (index.entries.get(i).flowResource) {
+                index.flowResourceEntries.add(i);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the hash of the compilation the stats file was written for.
+     *
+     * @return the hash, or <code>null</code> if the stats file has no hash
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the number of indexed modules with a source.
+     *
+     * @return the number of modules
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the source of the module with the given file name.
+     *
+     * @param fileName
+     *            the name of the file, e.g. <code>./my-view.js</code> or
+     *            <code>frontend://my-view.js</code>
+     * @return the source of the module, or <code>null</code> if no module
+     *         matches the file name
+     */
+    public String getSource(String fileName) {
+        String alternativeFileName = fileName
+                // Replace frontend part since webpack entry-point is
+                // already in the frontend folder
+                .replaceFirst("^(\\./)frontend/", "$1")
+                // Replace the flow frontend protocol
+                .replaceFirst("^frontend://", ".");
+
+        // For templates inside add-ons the actual path contains
+        // "node_modules/@vaadin/flow-frontend/" or "target/flow-frontend/"
+        // instead of "./"
+        String flowResourceFileName = alternativeFileName.replaceFirst("\\./",
+                "");
+
+        Iterable<Integer> candidates = getCandidates(fileName,
+                alternativeFileName, flowResourceFileName);
+        for (Integer candidate : candidates) {
+            Entry entry = entries.get(candidate);
+            if (entry.matches(fileName, alternativeFileName,
+                    flowResourceFileName)) {
+                return entry.source;
+            }
+        }
+        return null;
+    }
+
+    private Iterable<Integer> getCandidates(String fileName,
+            String alternativeFileName, String flowResourceFileName) {
+        // A suffix without a slash may match any part of the last segment, in
+        // which case all modules need to be checked
+        if (fileName.indexOf('/') < 0 || alternativeFileName.indexOf('/') < 0) {
+            return () -> IntStream.range(0, entries.size()).iterator();
+        }
+        TreeSet<Integer> candidates = new TreeSet<>();
+        addCandidates(candidates, fileName);
+        addCandidates(candidates, alternativeFileName);
+        if (flowResourceFileName.indexOf('/') < 0) {
+            // Add-on modules are few, check them all
+            candidates.addAll(flowResourceEntries);
+        } else {
+            addCandidates(candidates, flowResourceFileName);
+        }
+        return candidates;
+    }
+
+    private void addCandidates(TreeSet<Integer> candidates, String suffix) {
+        candidates.addAll(entriesBySegment.getOrDefault(getLastSegment(suffix),
+                Collections.emptyList()));
+    }
+
+    private void readObject(JsonParser parser, boolean root,
+            List<Entry> target) throws IOException {
+        List<Entry> modules = null;
+        List<Entry> chunks = null;
+        String name = null;
+        String source = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY && MODULES.equals(field)) {
+                modules = readArray(parser);
+            } else if (value == JsonToken.START_ARRAY
+                    && CHUNKS.equals(field)) {
+                chunks = readArray(parser);
+            } else if (value == JsonToken.VALUE_STRING && NAME.equals(field)) {
+                name = parser.getText();
+            } else if (value == JsonToken.VALUE_STRING
+                    && SOURCE.equals(field)) {
+                source = parser.getTextLength() == 0 ? null
+                        : parser.getText();
+            } else if (root && value == JsonToken.VALUE_STRING
+                    && HASH.equals(field)) {
+                hash = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (modules != null) {
+            target.addAll(modules);
+        }
+        if (chunks != null) {
+            target.addAll(chunks);
+        }
+        if (name != null && !name.isEmpty() && source != null) {
+            boolean flowResource = name.contains(FLOW_NPM_PACKAGE_NAME)
+                    || name.contains(DEAULT_FLOW_RESOURCES_FOLDER);
+            // Remove query-string used by webpack modules like babel (e.g
+            // ?babel-target=es6)
+            target.add(new Entry(name.replaceFirst("\\?.+$", ""),
+                    flowResource, parsedSources.computeIfAbsent(source,
+                            Function.identity())));
+        }
+    }
+
+    private List<Entry> readArray(JsonParser parser) throws IOException {
+        List<Entry> result = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY
+                && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                readObject(parser, false, result);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static String getLastSegment(String name) {
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+}
@@ -166,6 +166,12 @@ public class FrontendUtils {
      */
     public static final String IMPORTS_D_TS_NAME = "generated-flow-imports.d.ts";
 
+    /**
+     * Name of the file in the {@link FrontendUtils#DEFAULT_GENERATED_DIR}
+     * folder that caches byte code scanning results between runs.
+     */
+    public static final String SCANNER_CACHE_NAME = "flow-scanner-cache.json";
+
     /**
      * File name of the index.html in client side.
      */
@@ -20,8 +20,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -276,6 +281,94 @@ public class JarContentsManager {
         }
     }
 
+    /**
+     * Finds the files matching the inclusion filters in the given directories
+     * of the jar file. The files are keyed by their paths relative to the
+     * directory they are in. When several directories contain a file with the
+     * same relative path, the file in the last directory is used, like when
+     * the directories are copied one after another.
+     *
+     * @param jar
+     *            jar file to look for files in, not {@code null}
+     * @param jarDirectories
+     *            paths relative to jar root to look for files in, not
+     *            {@code null}
+     * @param wildcardPathInclusions
+     *            wildcard inclusions that are used to check each path against
+     * @return the names of the jar entries keyed by their relative paths, not
+     *         {@code null}
+     */
+    Map<String, String> findIncludedFilesTrimmingBasePaths(File jar,
+            List<String> jarDirectories, String... wildcardPathInclusions) {
+        requireFileExistence(jar);
+
+        Map<String, String> files = new LinkedHashMap<>();
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            for (String jarDirectory : jarDirectories) {
+                String basePath = normalizeJarBasePath(jarDirectory);
+                jarFile.stream().filter(file -> !file.isDirectory())
+                        .filter(file -> file.getName()
+                                .toLowerCase(Locale.ENGLISH)
+                                .startsWith(basePath
+                                        .toLowerCase(Locale.ENGLISH)))
+                        .filter(file -> includeFile(file,
+                                wildcardPathInclusions))
+                        .forEach(file -> files.put(
+                                trimBasePath(file.getName(), basePath),
+                                file.getName()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    String.format("Failed to read jarFile '%s'", jar), e);
+        }
+        return files;
+    }
+
+    /**
+     * Copies the given entries of the jar file to the output directory,
+     * skipping the entries which the given extraction record shows to be up
+     * to date.
+     *
+     * @param jar
+     *            jar file to copy the files from, not {@code null}
+     * @param files
+     *            the names of the jar entries to copy keyed by their paths
+     *            relative to the output directory, not {@code null}
+     * @param outputDirectory
+     *            the directory to copy files to, not {@code null}
+     * @param record
+     *            the extraction record of the jar, not {@code null}
+     */
+    void copyFilesFromJar(File jar, Map<String, String> files,
+            File outputDirectory, JarExtractionManifest.JarRecord record) {
+        requireFileExistence(jar);
+
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                String relativePath = file.getKey();
+                ZipEntry jarEntry = jarFile.getEntry(file.getValue());
+                if (record.isUpToDate(jarEntry, relativePath)) {
+                    // Unchanged since the previous extraction, no need to
+                    // read it
+                    continue;
+                }
+                replaceIfChanged(jarFile, jarEntry,
+                        new File(outputDirectory, relativePath));
+                record.extracted(jarEntry, relativePath);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format(
+                    "Failed to extract files from jarFile '%s' to directory '%s'",
+                    jar, outputDirectory), e);
+        }
+    }
+
+    private static String trimBasePath(String fullPath, String basePath) {
+        return fullPath.substring(fullPath.toLowerCase(Locale.ENGLISH)
+                .indexOf(basePath.toLowerCase(Locale.ENGLISH))
+                + basePath.length());
+    }
+
     private String normalizeJarBasePath(String rawPath) {
         if (rawPath == null || rawPath.isEmpty()) {
             return "";
@@ -327,4 +420,34 @@ public class JarContentsManager {
         }
     }
 
+    /**
+     * Writes the entry to the target unless the target already has the same
+     * contents. The entry is written to a temporary file next to the target
+     * which then replaces the target atomically, so that an interrupted
+     * extraction never leaves a partially written file behind.
+     */
+    private static void replaceIfChanged(JarFile jarFile, ZipEntry jarEntry,
+            File target) throws IOException {
+        byte[] contents;
+        try (InputStream input = jarFile.getInputStream(jarEntry)) {
+            contents = IOUtils.toByteArray(input);
+        }
+        if (target.isFile() && target.length() == contents.length
+                && Arrays.equals(contents,
+                        FileUtils.readFileToByteArray(target))) {
+            return;
+        }
+        FileUtils.forceMkdirParent(target);
+        File tempFile = File.createTempFile(target.getName(), ".tmp",
+                target.getParentFile());
+        try {
+            FileUtils.writeByteArrayToFile(tempFile, contents);
+            Files.move(tempFile.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
 }
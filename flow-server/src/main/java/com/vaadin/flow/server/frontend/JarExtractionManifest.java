@@ -0,0 +1,294 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+
+import static elemental.json.impl.JsonUtil.stringify;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps track of the files extracted from jar files, so that entries which
+ * have not changed since the previous extraction can be skipped without
+ * reading them from the jar.
+ * <p>
+ * A jar is identified by its path, and considered unchanged when its size and
+ * modification time are the same as on the previous extraction. An entry is
+ * considered unchanged when its CRC and size in the jar are the same and the
+ * extracted file still has the size and modification time it got when it was
+ * extracted.
+ * <p>
+ * The record of a jar also lists the paths of all the files the jar provides,
+ * including those which were not extracted from it since a later location
+ * provides the same file. This allows deciding which location provides each
+ * file without opening the unchanged jars.
+ * <p>
+ * Records of different jars may be updated concurrently.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class JarExtractionManifest {
+
+    private static final String SIZE = "size";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String ENTRIES = "entries";
+    private static final String PATHS = "paths";
+    private static final String CRC = "crc";
+    private static final String TARGET_SIZE = "targetSize";
+    private static final String TARGET_LAST_MODIFIED = "targetLastModified";
+
+    private final File file;
+
+    private final Map<String, JsonObject> previousJars = new ConcurrentHashMap<>();
+
+    private final Map<String, JarRecord> jars = new ConcurrentHashMap<>();
+
+    private JarExtractionManifest(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the manifest from the given file. An empty manifest is returned if
+     * the file does not exist or cannot be parsed.
+     *
+     * @param file
+     *            the manifest file, not {@code null}
+     * @return the manifest, not {@code null}
+     */
+    static JarExtractionManifest read(File file) {
+        JarExtractionManifest manifest = new JarExtractionManifest(file);
+        if (file.isFile()) {
+            try {
+                JsonObject json = Json
+                        .parse(FileUtils.readFileToString(file, UTF_8));
+                for (String jar : json.keys()) {
+                    manifest.previousJars.put(jar, json.getObject(jar));
+                }
+            } catch (IOException | JsonException | ClassCastException e) {
+                getLogger().debug(
+                        "Ignoring unreadable jar extraction manifest '{}'",
+                        file, e);
+                manifest.previousJars.clear();
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Writes the records of the jars extracted or found unchanged since this
+     * manifest was read. Records of other jars are dropped.
+     *
+     * @throws IOException
+     *             if the manifest file cannot be written
+     */
+    void write() throws IOException {
+        JsonObject json = Json.createObject();
+        jars.forEach((jar, record) -> json.put(jar, record.json));
+        FileUtils.writeStringToFile(file, stringify(json, 2) + "\n", UTF_8);
+    }
+
+    /**
+     * Gets the paths of the files the given jar provided on the previous
+     * extraction, if the jar has not changed since.
+     *
+     * @param jar
+     *            the jar file, not {@code null}
+     * @return the paths relative to the output directory, or {@code null} if
+     *         the jar has changed or has not been extracted before
+     */
+    Set<String> getRecordedPaths(File jar) {
+        JsonObject previous = getPreviousIfJarUnchanged(jar);
+        if (previous == null || !previous.hasKey(PATHS)) {
+            return null;
+        }
+        JsonArray array = previous.getArray(PATHS);
+        Set<String> paths = new LinkedHashSet<>();
+        for (int i = 0; i < array.length(); i++) {
+            paths.add(array.getString(i));
+        }
+        return paths;
+    }
+
+    /**
+     * Checks whether the given jar has not changed since the previous
+     * extraction, the same files were extracted from it as should be now, and
+     * none of them has been modified or removed. An unchanged jar is kept in
+     * the manifest.
+     *
+     * @param jar
+     *            the jar file, not {@code null}
+     * @param outputDirectory
+     *            the directory the jar is extracted to, not {@code null}
+     * @param paths
+     *            the paths of the files which should be extracted from the
+     *            jar, relative to the output directory, not {@code null}
+     * @return {@code true} if the extraction of the jar can be skipped
+     */
+    boolean isUnchanged(File jar, File outputDirectory, Set<String> paths) {
+        JsonObject previous = getPreviousIfJarUnchanged(jar);
+        if (previous == null || !previous.hasKey(ENTRIES)
+                || !previous.hasKey(PATHS)) {
+            return false;
+        }
+        JsonObject entries = previous.getObject(ENTRIES);
+        if (!paths.equals(new HashSet<>(Arrays.asList(entries.keys())))) {
+            return false;
+        }
+        for (String path : entries.keys()) {
+            if (!isTargetUnchanged(entries.getObject(path),
+                    new File(outputDirectory, path))) {
+                return false;
+            }
+        }
+        jars.put(jar.getAbsolutePath(), new JarRecord(previous));
+        return true;
+    }
+
+    private JsonObject getPreviousIfJarUnchanged(File jar) {
+        JsonObject previous = previousJars.get(jar.getAbsolutePath());
+        if (previous == null
+                || (long) previous.getNumber(SIZE) != jar.length()
+                || (long) previous.getNumber(LAST_MODIFIED) != jar
+                        .lastModified()) {
+            return null;
+        }
+        return previous;
+    }
+
+    /**
+     * Starts a new extraction of the given jar.
+     *
+     * @param jar
+     *            the jar file, not {@code null}
+     * @param outputDirectory
+     *            the directory the jar is extracted to, not {@code null}
+     * @param paths
+     *            the paths of all the files the jar provides, relative to the
+     *            output directory, not {@code null}
+     * @return the record to use while extracting the jar, not {@code null}
+     */
+    JarRecord startExtraction(File jar, File outputDirectory,
+            Collection<String> paths) {
+        String key = jar.getAbsolutePath();
+        JsonObject previous = previousJars.get(key);
+        JsonObject json = Json.createObject();
+        json.put(SIZE, jar.length());
+        json.put(LAST_MODIFIED, jar.lastModified());
+        JsonArray pathArray = Json.createArray();
+        for (String path : paths) {
+            pathArray.set(pathArray.length(), path);
+        }
+        json.put(PATHS, pathArray);
+        json.put(ENTRIES, Json.createObject());
+        JarRecord record = new JarRecord(json);
+        record.previousEntries = previous != null && previous.hasKey(ENTRIES)
+                ? previous.getObject(ENTRIES)
+                : Json.createObject();
+        record.outputDirectory = outputDirectory;
+        jars.put(key, record);
+        return record;
+    }
+
+    private static boolean isTargetUnchanged(JsonObject entry, File target) {
+        return target.isFile()
+                && (long) entry.getNumber(TARGET_SIZE) == target.length()
+                && (long) entry.getNumber(TARGET_LAST_MODIFIED) == target
+                        .lastModified();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(JarExtractionManifest.class);
+    }
+
+    /**
+     * The extraction record of a single jar. A record is only used by the
+     * thread extracting the jar.
+     */
+    static class JarRecord {
+        private final JsonObject json;
+        private JsonObject previousEntries;
+        private File outputDirectory;
+
+        private JarRecord(JsonObject json) {
+            this.json = json;
+        }
+
+        /**
+         * Checks whether the given entry has already been extracted to the
+         * given target and neither has changed since.
+         *
+         * @param entry
+         *            the jar entry, not {@code null}
+         * @param relativePath
+         *            the path of the target relative to the output directory
+         * @return {@code true} if the entry does not need to be extracted
+         */
+        boolean isUpToDate(ZipEntry entry, String relativePath) {
+            if (entry.getCrc() == -1 || !previousEntries.hasKey(relativePath)) {
+                return false;
+            }
+            JsonObject previous = previousEntries.getObject(relativePath);
+            if ((long) previous.getNumber(CRC) != entry.getCrc()
+                    || (long) previous.getNumber(SIZE) != entry.getSize()
+                    || !isTargetUnchanged(previous,
+                            new File(outputDirectory, relativePath))) {
+                return false;
+            }
+            json.getObject(ENTRIES).put(relativePath, previous);
+            return true;
+        }
+
+        /**
+         * Records that the given entry has been extracted to the given target.
+         *
+         * @param entry
+         *            the jar entry, not {@code null}
+         * @param relativePath
+         *            the path of the target relative to the output directory
+         */
+        void extracted(ZipEntry entry, String relativePath) {
+            if (entry.getCrc() == -1) {
+                return;
+            }
+            File target = new File(outputDirectory, relativePath);
+            JsonObject record = Json.createObject();
+            record.put(CRC, entry.getCrc());
+            record.put(SIZE, entry.getSize());
+            record.put(TARGET_SIZE, target.length());
+            record.put(TARGET_LAST_MODIFIED, target.lastModified());
+            json.getObject(ENTRIES).put(relativePath, record);
+        }
+    }
+}
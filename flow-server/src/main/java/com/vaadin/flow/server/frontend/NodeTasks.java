@@ -20,9 +20,23 @@ import java.io.File;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.frontend.installer.NodeInstaller;
@@ -36,6 +50,7 @@ import static com.vaadin.flow.server.frontend.FrontendUtils.IMPORTS_NAME;
 import static com.vaadin.flow.server.frontend.FrontendUtils.NODE_MODULES;
 import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_FRONTEND_DIR;
 import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_GENERATED_DIR;
+import static com.vaadin.flow.server.frontend.FrontendUtils.SCANNER_CACHE_NAME;
 
 /**
  * An executor that it's run when the servlet context is initialised in dev-mode
@@ -494,9 +509,61 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
-    private final Collection<FallibleCommand> commands = new ArrayList<>();
+    /**
+     * Resources shared by the commands. Commands which write a resource are
+     * not run concurrently with other commands which use the same resource,
+     * and keep their relative order. Other commands may run concurrently.
+     * Package private for testing purposes.
+     */
+    enum Resource {
+        PACKAGE_JSON, NODE_MODULES, FLOW_RESOURCES, GENERATED_IMPORTS,
+        BOOTSTRAP_FILES, TS_CONFIG, WEBPACK_CONFIG, OPEN_API, CONNECT_CLIENT,
+        /**
+         * The cached class finder, which is not thread safe.
+         */
+        CLASS_FINDER
+    }
+
+    /**
+     * A command together with the resources it uses and the earlier commands
+     * it has to wait for.
+     */
+    private static class CommandNode {
+        private final FallibleCommand command;
+        private final Set<Resource> reads;
+        private final Set<Resource> writes;
+        private final List<CommandNode> dependencies = new ArrayList<>();
+
+        private CommandNode(FallibleCommand command, Set<Resource> reads,
+                Set<Resource> writes) {
+            this.command = command;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        private boolean dependsOn(CommandNode earlier) {
+            return !Collections.disjoint(earlier.writes, reads)
+                    || !Collections.disjoint(earlier.writes, writes)
+                    || !Collections.disjoint(earlier.reads, writes);
+        }
+    }
+
+    private final List<CommandNode> commands = new ArrayList<>();
+    private final int parallelism;
+
+    /**
+     * Creates an empty instance which runs at most the given number of
+     * commands at a time. Package private for testing purposes.
+     *
+     * @param parallelism
+     *            the maximum number of concurrently running commands
+     */
+    NodeTasks(int parallelism) {
+        this.parallelism = parallelism;
+    }
 
     private NodeTasks(Builder builder) {
+        this(Runtime.getRuntime().availableProcessors());
 
         ClassFinder classFinder = new ClassFinder.CachedClassFinder(
                 builder.classFinder);
@@ -505,7 +572,9 @@ public class NodeTasks implements FallibleCommand {
         if (builder.enablePackagesUpdate || builder.enableImportsUpdate) {
             frontendDependencies = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!builder.useByteCodeScanner, classFinder,
-                            builder.generateEmbeddableWebComponents);
+                            builder.generateEmbeddableWebComponents,
+                            new File(builder.generatedFolder,
+                                    SCANNER_CACHE_NAME));
 
             if (builder.generateEmbeddableWebComponents) {
                 FrontendWebComponentGenerator generator = new FrontendWebComponentGenerator(
@@ -518,7 +587,8 @@ public class NodeTasks implements FallibleCommand {
             TaskGeneratePackageJson packageCreator = new TaskGeneratePackageJson(
                     builder.npmFolder, builder.generatedFolder,
                     builder.flowResourcesFolder);
-            commands.add(packageCreator);
+            addCommand(packageCreator, reads(),
+                    writes(Resource.PACKAGE_JSON, Resource.FLOW_RESOURCES));
         }
 
         if (!builder.useDeprecatedV14Bootstrapping) {
@@ -536,50 +606,64 @@ public class NodeTasks implements FallibleCommand {
                     classFinder, frontendDependencies, builder.npmFolder,
                     builder.generatedFolder, builder.flowResourcesFolder,
                     builder.cleanNpmFiles, builder.enablePnpm);
-            commands.add(packageUpdater);
+            addCommand(packageUpdater, reads(Resource.FLOW_RESOURCES),
+                    writes(Resource.PACKAGE_JSON, Resource.NODE_MODULES,
+                            Resource.CLASS_FINDER));
 
             if (builder.runNpmInstall) {
-                commands.add(new TaskRunNpmInstall(
+                addCommand(new TaskRunNpmInstall(
                         classFinder, packageUpdater,
                         builder.enablePnpm, builder.requireHomeNodeExec,
-                        builder.nodeVersion, builder.nodeDownloadRoot));
+                        builder.nodeVersion, builder.nodeDownloadRoot),
+                        reads(Resource.PACKAGE_JSON, Resource.FLOW_RESOURCES),
+                        writes(Resource.NODE_MODULES, Resource.CLASS_FINDER));
 
-                commands.add(new TaskInstallWebpackPlugins(
-                    new File(builder.npmFolder, NODE_MODULES)));
+                addCommand(new TaskInstallWebpackPlugins(
+                    new File(builder.npmFolder, NODE_MODULES)), reads(),
+                        writes(Resource.NODE_MODULES));
             }
         }
 
         if (builder.jarFiles != null) {
-            commands.add(new TaskCopyFrontendFiles(builder.flowResourcesFolder,
-                    builder.jarFiles));
+            addCommand(new TaskCopyFrontendFiles(builder.flowResourcesFolder,
+                    builder.jarFiles), reads(),
+                    writes(Resource.FLOW_RESOURCES));
 
             if (builder.localResourcesFolder != null) {
-                commands.add(new TaskCopyLocalFrontendFiles(
+                addCommand(new TaskCopyLocalFrontendFiles(
                         builder.flowResourcesFolder,
-                        builder.localResourcesFolder));
+                        builder.localResourcesFolder), reads(),
+                        writes(Resource.FLOW_RESOURCES));
             }
         }
 
         if (builder.webpackTemplate != null
                 && !builder.webpackTemplate.isEmpty()) {
-            commands.add(new TaskUpdateWebpack(builder.frontendDirectory,
+            addCommand(new TaskUpdateWebpack(builder.frontendDirectory,
                     builder.npmFolder, builder.webpackOutputDirectory,
                     builder.webpackTemplate, builder.webpackGeneratedTemplate,
                     new File(builder.generatedFolder, IMPORTS_NAME),
                     builder.useDeprecatedV14Bootstrapping,
-                    builder.flowResourcesFolder));
+                    builder.flowResourcesFolder), reads(),
+                    writes(Resource.WEBPACK_CONFIG));
         }
 
         if (builder.enableImportsUpdate) {
-            commands.add(
+            addCommand(
                     new TaskUpdateImports(classFinder, frontendDependencies,
                             finder -> getFallbackScanner(builder, finder),
                             builder.npmFolder, builder.generatedFolder,
                             builder.frontendDirectory, builder.tokenFile,
-                            builder.tokenFileData, builder.enablePnpm));
+                            builder.tokenFileData, builder.enablePnpm),
+                    reads(Resource.FLOW_RESOURCES, Resource.NODE_MODULES),
+                    writes(Resource.GENERATED_IMPORTS, Resource.CLASS_FINDER));
 
-            commands.add(new TaskUpdateThemeImport(builder.npmFolder,
-                frontendDependencies.getThemeDefinition()));
+            // The theme import is written into the flow-frontend package
+            // installed in node_modules
+            addCommand(new TaskUpdateThemeImport(builder.npmFolder,
+                frontendDependencies.getThemeDefinition()),
+                    reads(Resource.NODE_MODULES),
+                    writes(Resource.FLOW_RESOURCES));
         }
     }
 
@@ -588,20 +672,24 @@ public class NodeTasks implements FallibleCommand {
                 FrontendUtils.TARGET);
         TaskGenerateIndexHtml taskGenerateIndexHtml = new TaskGenerateIndexHtml(
                 builder.frontendDirectory, outputDirectory);
-        commands.add(taskGenerateIndexHtml);
+        addCommand(taskGenerateIndexHtml, reads(),
+                writes(Resource.BOOTSTRAP_FILES));
         TaskGenerateIndexTs taskGenerateIndexTs = new TaskGenerateIndexTs(
                 builder.frontendDirectory,
                 new File(builder.generatedFolder, IMPORTS_NAME),
                 outputDirectory);
-        commands.add(taskGenerateIndexTs);
+        addCommand(taskGenerateIndexTs, reads(),
+                writes(Resource.BOOTSTRAP_FILES));
 
         TaskGenerateTsConfig taskGenerateTsConfig = new TaskGenerateTsConfig(
                 builder.npmFolder);
-        commands.add(taskGenerateTsConfig);
+        addCommand(taskGenerateTsConfig, reads(),
+                writes(Resource.TS_CONFIG));
 
         TaskGenerateTsDefinitions taskGenerateTsDefinitions = new TaskGenerateTsDefinitions(
                 builder.npmFolder);
-        commands.add(taskGenerateTsDefinitions);
+        addCommand(taskGenerateTsDefinitions, reads(),
+                writes(Resource.TS_CONFIG));
     }
 
     private void addConnectServicesTasks(Builder builder) {
@@ -610,7 +698,8 @@ public class NodeTasks implements FallibleCommand {
                 builder.connectJavaSourceFolder,
                 builder.classFinder.getClassLoader(),
                 builder.connectGeneratedOpenApiFile);
-        commands.add(taskGenerateOpenApi);
+        addCommand(taskGenerateOpenApi, reads(),
+                writes(Resource.OPEN_API));
 
         if (builder.connectClientTsApiFolder != null) {
             TaskGenerateConnect taskGenerateConnectTs = new TaskGenerateConnect(
@@ -618,7 +707,8 @@ public class NodeTasks implements FallibleCommand {
                     builder.connectGeneratedOpenApiFile,
                     builder.connectClientTsApiFolder,
                     builder.frontendDirectory);
-            commands.add(taskGenerateConnectTs);
+            addCommand(taskGenerateConnectTs, reads(Resource.OPEN_API),
+                    writes(Resource.CONNECT_CLIENT));
         }
     }
 
@@ -633,10 +723,127 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
+    /**
+     * Adds a command which is run after the earlier commands that use the
+     * same resources. Package private for testing purposes.
+     *
+     * @param command
+     *            the command to add
+     * @param reads
+     *            the resources the command reads
+     * @param writes
+     *            the resources the command writes
+     */
+    void addCommand(FallibleCommand command, Set<Resource> reads,
+            Set<Resource> writes) {
+        CommandNode node = new CommandNode(command, reads, writes);
+        for (CommandNode earlier : commands) {
+            if (node.dependsOn(earlier)) {
+                node.dependencies.add(earlier);
+            }
+        }
+        commands.add(node);
+    }
+
+    static Set<Resource> reads(Resource... resources) {
+        return toSet(resources);
+    }
+
+    static Set<Resource> writes(Resource... resources) {
+        return toSet(resources);
+    }
+
+    private static Set<Resource> toSet(Resource... resources) {
+        Set<Resource> set = EnumSet.noneOf(Resource.class);
+        Collections.addAll(set, resources);
+        return set;
+    }
+
+    /**
+     * Runs the commands. Commands which do not depend on each other through
+     * the files they read and write are run concurrently.
+     * <p>
+     * If a command fails, the commands depending on it are not run and the
+     * failure is thrown once the independent commands have completed.
+     */
     @Override
     public void execute() throws ExecutionFailedException {
-        for (FallibleCommand command : commands) {
-            command.execute();
+        int threads = Math.min(commands.size(), parallelism);
+        if (threads <= 1) {
+            for (CommandNode node : commands) {
+                runCommand(node.command);
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new CommandThreadFactory());
+        Map<CommandNode, CompletableFuture<Void>> futures = new HashMap<>();
+        try {
+            // dependencies are always added before the commands using them
+            for (CommandNode node : commands) {
+                CompletableFuture<?>[] dependencies = node.dependencies
+                        .stream().map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(node, CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> {
+                            try {
+                                runCommand(node.command);
+                            } catch (ExecutionFailedException e) {
+                                throw new CompletionException(e);
+                            }
+                        }, executor));
+            }
+            CompletableFuture.allOf(futures.values()
+                    .toArray(new CompletableFuture[futures.size()]))
+                    .exceptionally(ignore -> null).join();
+
+            for (CommandNode node : commands) {
+                try {
+                    futures.get(node).join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof ExecutionFailedException) {
+                        throw (ExecutionFailedException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new ExecutionFailedException(cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runCommand(FallibleCommand command)
+            throws ExecutionFailedException {
+        long start = System.nanoTime();
+        command.execute();
+        getLogger().debug("{} took {} ms", command.getClass().getSimpleName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(NodeTasks.class);
+    }
+
+    /**
+     * Creates daemon threads which use the context class loader of the thread
+     * creating the factory, like the commands did when run sequentially.
+     */
+    private static class CommandThreadFactory implements ThreadFactory {
+        private final ClassLoader contextClassLoader = Thread.currentThread()
+                .getContextClassLoader();
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                    "node-tasks-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
         }
     }
 
@@ -16,10 +16,23 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +49,21 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
     private static final String[] WILDCARD_INCLUSIONS = new String[] {
             "**/*.js", "**/*.css", "**/*.ts" };
 
+    /**
+     * The folders to copy from each location, a file in a later folder
+     * replaces the file with the same path in an earlier folder.
+     */
+    private static final List<String> RESOURCE_FOLDERS = Arrays.asList(
+            RESOURCES_FRONTEND_DEFAULT,
+            COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT);
+
+    /**
+     * Suffix of the file next to the target directory recording what has been
+     * extracted from each jar, used to skip unchanged jars and entries on the
+     * next run.
+     */
+    static final String EXTRACTION_MANIFEST_SUFFIX = "-jar-extraction.json";
+
     private File targetDirectory;
     private Set<File> resourceLocations = null;
 
@@ -54,7 +82,7 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
                 "Parameter 'jarFilesToScan' must not be null");
         this.targetDirectory = targetDirectory;
         resourceLocations = resourcesToScan.stream().filter(File::exists)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     @Override
@@ -63,29 +91,111 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
         log().info("Copying frontend resources from jar files ...");
         TaskCopyLocalFrontendFiles.createTargetFolder(targetDirectory);
         JarContentsManager jarContentsManager = new JarContentsManager();
-        for (File location : resourceLocations) {
-            if (location.isDirectory()) {
-                TaskCopyLocalFrontendFiles.copyLocalResources(
-                        new File(location, RESOURCES_FRONTEND_DEFAULT),
-                        targetDirectory);
-                TaskCopyLocalFrontendFiles.copyLocalResources(
-                        new File(location,
-                                COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT),
-                        targetDirectory);
-            } else {
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_FRONTEND_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
-                        targetDirectory, WILDCARD_INCLUSIONS);
+        JarExtractionManifest manifest = JarExtractionManifest
+                .read(getExtractionManifestFile());
+        List<File> locations = new ArrayList<>(resourceLocations);
+
+        // Each file is copied only from the last location providing it, like
+        // when the locations were copied one after another, so that the
+        // locations can be copied in parallel without writing the same files
+        List<Set<String>> provided = locations.parallelStream()
+                .map(location -> findFiles(location, manifest,
+                        jarContentsManager))
+                .collect(Collectors.toList());
+        Map<String, Integer> providers = new HashMap<>();
+        for (int i = 0; i < locations.size(); i++) {
+            for (String path : provided.get(i)) {
+                providers.put(path, i);
             }
         }
+        List<Set<String>> copied = new ArrayList<>();
+        locations.forEach(location -> copied.add(new HashSet<>()));
+        providers.forEach((path, i) -> copied.get(i).add(path));
+
+        IntStream.range(0, locations.size()).parallel()
+                .forEach(i -> copyFiles(locations.get(i), copied.get(i),
+                        manifest, jarContentsManager));
+        try {
+            manifest.write();
+        } catch (IOException e) {
+            log().warn("Failed to write the jar extraction manifest", e);
+        }
         long ms = (System.nanoTime() - start) / 1000000;
         log().info("Visited {} resources. Took {} ms.",
                 resourceLocations.size(), ms);
     }
 
+    /**
+     * Finds the paths of the files the given location provides, relative to
+     * the target directory. The files of an unchanged jar are taken from the
+     * extraction manifest without opening the jar.
+     */
+    private static Set<String> findFiles(File location,
+            JarExtractionManifest manifest,
+            JarContentsManager jarContentsManager) {
+        if (location.isDirectory()) {
+            return findLocalFiles(location).keySet();
+        }
+        Set<String> recorded = manifest.getRecordedPaths(location);
+        if (recorded != null) {
+            return recorded;
+        }
+        return jarContentsManager.findIncludedFilesTrimmingBasePaths(location,
+                RESOURCE_FOLDERS, WILDCARD_INCLUSIONS).keySet();
+    }
+
+    private void copyFiles(File location, Set<String> paths,
+            JarExtractionManifest manifest,
+            JarContentsManager jarContentsManager) {
+        if (location.isDirectory()) {
+            Map<String, File> files = findLocalFiles(location);
+            for (String path : paths) {
+                try {
+                    FileUtils.copyFile(files.get(path),
+                            new File(targetDirectory, path));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(String.format(
+                            "Failed to copy project frontend resource '%s' to '%s'",
+                            files.get(path), targetDirectory), e);
+                }
+            }
+        } else if (!manifest.isUnchanged(location, targetDirectory, paths)) {
+            Map<String, String> files = jarContentsManager
+                    .findIncludedFilesTrimmingBasePaths(location,
+                            RESOURCE_FOLDERS, WILDCARD_INCLUSIONS);
+            JarExtractionManifest.JarRecord record = manifest
+                    .startExtraction(location, targetDirectory,
+                            files.keySet());
+            files.keySet().retainAll(paths);
+            jarContentsManager.copyFilesFromJar(location, files,
+                    targetDirectory, record);
+        }
+    }
+
+    /**
+     * Finds the files in the frontend resource folders of a directory, keyed
+     * by their paths relative to the folder they are in. A file in the
+     * obsolete folder replaces a file with the same path in the modern folder.
+     */
+    private static Map<String, File> findLocalFiles(File location) {
+        Map<String, File> files = new LinkedHashMap<>();
+        for (String folder : RESOURCE_FOLDERS) {
+            File source = new File(location, folder);
+            if (source.isDirectory()) {
+                for (File file : FileUtils.listFiles(source, null, true)) {
+                    files.put(FilenameUtils.separatorsToUnix(source.toPath()
+                            .relativize(file.toPath()).toString()), file);
+                }
+            }
+        }
+        return files;
+    }
+
+    File getExtractionManifestFile() {
+        return new File(targetDirectory.getAbsoluteFile().getParentFile(),
+                targetDirectory.getName() + EXTRACTION_MANIFEST_SUFFIX);
+    }
+
     private Logger log() {
         return LoggerFactory.getLogger(this.getClass());
     }
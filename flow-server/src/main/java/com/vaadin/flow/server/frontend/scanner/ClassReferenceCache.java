@@ -0,0 +1,298 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.bytebuddy.jar.asm.ClassReader;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Caches the classes referenced by the byte code of each class visited by
+ * {@link FrontendDependencies}.
+ * <p>
+ * Parsing the method bodies of a class is the expensive part of a visit, but
+ * the classes referenced from them do not depend on the end-point being
+ * visited. They are therefore resolved up front for the whole class graph
+ * using a fork-join pool, and optionally stored in a file so that classes in
+ * unchanged jars and directories are not parsed again on the next run. A
+ * cached entry is valid as long as the size and modification time of the jar
+ * or class file it was read from are unchanged.
+ *
+ * @since
+ */
+final class ClassReferenceCache {
+
+    private static final String STAMP = "stamp";
+    private static final String REFERENCES = "references";
+
+    private final ClassFinder finder;
+    private final File cacheFile;
+
+    private final Map<String, Set<String>> referencesByClass = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry> storedEntries;
+    private final Map<String, CacheEntry> currentEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+
+    private static class CacheEntry {
+        private final String stamp;
+        private final Set<String> references;
+
+        private CacheEntry(String stamp, Set<String> references) {
+            this.stamp = stamp;
+            this.references = references;
+        }
+    }
+
+    private class PrefetchTask extends RecursiveAction {
+        private final String className;
+        private final Set<String> seen;
+
+        private PrefetchTask(String className, Set<String> seen) {
+            this.className = className;
+            this.seen = seen;
+        }
+
+        @Override
+        protected void compute() {
+            Set<String> references;
+            try {
+                references = getReferencedClasses(className);
+            } catch (IOException | RuntimeException e) {
+                // The sequential visit reports the problem if it matters
+                log().debug("Unable to read class {}", className, e);
+                return;
+            }
+            List<PrefetchTask> tasks = new ArrayList<>();
+            for (String reference : references) {
+                if (FrontendDependencies.isVisitable(reference)
+                        && seen.add(reference)) {
+                    tasks.add(new PrefetchTask(reference, seen));
+                }
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param finder
+     *            the class finder to read classes with
+     * @param cacheFile
+     *            the file to store the cache in between runs, or
+     *            <code>null</code> to only cache in memory
+     */
+    ClassReferenceCache(ClassFinder finder, File cacheFile) {
+        this.finder = finder;
+        this.cacheFile = cacheFile;
+        storedEntries = readCacheFile(cacheFile);
+    }
+
+    /**
+     * Resolves the referenced classes of the given classes and all classes
+     * reachable from them in parallel.
+     *
+     * @param classNames
+     *            the names of the classes to start from
+     */
+    void prefetch(Collection<String> classNames) {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        List<PrefetchTask> tasks = new ArrayList<>();
+        for (String className : classNames) {
+            if (FrontendDependencies.isVisitable(className)
+                    && seen.add(className)) {
+                tasks.add(new PrefetchTask(className, seen));
+            }
+        }
+        // Runs in the common fork-join pool
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * Gets the classes referenced anywhere in the byte code of the given
+     * class, including its method bodies.
+     *
+     * @param className
+     *            the name of the class
+     * @return the names of the referenced classes, empty if the class is not
+     *         found
+     * @throws IOException
+     *             if the class cannot be read
+     */
+    Set<String> getReferencedClasses(String className) throws IOException {
+        Set<String> references = referencesByClass.get(className);
+        if (references != null) {
+            return references;
+        }
+
+        URL url = finder
+                .getResource(className.replace(".", "/") + ".class");
+        if (url == null) {
+            references = Collections.emptySet();
+        } else {
+            String key = url.toExternalForm();
+            String stamp = getStamp(url);
+            CacheEntry stored = storedEntries.get(key);
+            if (stamp != null && stored != null
+                    && stamp.equals(stored.stamp)) {
+                references = stored.references;
+                cacheHits.incrementAndGet();
+            } else {
+                references = readReferencedClasses(className, url);
+            }
+            if (stamp != null) {
+                currentEntries.put(key, new CacheEntry(stamp, references));
+            }
+        }
+        referencesByClass.put(className, references);
+        return references;
+    }
+
+    /**
+     * Gets the number of classes whose references were found in the cache file
+     * instead of parsing the class.
+     *
+     * @return the number of cache hits
+     */
+    int getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Writes the entries used during this run to the cache file, if any.
+     */
+    void store() {
+        if (cacheFile == null) {
+            return;
+        }
+        JsonObject json = Json.createObject();
+        currentEntries.forEach((key, entry) -> {
+            JsonObject jsonEntry = Json.createObject();
+            jsonEntry.put(STAMP, entry.stamp);
+            JsonArray references = Json.createArray();
+            for (String reference : entry.references) {
+                references.set(references.length(), reference);
+            }
+            jsonEntry.put(REFERENCES, references);
+            json.put(key, jsonEntry);
+        });
+        try {
+            FileUtils.forceMkdirParent(cacheFile);
+            FileUtils.writeStringToFile(cacheFile, json.toJson(), UTF_8);
+        } catch (IOException e) {
+            log().warn("Unable to write the class scanning cache to {}",
+                    cacheFile, e);
+        }
+    }
+
+    private static Set<String> readReferencedClasses(String className,
+            URL url) throws IOException {
+        // Collect references as seen from an unrelated end-point so that the
+        // result does not depend on the end-point being visited
+        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
+                new EndPointData(Object.class), false);
+        try (InputStream is = url.openStream()) {
+            ClassReader cr = new ClassReader(is);
+            cr.accept(visitor, ClassReader.SKIP_FRAMES);
+        }
+        return Collections.unmodifiableSet(new HashSet<>(visitor.getChildren()));
+    }
+
+    private static String getStamp(URL url) {
+        File file;
+        try {
+            if ("file".equals(url.getProtocol())) {
+                file = new File(url.toURI());
+            } else if ("jar".equals(url.getProtocol())) {
+                String path = url.getPath();
+                int separator = path.indexOf("!/");
+                if (separator < 0) {
+                    return null;
+                }
+                URL jarUrl = new URL(path.substring(0, separator));
+                if (!"file".equals(jarUrl.getProtocol())) {
+                    return null;
+                }
+                file = new File(jarUrl.toURI());
+            } else {
+                return null;
+            }
+        } catch (IOException | URISyntaxException
+                | IllegalArgumentException e) {
+            return null;
+        }
+        if (!file.isFile()) {
+            return null;
+        }
+        return file.length() + ":" + file.lastModified();
+    }
+
+    private static Map<String, CacheEntry> readCacheFile(File cacheFile) {
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return Collections.emptyMap();
+        }
+        Map<String, CacheEntry> entries = new HashMap<>();
+        try {
+            JsonObject json = Json
+                    .parse(FileUtils.readFileToString(cacheFile, UTF_8));
+            for (String key : json.keys()) {
+                JsonObject jsonEntry = json.getObject(key);
+                JsonArray jsonReferences = jsonEntry.getArray(REFERENCES);
+                Set<String> references = new HashSet<>();
+                for (int i = 0; i < jsonReferences.length(); i++) {
+                    references.add(jsonReferences.getString(i));
+                }
+                entries.put(key,
+                        new CacheEntry(jsonEntry.getString(STAMP),
+                                Collections.unmodifiableSet(references)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log().debug("Ignoring unreadable class scanning cache {}",
+                    cacheFile, e);
+            return Collections.emptyMap();
+        }
+        return entries;
+    }
+
+    private static Logger log() {
+        return LoggerFactory.getLogger(ClassReferenceCache.class);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
@@ -64,6 +65,7 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     private AbstractTheme themeInstance;
     private final HashMap<String, String> packages = new HashMap<>();
     private final Set<String> visited = new HashSet<>();
+    private final ClassReferenceCache referenceCache;
 
     /**
      * Default Constructor.
@@ -89,7 +91,28 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
      */
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents) {
+        this(finder, generateEmbeddableWebComponents, null);
+    }
+
+    /**
+     * Creates a new instance which stores the classes referenced by the
+     * byte code of each visited class in the given file, so that unchanged
+     * classes and jars do not need to be parsed again on the next run.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies
+     * @param cacheFile
+     *            the file to cache scanning results in between runs, or
+     *            {@code null} to not cache results between runs
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, File cacheFile) {
         super(finder);
+        referenceCache = new ClassReferenceCache(finder, cacheFile);
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
         long start = System.nanoTime();
@@ -101,8 +124,11 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             }
             computeApplicationTheme();
             computePackages();
+            referenceCache.store();
             long ms = (System.nanoTime() - start) / 1000000;
             log().info("Visited {} classes. Took {} ms.", visited.size(), ms);
+            log().debug("Reused cached references for {} classes",
+                    referenceCache.getCacheHits());
         } catch (ClassNotFoundException | InstantiationException
                 | IllegalAccessException | IOException e) {
             throw new IllegalStateException(
@@ -223,28 +249,24 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         // references loaded by the specific class finder loader
         Class<? extends Annotation> routeClass = getFinder()
                 .loadClass(Route.class.getName());
-        for (Class<?> route : getFinder().getAnnotatedClasses(routeClass)) {
-            collectEndpoints(route);
-        }
-
-        for (Class<?> initListener : getFinder().getSubTypesOf(
-                getFinder().loadClass(UIInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
-
-        for (Class<?> initListener : getFinder().getSubTypesOf(getFinder()
-                .loadClass(VaadinServiceInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
-
-        for (Class<?> appShell : getFinder().getSubTypesOf(
-                getFinder().loadClass(AppShellConfigurator.class.getName()))) {
-            collectEndpoints(appShell);
-        }
-
-        for (Class<?> errorParameters : getFinder().getSubTypesOf(
-                getFinder().loadClass(HasErrorParameter.class.getName()))) {
-            collectEndpoints(errorParameters);
+        List<Class<?>> entries = new ArrayList<>(
+                getFinder().getAnnotatedClasses(routeClass));
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(UIInitListener.class.getName())));
+        entries.addAll(getFinder().getSubTypesOf(getFinder()
+                .loadClass(VaadinServiceInitListener.class.getName())));
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(AppShellConfigurator.class.getName())));
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(HasErrorParameter.class.getName())));
+
+        // Parse the whole class graph in parallel before the visits, which
+        // need to be sequential to keep the order of the modules
+        referenceCache.prefetch(entries.stream().map(Class::getName)
+                .collect(Collectors.toList()));
+
+        for (Class<?> entry : entries) {
+            collectEndpoints(entry);
         }
     }
 
@@ -435,6 +457,9 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             return;
         }
 
+        referenceCache.prefetch(exporterClasses.stream().map(Class::getName)
+                .collect(Collectors.toList()));
+
         HashMap<String, EndPointData> exportedPoints = new HashMap<>();
 
         for (Class<?> exporter : exporterClasses) {
@@ -489,13 +514,17 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
                 endPoint, themeScope);
         try (InputStream is = url.openStream()) {
             ClassReader cr = new ClassReader(is);
-            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+            // Method bodies only contribute referenced classes, which are
+            // resolved by the reference cache
+            cr.accept(visitor, ClassReader.SKIP_CODE);
         }
+        Set<String> children = visitor.getChildren();
+        children.addAll(referenceCache.getReferencedClasses(className));
 
         // all classes visited by the scanner, used for performance (#5933)
         visited.add(className);
 
-        for (String clazz : visitor.getChildren()) {
+        for (String clazz : children) {
             // Since we only have an entry point for the app, it is all right to
             // skip the visit to the the same class in other end-points, because
             // we output all dependencies at once. When we implement
@@ -508,7 +537,7 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         return endPoint;
     }
 
-    private boolean isVisitable(String className) {
+    static boolean isVisitable(String className) {
         // We should visit only those classes that might have NpmPackage,
         // JsImport, JavaScript and HtmlImport annotations, basically
         // HasElement, and AbstractTheme classes, but that prevents the usage of
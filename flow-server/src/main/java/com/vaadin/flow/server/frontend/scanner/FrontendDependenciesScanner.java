@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -57,13 +58,38 @@ public interface FrontendDependenciesScanner extends Serializable {
         public FrontendDependenciesScanner createScanner(
                 boolean allDependenciesScan, ClassFinder finder,
                 boolean generateEmbeddableWebComponents) {
+            return createScanner(allDependenciesScan, finder,
+                    generateEmbeddableWebComponents, null);
+        }
+
+        /**
+         * Produces scanner implementation based on {@code allDependenciesScan}
+         * value, caching byte code scanning results in the given file.
+         *
+         * @param allDependenciesScan
+         *            if {@code true} then full classpath scanning strategy is
+         *            used, otherwise byte scanning strategy is produced
+         * @param finder
+         *            a class finder
+         * @param generateEmbeddableWebComponents
+         *            checks {@code WebComponentExporter} classes for
+         *            dependencies if {@code true}, doesn't check otherwise
+         * @param cacheFile
+         *            the file to cache byte code scanning results in between
+         *            runs, or {@code null} to not cache results; not used by
+         *            the full classpath scanner
+         * @return a scanner implementation strategy
+         */
+        public FrontendDependenciesScanner createScanner(
+                boolean allDependenciesScan, ClassFinder finder,
+                boolean generateEmbeddableWebComponents, File cacheFile) {
             if (allDependenciesScan) {
                 // this dep scanner can't distinguish embeddable web component
                 // frontend related annotations
                 return new FullDependenciesScanner(finder);
             } else {
                 return new FrontendDependencies(finder,
-                        generateEmbeddableWebComponents);
+                        generateEmbeddableWebComponents, cacheFile);
             }
         }
     }
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.dom.impl.BasicElementStateProvider;
+import com.vaadin.flow.dom.impl.BasicTextElementStateProvider;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
+import com.vaadin.flow.server.Attributes;
+import com.vaadin.flow.server.StreamResourceRegistry;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Default {@link SessionSerializer} producing a more compact format than plain
+ * Java serialization.
+ * <p>
+ * Class descriptors of the framework classes that make up the bulk of a
+ * session (state nodes, node features, elements, collections) are replaced by
+ * an index into a dictionary that is known to both the writing and the reading
+ * side, so that they are not written to every replicated session. The stream
+ * can optionally be compressed using a fast deflate level.
+ * <p>
+ * Since dictionary entries are resolved against the local classes, all nodes
+ * in a cluster must run the same version of the application, which is a
+ * requirement for session replication in any case.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class CompactSessionSerializer implements SessionSerializer {
+
+    private static final int MAGIC = 0x56; // 'V'
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+
+    private static final int DICTIONARY_ENTRY = 0;
+    private static final int INLINE_ENTRY = 1;
+
+    private static final List<Class<?>> DICTIONARY = createDictionary();
+
+    private static final Map<String, Integer> DICTIONARY_INDEXES = createDictionaryIndexes();
+
+    private final boolean compress;
+
+    /**
+     * Creates a new serializer.
+     *
+     * @param compress
+     *            <code>true</code> to compress the serialized data,
+     *            <code>false</code> to write it as is
+     */
+    public CompactSessionSerializer(boolean compress) {
+        this.compress = compress;
+    }
+
+    /**
+     * Gets whether the serialized data is compressed.
+     *
+     * @return <code>true</code> if the data is compressed, <code>false</code>
+     *         otherwise
+     */
+    public boolean isCompressed() {
+        return compress;
+    }
+
+    @Override
+    public void write(Serializable object, OutputStream outputStream,
+            UnaryOperator<Object> replacer) throws IOException {
+        outputStream.write(MAGIC);
+        outputStream.write(VERSION);
+        outputStream.write(compress ? FLAG_COMPRESSED : 0);
+
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream deflaterStream = new DeflaterOutputStream(
+                        new NonClosingOutputStream(outputStream), deflater);
+                // Closing the object stream finishes the deflater stream
+                writeObject(object, deflaterStream, replacer);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            writeObject(object, new NonClosingOutputStream(outputStream),
+                    replacer);
+        }
+    }
+
+    private static void writeObject(Serializable object,
+            OutputStream outputStream, UnaryOperator<Object> replacer)
+            throws IOException {
+        try (DictionaryObjectOutputStream stream = new DictionaryObjectOutputStream(
+                outputStream, replacer)) {
+            stream.writeObject(object);
+        }
+    }
+
+    @Override
+    public Object read(InputStream inputStream, ClassLoader classLoader,
+            UnaryOperator<Object> resolver)
+            throws IOException, ClassNotFoundException {
+        if (inputStream.read() != MAGIC) {
+            throw new StreamCorruptedException(
+                    "The stream has not been written by "
+                            + CompactSessionSerializer.class.getSimpleName());
+        }
+        int version = inputStream.read();
+        if (version != VERSION) {
+            throw new StreamCorruptedException(
+                    "Unsupported serialization format version " + version);
+        }
+        int flags = inputStream.read();
+        if (flags < 0) {
+            throw new StreamCorruptedException("Unexpected end of stream");
+        }
+
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            Inflater inflater = new Inflater();
+            try {
+                return readObject(
+                        new InflaterInputStream(inputStream, inflater),
+                        classLoader, resolver);
+            } finally {
+                inflater.end();
+            }
+        }
+        return readObject(inputStream, classLoader, resolver);
+    }
+
+    private static Object readObject(InputStream inputStream,
+            ClassLoader classLoader, UnaryOperator<Object> resolver)
+            throws IOException, ClassNotFoundException {
+        DictionaryObjectInputStream stream = new DictionaryObjectInputStream(
+                inputStream, classLoader, resolver);
+        return stream.readObject();
+    }
+
+    private static List<Class<?>> createDictionary() {
+        Set<Class<?>> classes = new HashSet<>();
+        List<Class<?>> roots = new ArrayList<>(Arrays.asList(
+                // Collections and boxed values used in the state tree
+                ArrayList.class, LinkedList.class, HashMap.class,
+                LinkedHashMap.class, TreeMap.class, HashSet.class,
+                LinkedHashSet.class, Integer.class, Long.class, Double.class,
+                Boolean.class, Locale.class, Enum.class,
+                // Framework classes present in every session
+                VaadinSession.class, Attributes.class,
+                StreamResourceRegistry.class, UI.class, UIInternals.class,
+                StateTree.class, StateNode.class, Element.class,
+                BasicElementStateProvider.class,
+                BasicTextElementStateProvider.class));
+        roots.addAll(NodeFeatureRegistry.getFeatures());
+
+        for (Class<?> root : roots) {
+            for (Class<?> type = root; type != null; type = type
+                    .getSuperclass()) {
+                if (ObjectStreamClass.lookup(type) != null) {
+                    classes.add(type);
+                }
+            }
+        }
+
+        List<Class<?>> dictionary = new ArrayList<>(classes);
+        // Sort to get the same indexes on every node
+        dictionary.sort(Comparator.comparing(Class::getName));
+        return dictionary;
+    }
+
+    private static Map<String, Integer> createDictionaryIndexes() {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < DICTIONARY.size(); i++) {
+            indexes.put(DICTIONARY.get(i).getName(), i);
+        }
+        return indexes;
+    }
+
+    private static class DictionaryObjectOutputStream
+            extends ObjectOutputStream {
+
+        private final UnaryOperator<Object> replacer;
+
+        private DictionaryObjectOutputStream(OutputStream outputStream,
+                UnaryOperator<Object> replacer) throws IOException {
+            super(outputStream);
+            this.replacer = replacer;
+            if (replacer != null) {
+                enableReplaceObject(true);
+            }
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc)
+                throws IOException {
+            Integer index = DICTIONARY_INDEXES.get(desc.getName());
+            if (index != null && desc.forClass() == DICTIONARY
+                    .get(index.intValue())) {
+                writeByte(DICTIONARY_ENTRY);
+                writeShort(index.intValue());
+            } else {
+                writeByte(INLINE_ENTRY);
+                super.writeClassDescriptor(desc);
+            }
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            return replacer.apply(obj);
+        }
+    }
+
+    private static class DictionaryObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+        private final UnaryOperator<Object> resolver;
+
+        private DictionaryObjectInputStream(InputStream inputStream,
+                ClassLoader classLoader, UnaryOperator<Object> resolver)
+                throws IOException {
+            super(inputStream);
+            this.classLoader = classLoader;
+            this.resolver = resolver;
+            if (resolver != null) {
+                enableResolveObject(true);
+            }
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) throws IOException {
+            return resolver.apply(obj);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor()
+                throws IOException, ClassNotFoundException {
+            int type = readByte();
+            if (type == DICTIONARY_ENTRY) {
+                int index = readUnsignedShort();
+                if (index >= DICTIONARY.size()) {
+                    throw new StreamCorruptedException(
+                            "Unknown class dictionary index " + index);
+                }
+                return ObjectStreamClass.lookup(DICTIONARY.get(index));
+            } else if (type == INLINE_ENTRY) {
+                return super.readClassDescriptor();
+            }
+            throw new StreamCorruptedException(
+                    "Unknown class descriptor type " + type);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc)
+                throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                // Primitive types and arrays of those
+                return super.resolveClass(desc);
+            }
+        }
+    }
+
+    /**
+     * Prevents the object stream from closing the stream owned by the caller.
+     */
+    private static class NonClosingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Stores the {@link SessionSnapshot snapshots} of a single session in memory
+ * by applying each delta on top of the previously stored data.
+ * <p>
+ * Serves as a reference for session replication integrations and for
+ * verifying replication without a real cluster.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class InMemorySessionSnapshotStore implements Serializable {
+
+    private long lastSequenceNumber = -1;
+    private byte[] sessionData;
+    private final Map<Integer, byte[]> uiData = new HashMap<>();
+
+    /**
+     * Stores the given snapshot. A full snapshot replaces all stored data
+     * while a delta is applied on top of it.
+     *
+     * @param snapshot
+     *            the snapshot to store, not <code>null</code>
+     * @throws IllegalStateException
+     *             if the snapshot is a delta that does not directly follow the
+     *             previously stored snapshot
+     */
+    public synchronized void store(SessionSnapshot snapshot) {
+        if (snapshot.isFull()) {
+            uiData.clear();
+        } else if (snapshot.getSequenceNumber() != lastSequenceNumber + 1) {
+            throw new IllegalStateException("Expected snapshot "
+                    + (lastSequenceNumber + 1) + " but got "
+                    + snapshot.getSequenceNumber());
+        }
+
+        if (snapshot.getSessionData() != null) {
+            sessionData = snapshot.getSessionData();
+        }
+        uiData.putAll(snapshot.getUIData());
+        snapshot.getRemovedUIs().forEach(uiData::remove);
+        lastSequenceNumber = snapshot.getSequenceNumber();
+    }
+
+    /**
+     * Restores the session from the stored data.
+     *
+     * @param serializer
+     *            the serializer the snapshots have been written with, not
+     *            <code>null</code>
+     * @param classLoader
+     *            the class loader to resolve classes with, not
+     *            <code>null</code>
+     * @return the restored session
+     * @throws IllegalStateException
+     *             if no full snapshot has been stored
+     * @throws IOException
+     *             if reading fails
+     * @throws ClassNotFoundException
+     *             if a class in the stream cannot be found
+     */
+    public synchronized VaadinSession restore(SessionSerializer serializer,
+            ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        if (sessionData == null) {
+            throw new IllegalStateException("No snapshot has been stored");
+        }
+        return SessionReplicationTracker.restore(serializer, sessionData,
+                uiData, classLoader);
+    }
+
+    /**
+     * Gets the total size of the stored data.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getStoredSize() {
+        long size = sessionData == null ? 0 : sessionData.length;
+        for (byte[] data : uiData.values()) {
+            size += data.length;
+        }
+        return size;
+    }
+}
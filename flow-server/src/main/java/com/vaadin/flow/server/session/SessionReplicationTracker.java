@@ -0,0 +1,434 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.io.output.NullOutputStream;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Tracks the changes of a {@link VaadinSession} and produces incremental
+ * {@link SessionSnapshot snapshots} of it for session replication.
+ * <p>
+ * The session is split into a session part and one part for each UI. A UI
+ * part is included in a delta snapshot only if the UI is new, if some node in
+ * its state tree has been marked as dirty (see
+ * {@link StateTree#collectReplicationDirtyNodeIds()}) or if it has been
+ * explicitly marked as changed using {@link #markAsChanged(UI)}.
+ * <p>
+ * The session part is included if UIs have been added or removed, if an
+ * attribute has been set (see
+ * {@link VaadinSession#getAttributeModificationCount()}) or if it has been
+ * explicitly marked as changed using {@link #markSessionAsChanged()}.
+ * Attribute values can also be mutated in place without any notification.
+ * Such changes are looked for only when some UI part is included, i.e. when
+ * the user has interacted with the application, by comparing the serialized
+ * form of the session part with the previously replicated one. The request
+ * timings of the session are not taken into account in the comparison, since
+ * they change on every request. Their replicated values are updated whenever
+ * the session part is included. A delta without any changed UI therefore
+ * costs nothing regardless of the size of the session, and in-place changes
+ * made outside of any UI interaction, e.g. by a background thread, must be
+ * reported using {@link #markSessionAsChanged()}.
+ * <p>
+ * References between the parts are written as placeholders which are resolved
+ * when the session is restored using
+ * {@link #restore(SessionSerializer, byte[], Map, ClassLoader)}.
+ * <p>
+ * Snapshots must be created while holding the session lock.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see InMemorySessionSnapshotStore
+ */
+public class SessionReplicationTracker implements Serializable {
+
+    private final VaadinSession session;
+    private final SessionSerializer serializer;
+
+    private long nextSequenceNumber;
+    private byte[] sessionDigest;
+    private int attributeModificationCount;
+    private boolean sessionChanged;
+    private final Set<Integer> replicatedUIs = new HashSet<>();
+    private final Set<Integer> changedUIs = new HashSet<>();
+
+    /**
+     * Creates a new tracker for the given session.
+     *
+     * @param session
+     *            the session to track, not <code>null</code>
+     * @param serializer
+     *            the serializer to write the session with, not
+     *            <code>null</code>
+     */
+    public SessionReplicationTracker(VaadinSession session,
+            SessionSerializer serializer) {
+        this.session = Objects.requireNonNull(session);
+        this.serializer = Objects.requireNonNull(serializer);
+    }
+
+    /**
+     * Marks the given UI as changed so that it is included in the next delta
+     * snapshot even if its state tree has not changed, e.g. because a field of
+     * some component has been modified.
+     *
+     * @param ui
+     *            the changed UI, not <code>null</code>
+     */
+    public void markAsChanged(UI ui) {
+        assert session.hasLock();
+        changedUIs.add(Integer.valueOf(ui.getUIId()));
+    }
+
+    /**
+     * Marks the session part as changed so that it is included in the next
+     * delta snapshot, e.g. because an attribute value has been modified in
+     * place while no UI has changed.
+     */
+    public void markSessionAsChanged() {
+        assert session.hasLock();
+        sessionChanged = true;
+    }
+
+    /**
+     * Creates a snapshot containing all parts of the session.
+     *
+     * @return a full snapshot
+     * @throws UncheckedIOException
+     *             if some part of the session cannot be serialized
+     */
+    public SessionSnapshot createFullSnapshot() {
+        return createSnapshot(true);
+    }
+
+    /**
+     * Creates a snapshot containing the parts of the session that have changed
+     * since the previous snapshot. The first snapshot created by a tracker is
+     * always a full snapshot.
+     *
+     * @return a delta snapshot, or a full snapshot if no snapshot has been
+     *         created before
+     * @throws UncheckedIOException
+     *             if some part of the session cannot be serialized
+     */
+    public SessionSnapshot createDeltaSnapshot() {
+        return createSnapshot(nextSequenceNumber == 0);
+    }
+
+    private SessionSnapshot createSnapshot(boolean full) {
+        assert session.hasLock();
+
+        Map<Integer, byte[]> uiData = new HashMap<>();
+        Map<Integer, Set<Integer>> dirtyNodeIds = new HashMap<>();
+        Set<Integer> currentUIs = new HashSet<>();
+        for (UI ui : session.getUIs()) {
+            Integer uiId = Integer.valueOf(ui.getUIId());
+            currentUIs.add(uiId);
+
+            StateTree tree = ui.getInternals().getStateTree();
+            boolean include = full || !replicatedUIs.contains(uiId)
+                    || changedUIs.contains(uiId);
+            if (tree.isReplicationTrackingEnabled()) {
+                Set<Integer> dirty = tree.collectReplicationDirtyNodeIds();
+                if (!dirty.isEmpty()) {
+                    dirtyNodeIds.put(uiId, dirty);
+                    include = true;
+                }
+            } else {
+                tree.enableReplicationTracking();
+                include = true;
+            }
+            if (include) {
+                uiData.put(uiId, serialize(ui, createUIReplacer(ui)));
+            }
+        }
+
+        Set<Integer> removedUIs = new HashSet<>();
+        if (!full) {
+            removedUIs.addAll(replicatedUIs);
+            removedUIs.removeAll(currentUIs);
+        }
+
+        byte[] sessionData = null;
+        int modificationCount = session.getAttributeModificationCount();
+        if (full || sessionChanged || !removedUIs.isEmpty()
+                || !replicatedUIs.containsAll(currentUIs)
+                || modificationCount != attributeModificationCount) {
+            // Known to have changed, no need to compare
+            sessionData = serialize(session, createSessionReplacer());
+            // Computed when needed for the next comparison
+            sessionDigest = null;
+        } else if (!uiData.isEmpty()) {
+            // Attributes may have been mutated in place by the code which
+            // changed the UIs
+            byte[] digest = digestSession();
+            if (!MessageDigest.isEqual(digest, sessionDigest)) {
+                sessionData = serialize(session, createSessionReplacer());
+            }
+            sessionDigest = digest;
+        }
+
+        attributeModificationCount = modificationCount;
+        sessionChanged = false;
+        replicatedUIs.clear();
+        replicatedUIs.addAll(currentUIs);
+        changedUIs.clear();
+
+        return new SessionSnapshot(nextSequenceNumber++, full, sessionData,
+                uiData, removedUIs, dirtyNodeIds);
+    }
+
+    private UnaryOperator<Object> createSessionReplacer() {
+        return obj -> {
+            if (obj instanceof UI) {
+                return new UIReference(((UI) obj).getUIId());
+            }
+            return replaceComponent(obj, null);
+        };
+    }
+
+    private UnaryOperator<Object> createUIReplacer(UI ui) {
+        return obj -> {
+            if (obj == ui) {
+                return obj;
+            } else if (obj instanceof VaadinSession) {
+                return new SessionReference();
+            } else if (obj instanceof UI) {
+                return new UIReference(((UI) obj).getUIId());
+            }
+            return replaceComponent(obj, ui);
+        };
+    }
+
+    private static Object replaceComponent(Object obj, UI ownUI) {
+        if (!(obj instanceof Component)) {
+            return obj;
+        }
+        Component component = (Component) obj;
+        Element element = component.getElement();
+        // Only the component mapped to the element can be found again
+        if (element.getComponent().orElse(null) != component) {
+            return obj;
+        }
+        UI ui = component.getUI().orElse(null);
+        if (ui == null || ui == ownUI) {
+            return obj;
+        }
+        return new ComponentReference(ui.getUIId(),
+                element.getNode().getId());
+    }
+
+    private byte[] serialize(Serializable object,
+            UnaryOperator<Object> replacer) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            serializer.write(object, outputStream, replacer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to serialize " + object.getClass().getName(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private byte[] digestSession() {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(
+                    "Java platform does not support SHA-256", e);
+        }
+        // The request timings change on every request, which alone should not
+        // cause the session part to be replicated
+        session.runWithoutRequestTimings(() -> {
+            try (DigestOutputStream outputStream = new DigestOutputStream(
+                    NullOutputStream.NULL_OUTPUT_STREAM, messageDigest)) {
+                serializer.write(session, outputStream,
+                        createSessionReplacer());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to serialize "
+                        + session.getClass().getName(), e);
+            }
+        });
+        return messageDigest.digest();
+    }
+
+    /**
+     * Restores a session from the parts stored from snapshots created by a
+     * tracker.
+     *
+     * @param serializer
+     *            the serializer the parts have been written with, not
+     *            <code>null</code>
+     * @param sessionData
+     *            the latest serialized session part, not <code>null</code>
+     * @param uiData
+     *            the latest serialized UI parts by UI id, not
+     *            <code>null</code>
+     * @param classLoader
+     *            the class loader to resolve classes with, not
+     *            <code>null</code>
+     * @return the restored session
+     * @throws IOException
+     *             if reading fails
+     * @throws ClassNotFoundException
+     *             if a class in the stream cannot be found
+     */
+    public static VaadinSession restore(SessionSerializer serializer,
+            byte[] sessionData, Map<Integer, byte[]> uiData,
+            ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        Restorer restorer = new Restorer(serializer, uiData, classLoader);
+        try {
+            return (VaadinSession) serializer.read(
+                    new ByteArrayInputStream(sessionData), classLoader,
+                    restorer::resolve);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RestoreException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Resolves the placeholders written in place of references between parts.
+     */
+    private static class Restorer {
+        private final SessionSerializer serializer;
+        private final Map<Integer, byte[]> uiData;
+        private final ClassLoader classLoader;
+        private final Map<Integer, UI> restoredUIs = new HashMap<>();
+        private final Set<Integer> restoringUIs = new HashSet<>();
+
+        private Restorer(SessionSerializer serializer,
+                Map<Integer, byte[]> uiData, ClassLoader classLoader) {
+            this.serializer = serializer;
+            this.uiData = uiData;
+            this.classLoader = classLoader;
+        }
+
+        private Object resolve(Object obj) {
+            if (obj instanceof SessionReference) {
+                // Set as current while the session is being deserialized
+                return VaadinSession.getCurrent();
+            } else if (obj instanceof UIReference) {
+                return getUI(((UIReference) obj).uiId);
+            } else if (obj instanceof ComponentReference) {
+                ComponentReference reference = (ComponentReference) obj;
+                UI ui = getUI(reference.uiId);
+                if (ui == null) {
+                    return null;
+                }
+                StateNode node = ui.getInternals().getStateTree()
+                        .getNodeById(reference.nodeId);
+                return node == null ? null
+                        : Element.get(node).getComponent().orElse(null);
+            }
+            return obj;
+        }
+
+        private UI getUI(int uiId) {
+            Integer key = Integer.valueOf(uiId);
+            if (restoredUIs.containsKey(key)) {
+                return restoredUIs.get(key);
+            }
+            byte[] data = uiData.get(key);
+            if (data == null) {
+                return null;
+            }
+            if (!restoringUIs.add(key)) {
+                throw new IllegalStateException(
+                        "Cyclic references between UI " + uiId
+                                + " and other UIs cannot be restored");
+            }
+            try {
+                UI ui = (UI) serializer.read(new ByteArrayInputStream(data),
+                        classLoader, this::resolve);
+                restoredUIs.put(key, ui);
+                return ui;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new RestoreException(e);
+            } finally {
+                restoringUIs.remove(key);
+            }
+        }
+    }
+
+    private static class RestoreException extends RuntimeException {
+        private RestoreException(ClassNotFoundException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ClassNotFoundException getCause() {
+            return (ClassNotFoundException) super.getCause();
+        }
+    }
+
+    /**
+     * Placeholder for the session in a UI part.
+     */
+    private static class SessionReference implements Serializable {
+    }
+
+    /**
+     * Placeholder for a UI stored in another part.
+     */
+    private static class UIReference implements Serializable {
+        private final int uiId;
+
+        private UIReference(int uiId) {
+            this.uiId = uiId;
+        }
+    }
+
+    /**
+     * Placeholder for a component of a UI stored in another part.
+     */
+    private static class ComponentReference implements Serializable {
+        private final int uiId;
+        private final int nodeId;
+
+        private ComponentReference(int uiId, int nodeId) {
+            this.uiId = uiId;
+            this.nodeId = nodeId;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.function.UnaryOperator;
+
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Serializes and deserializes {@link VaadinSession} instances (or parts of
+ * them) for session replication.
+ * <p>
+ * The serializer used by a service is available through
+ * {@link VaadinService#getSessionSerializer()}. A custom implementation can be
+ * provided through the {@link com.vaadin.flow.di.Lookup} or by overriding
+ * {@link VaadinService#createSessionSerializer()}.
+ * <p>
+ * This is an opt-in API for session replication integrations. The framework
+ * does not use it when the session is stored in the HTTP session, which the
+ * servlet container still serializes using plain Java serialization.
+ * Integrations which replicate sessions themselves, e.g. through
+ * {@link SessionReplicationTracker}, should use the serializer of the service
+ * instead of plain Java serialization so that the format can be tuned in one
+ * place.
+ * <p>
+ * Implementations must be thread safe.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see CompactSessionSerializer
+ */
+public interface SessionSerializer extends Serializable {
+
+    /**
+     * Writes the given object graph to the output stream. The stream is not
+     * closed.
+     *
+     * @param object
+     *            the object to write, typically a {@link VaadinSession}
+     * @param outputStream
+     *            the stream to write to, not <code>null</code>
+     * @throws IOException
+     *             if writing fails
+     */
+    default void write(Serializable object, OutputStream outputStream)
+            throws IOException {
+        write(object, outputStream, null);
+    }
+
+    /**
+     * Writes the given object graph to the output stream, passing every object
+     * in the graph through the given replacer before it is written. The stream
+     * is not closed.
+     * <p>
+     * The replacer can be used for writing parts of a session separately, by
+     * replacing references to other parts with placeholders that are resolved
+     * by the resolver given to
+     * {@link #read(InputStream, ClassLoader, UnaryOperator)}.
+     *
+     * @param object
+     *            the object to write, typically a {@link VaadinSession}
+     * @param outputStream
+     *            the stream to write to, not <code>null</code>
+     * @param replacer
+     *            the function giving the object to write instead of each
+     *            object in the graph, or <code>null</code> to write the graph
+     *            as is
+     * @throws IOException
+     *             if writing fails
+     */
+    void write(Serializable object, OutputStream outputStream,
+            UnaryOperator<Object> replacer) throws IOException;
+
+    /**
+     * Reads an object graph written by {@link #write(Serializable, OutputStream)}
+     * from the input stream. The stream is not closed.
+     *
+     * @param inputStream
+     *            the stream to read from, not <code>null</code>
+     * @param classLoader
+     *            the class loader to resolve classes with, not
+     *            <code>null</code>
+     * @return the deserialized object
+     * @throws IOException
+     *             if reading fails
+     * @throws ClassNotFoundException
+     *             if a class in the stream cannot be found
+     */
+    default Object read(InputStream inputStream, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        return read(inputStream, classLoader, null);
+    }
+
+    /**
+     * Reads an object graph written by
+     * {@link #write(Serializable, OutputStream, UnaryOperator)} from the input
+     * stream, passing every read object through the given resolver. The stream
+     * is not closed.
+     *
+     * @param inputStream
+     *            the stream to read from, not <code>null</code>
+     * @param classLoader
+     *            the class loader to resolve classes with, not
+     *            <code>null</code>
+     * @param resolver
+     *            the function giving the object to use instead of each read
+     *            object, or <code>null</code> to use the objects as is
+     * @return the deserialized object
+     * @throws IOException
+     *             if reading fails
+     * @throws ClassNotFoundException
+     *             if a class in the stream cannot be found
+     */
+    Object read(InputStream inputStream, ClassLoader classLoader,
+            UnaryOperator<Object> resolver)
+            throws IOException, ClassNotFoundException;
+
+    /**
+     * Serializes the given object into a byte array.
+     *
+     * @param object
+     *            the object to serialize
+     * @return the serialized bytes
+     * @throws IOException
+     *             if writing fails
+     */
+    default byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        write(object, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Deserializes an object from a byte array produced by
+     * {@link #serialize(Serializable)}.
+     *
+     * @param bytes
+     *            the serialized bytes
+     * @param classLoader
+     *            the class loader to resolve classes with, not
+     *            <code>null</code>
+     * @return the deserialized object
+     * @throws IOException
+     *             if reading fails
+     * @throws ClassNotFoundException
+     *             if a class in the stream cannot be found
+     */
+    default Object deserialize(byte[] bytes, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        return read(new ByteArrayInputStream(bytes), classLoader);
+    }
+}
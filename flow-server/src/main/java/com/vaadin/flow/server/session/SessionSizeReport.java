@@ -0,0 +1,222 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Reports the serialized size of a {@link VaadinSession}, its UIs and their
+ * components. Intended for finding out which parts of an application make
+ * session replication expensive.
+ * <p>
+ * The UI sizes include everything reachable from the UI except the session.
+ * The component sizes are shallow: other components and state nodes that are
+ * not the component's own node are not included, so the size of a component
+ * reflects its own fields and the data stored in its element.
+ * <p>
+ * The report must be created while holding the session lock.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class SessionSizeReport implements Serializable {
+
+    /**
+     * Serialized size of a single item in the report.
+     */
+    public static class Entry implements Serializable {
+        private final String name;
+        private final long size;
+        private final List<Entry> children;
+
+        private Entry(String name, long size, List<Entry> children) {
+            this.name = name;
+            this.size = size;
+            this.children = Collections.unmodifiableList(children);
+        }
+
+        /**
+         * Gets a human readable name of the measured item.
+         *
+         * @return the item name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the serialized size of the item in bytes.
+         *
+         * @return the size in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Gets the entries of the items contained in this item, ordered by
+         * size in descending order.
+         *
+         * @return an unmodifiable list of child entries
+         */
+        public List<Entry> getChildren() {
+            return children;
+        }
+    }
+
+    private final long totalSize;
+    private final List<Entry> uis;
+
+    private SessionSizeReport(long totalSize, List<Entry> uis) {
+        this.totalSize = totalSize;
+        this.uis = Collections.unmodifiableList(uis);
+    }
+
+    /**
+     * Measures the given session using the given serializer.
+     *
+     * @param session
+     *            the session to measure, not <code>null</code>
+     * @param serializer
+     *            the serializer to use, not <code>null</code>
+     * @return the size report
+     * @throws UncheckedIOException
+     *             if some part of the session cannot be serialized
+     */
+    public static SessionSizeReport create(VaadinSession session,
+            SessionSerializer serializer) {
+        assert session.hasLock();
+
+        long totalSize = measure(serializer, session, null);
+
+        List<Entry> uis = new ArrayList<>();
+        for (UI ui : session.getUIs()) {
+            List<Entry> components = new ArrayList<>();
+            ui.getChildren().forEach(child -> collectComponents(serializer,
+                    child, components));
+            components.sort(Comparator.comparingLong(Entry::getSize)
+                    .reversed());
+
+            long uiSize = measure(serializer, ui,
+                    obj -> obj instanceof VaadinSession ? null : obj);
+            uis.add(new Entry(getName(ui), uiSize, components));
+        }
+        uis.sort(Comparator.comparingLong(Entry::getSize).reversed());
+
+        return new SessionSizeReport(totalSize, uis);
+    }
+
+    private static void collectComponents(SessionSerializer serializer,
+            Component component, List<Entry> entries) {
+        StateNode node = component.getElement().getNode();
+        UnaryOperator<Object> exclude = obj -> obj != component
+                && (obj instanceof Component || obj instanceof VaadinSession
+                        || obj instanceof StateTree
+                        || (obj instanceof StateNode && obj != node)) ? null
+                                : obj;
+        entries.add(new Entry(getName(component),
+                measure(serializer, component, exclude),
+                Collections.emptyList()));
+
+        component.getChildren().forEach(
+                child -> collectComponents(serializer, child, entries));
+    }
+
+    private static String getName(Component component) {
+        if (component instanceof UI) {
+            return component.getClass().getName() + " (UI id "
+                    + ((UI) component).getUIId() + ")";
+        }
+        return component.getClass().getName() + " (node id "
+                + component.getElement().getNode().getId() + ")";
+    }
+
+    private static long measure(SessionSerializer serializer,
+            Serializable object, UnaryOperator<Object> replacer) {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        try {
+            serializer.write(object, outputStream, replacer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to serialize " + object.getClass().getName(), e);
+        }
+        return outputStream.count;
+    }
+
+    /**
+     * Gets the serialized size of the whole session in bytes.
+     *
+     * @return the session size in bytes
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Gets the entries of the UIs in the session, ordered by size in
+     * descending order. The children of each UI entry are the components of
+     * the UI.
+     *
+     * @return an unmodifiable list of UI entries
+     */
+    public List<Entry> getUIs() {
+        return uis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Session: ").append(totalSize).append(" bytes");
+        for (Entry ui : uis) {
+            builder.append("\n  ").append(ui.getName()).append(": ")
+                    .append(ui.getSize()).append(" bytes");
+            for (Entry component : ui.getChildren()) {
+                builder.append("\n    ").append(component.getName())
+                        .append(": ").append(component.getSize())
+                        .append(" bytes");
+            }
+        }
+        return builder.toString();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
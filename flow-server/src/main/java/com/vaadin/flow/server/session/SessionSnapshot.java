@@ -0,0 +1,133 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A serialized snapshot of a {@link com.vaadin.flow.server.VaadinSession}
+ * created by a {@link SessionReplicationTracker}.
+ * <p>
+ * A session is split into a session part, containing the session itself with
+ * its attributes, and one part for each UI. A full snapshot contains all parts
+ * while a delta snapshot contains only the parts that have changed since the
+ * previous snapshot, together with the ids of the UIs that have been removed.
+ * Snapshots are numbered so that a store can verify that deltas are applied in
+ * order.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see InMemorySessionSnapshotStore
+ */
+public class SessionSnapshot implements Serializable {
+
+    private final long sequenceNumber;
+    private final boolean full;
+    private final byte[] sessionData;
+    private final Map<Integer, byte[]> uiData;
+    private final Set<Integer> removedUIs;
+    private final Map<Integer, Set<Integer>> dirtyNodeIds;
+
+    SessionSnapshot(long sequenceNumber, boolean full, byte[] sessionData,
+            Map<Integer, byte[]> uiData, Set<Integer> removedUIs,
+            Map<Integer, Set<Integer>> dirtyNodeIds) {
+        this.sequenceNumber = sequenceNumber;
+        this.full = full;
+        this.sessionData = sessionData;
+        this.uiData = Collections.unmodifiableMap(uiData);
+        this.removedUIs = Collections.unmodifiableSet(removedUIs);
+        this.dirtyNodeIds = Collections.unmodifiableMap(dirtyNodeIds);
+    }
+
+    /**
+     * Gets the sequence number of this snapshot. The first snapshot created by
+     * a tracker has the number 0 and each following snapshot has a number one
+     * larger than the previous one.
+     *
+     * @return the sequence number
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Checks whether this is a full snapshot which replaces all previously
+     * stored data, or a delta which should be applied on top of the previous
+     * snapshot.
+     *
+     * @return <code>true</code> for a full snapshot, <code>false</code> for a
+     *         delta
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Gets the serialized session part.
+     *
+     * @return the serialized session part, or <code>null</code> if this is a
+     *         delta and the session part has not changed
+     */
+    public byte[] getSessionData() {
+        return sessionData;
+    }
+
+    /**
+     * Gets the serialized UI parts contained in this snapshot, by UI id.
+     *
+     * @return an unmodifiable map of serialized UIs, not <code>null</code>
+     */
+    public Map<Integer, byte[]> getUIData() {
+        return uiData;
+    }
+
+    /**
+     * Gets the ids of the UIs that have been removed since the previous
+     * snapshot.
+     *
+     * @return an unmodifiable set of UI ids, not <code>null</code>
+     */
+    public Set<Integer> getRemovedUIs() {
+        return removedUIs;
+    }
+
+    /**
+     * Gets the ids of the state nodes that were marked as dirty since the
+     * previous snapshot, by UI id. Only contains information for the UIs
+     * included in a delta because of state tree changes.
+     *
+     * @return an unmodifiable map of node ids, not <code>null</code>
+     */
+    public Map<Integer, Set<Integer>> getDirtyNodeIds() {
+        return dirtyNodeIds;
+    }
+
+    /**
+     * Gets the total size of the serialized data in this snapshot.
+     *
+     * @return the size in bytes
+     */
+    public long getSize() {
+        long size = sessionData == null ? 0 : sessionData.length;
+        for (byte[] data : uiData.values()) {
+            size += data.length;
+        }
+        return size;
+    }
+}
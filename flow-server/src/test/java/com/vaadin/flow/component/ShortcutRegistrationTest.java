@@ -16,7 +16,10 @@
 
 package com.vaadin.flow.component;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Assert;
@@ -27,12 +30,17 @@ import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.internal.ExecutionContext;
 import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
 import com.vaadin.flow.shared.Registration;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -362,6 +370,63 @@ public class ShortcutRegistrationTest {
         assertTrue(registration.isShortcutActive());
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void shortcutsOnSameComponent_singleListenerDispatchesByDescriptor() {
+        UI ui = Mockito.spy(UI.class);
+        Component owner = new FakeComponent();
+        ui.add(owner);
+
+        List<String> invoked = new ArrayList<>();
+        new ShortcutRegistration(owner, () -> new Component[] { ui },
+                event -> invoked.add(event.getKey().getKeys().get(0)),
+                Key.KEY_A);
+        new ShortcutRegistration(owner, () -> new Component[] { ui },
+                event -> invoked.add(event.getKey().getKeys().get(0)),
+                Key.KEY_B).withCtrl();
+
+        ArgumentCaptor<SerializableConsumer> captor = ArgumentCaptor
+                .forClass(SerializableConsumer.class);
+        verify(ui, atLeastOnce()).beforeClientResponse(eq(owner),
+                captor.capture());
+        captor.getAllValues().forEach(
+                consumer -> consumer.accept(mock(ExecutionContext.class)));
+
+        ElementListenerMap map = ui.getElement().getNode()
+                .getFeature(ElementListenerMap.class);
+        // descriptor event data and one filter for both shortcuts
+        assertEquals(2, map.getExpressions("keydown").size());
+
+        fireKeyDown(ui, "0:KeyB", "0:b");
+        assertTrue("Shortcut without modifiers should not match Ctrl+B",
+                invoked.isEmpty());
+
+        fireKeyDown(ui, "2:KeyB", "2:b");
+        assertEquals(Collections.singletonList("KeyB"), invoked);
+
+        fireKeyDown(ui, "0:KeyA", "0:a");
+        assertEquals(Arrays.asList("KeyB", "KeyA"), invoked);
+    }
+
+    private void fireKeyDown(UI ui, String... descriptors) {
+        ElementListenerMap map = ui.getElement().getNode()
+                .getFeature(ElementListenerMap.class);
+        JsonObject eventData = Json.createObject();
+        for (String expression : map.getExpressions("keydown")) {
+            if (ShortcutDispatcher.DESCRIPTORS_EXPRESSION.equals(expression)) {
+                JsonArray array = Json.createArray();
+                for (String descriptor : descriptors) {
+                    array.set(array.length(), descriptor);
+                }
+                eventData.put(expression, array);
+            } else {
+                // filters are evaluated by the client
+                eventData.put(expression, true);
+            }
+        }
+        map.fireEvent(new DomEvent(ui.getElement(), "keydown", eventData));
+    }
+
     /**
      * Works only with the {@code registration} member variable.
      *
@@ -26,6 +26,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.router.Location;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.Registration;
@@ -115,6 +116,37 @@ public class UIInternalsTest {
                 1, runCount.get());
     }
 
+    @Test
+    public void receiveHeartbeat_noListeners_timestampSetWithoutAccess() {
+        internals.receiveHeartbeat(42);
+
+        Assert.assertEquals(42, internals.getLastHeartbeatTimestamp());
+        Mockito.verify(ui, Mockito.never()).access(Mockito.any());
+    }
+
+    @Test
+    public void receiveHeartbeat_listenersRegistered_listenersCalledThroughAccess() {
+        Mockito.when(ui.access(Mockito.any())).thenAnswer(invocation -> {
+            invocation.getArgumentAt(0, Command.class).execute();
+            return null;
+        });
+        List<Long> heartbeats = new ArrayList<>();
+        Registration registration = internals.addHeartbeatListener(
+                event -> heartbeats.add(event.getHeartbeatTime()));
+
+        internals.receiveHeartbeat(42);
+
+        Assert.assertEquals(Collections.singletonList(42L), heartbeats);
+        Mockito.verify(ui).access(Mockito.any());
+
+        registration.remove();
+        internals.receiveHeartbeat(43);
+
+        Assert.assertEquals(43, internals.getLastHeartbeatTimestamp());
+        Assert.assertEquals(1, heartbeats.size());
+        Mockito.verify(ui).access(Mockito.any());
+    }
+
     @Test
     public void showRouteTarget_usePushConfigFromComponent() {
         PushConfiguration pushConfig = setUpInitialPush();
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.template.internal;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+import static com.vaadin.flow.server.Constants.TEMPLATES_JSON_DEFAULT;
+import static com.vaadin.flow.server.Constants.VAADIN_SERVLET_RESOURCES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class TemplatePreloaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setup() throws Exception {
+        File root = temporaryFolder.getRoot();
+        FileUtils.write(
+                new File(root,
+                        VAADIN_SERVLET_RESOURCES + TEMPLATES_JSON_DEFAULT),
+                "{\"templates\": [\"java.lang.String\", "
+                        + "\"java.lang.Integer\", \"com.example.Missing\"]}",
+                UTF_8);
+        classLoader = new URLClassLoader(new URL[] { root.toURI().toURL() },
+                TemplatePreloaderTest.class.getClassLoader());
+    }
+
+    @Test
+    public void getTemplateClassNames_classNamesFromFile() {
+        Assert.assertEquals(
+                Arrays.asList("java.lang.String", "java.lang.Integer",
+                        "com.example.Missing"),
+                TemplatePreloader.getTemplateClassNames(classLoader));
+    }
+
+    @Test
+    public void getTemplateClassNames_noFile_empty() throws Exception {
+        ClassLoader empty = new URLClassLoader(
+                new URL[] { temporaryFolder.newFolder().toURI().toURL() },
+                null);
+
+        Assert.assertEquals(Collections.emptyList(),
+                TemplatePreloader.getTemplateClassNames(empty));
+    }
+
+    @Test
+    public void preload_productionMode_subTypesAnalyzed() {
+        List<Class<?>> analyzed = new ArrayList<>();
+
+        TemplatePreloader.preload(createService(true), Number.class,
+                analyzed::add);
+
+        Assert.assertEquals(Collections.singletonList(Integer.class),
+                analyzed);
+    }
+
+    @Test
+    public void preload_developmentMode_nothingAnalyzed() {
+        List<Class<?>> analyzed = new ArrayList<>();
+
+        TemplatePreloader.preload(createService(false), Number.class,
+                analyzed::add);
+
+        Assert.assertTrue(analyzed.isEmpty());
+    }
+
+    private MockVaadinServletService createService(boolean productionMode) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setProductionMode(productionMode);
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.setClassLoader(classLoader);
+        return service;
+    }
+}
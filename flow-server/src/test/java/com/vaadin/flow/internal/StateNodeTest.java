@@ -551,6 +551,30 @@ public class StateNodeTest {
                 stateNode.isReportedFeature(ElementAttributeMap.class));
     }
 
+    @Test
+    public void getChangeTracker_sameTrackerUntilChangesCollected() {
+        StateNode stateNode = createTestNode("Node",
+                ElementPropertyMap.class, ElementClassList.class);
+        ElementPropertyMap properties = stateNode
+                .getFeature(ElementPropertyMap.class);
+        ElementClassList classList = stateNode
+                .getFeature(ElementClassList.class);
+
+        ArrayList<String> propertyTracker = stateNode
+                .getChangeTracker(properties, ArrayList::new);
+        ArrayList<String> classListTracker = stateNode
+                .getChangeTracker(classList, ArrayList::new);
+
+        Assert.assertNotSame(propertyTracker, classListTracker);
+        Assert.assertSame(propertyTracker,
+                stateNode.getChangeTracker(properties, ArrayList::new));
+
+        stateNode.clearChanges();
+
+        Assert.assertNotSame(propertyTracker,
+                stateNode.getChangeTracker(properties, ArrayList::new));
+    }
+
     @Test
     public void collectChanges_initiallyActiveElement_sendOnlyDisalowFeatureChangesWhenInactive() {
         StateNode stateNode = createTestNode("Active node",
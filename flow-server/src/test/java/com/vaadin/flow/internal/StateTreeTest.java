@@ -590,4 +590,36 @@ public class StateTreeTest {
         Assert.assertEquals(1, detachCount.get());
         Assert.assertEquals(2, tree.collectDirtyNodes().size());
     }
+
+    @Test
+    public void replicationTracking_notEnabled_collectThrows() {
+        Assert.assertFalse(tree.isReplicationTrackingEnabled());
+        try {
+            tree.collectReplicationDirtyNodeIds();
+            Assert.fail("Collecting should fail when tracking is disabled");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void replicationTracking_dirtyNodesTrackedUntilCollected() {
+        StateNode node1 = tree.getRootNode();
+        StateNode node2 = StateNodeTest.createEmptyNode("node2");
+        StateNodeTest.setParent(node2, node1);
+        tree.collectChanges(change -> {
+        });
+
+        tree.enableReplicationTracking();
+        Assert.assertTrue(tree.isReplicationTrackingEnabled());
+        node2.markAsDirty();
+
+        // Sending changes to the client should not reset the tracked nodes
+        tree.collectChanges(change -> {
+        });
+
+        Assert.assertEquals(Collections.singleton(node2.getId()),
+                tree.collectReplicationDirtyNodeIds());
+        Assert.assertTrue(tree.collectReplicationDirtyNodeIds().isEmpty());
+    }
 }
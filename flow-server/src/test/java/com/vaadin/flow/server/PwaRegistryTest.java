@@ -18,16 +18,25 @@ package com.vaadin.flow.server;
 import javax.servlet.ServletContext;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 @PWA(name = "foo", shortName = "bar")
 public class PwaRegistryTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void pwaIconIsGeneratedBasedOnClasspathIcon_servletContextHasNoResources()
             throws IOException {
@@ -50,4 +59,49 @@ public class PwaRegistryTest {
         // the default image has 47 on the position 36
         Assert.assertEquals(26, stream.toByteArray()[36]);
     }
+
+    @Test
+    public void prerenderedIcons_sameLogo_iconsLoadedFromClasspath()
+            throws IOException {
+        File root = temporaryFolder.newFolder();
+        URL logo = PwaRegistryTest.class
+                .getResource("/META-INF/resources/icons/icon.png");
+        PwaRegistry.writePrerenderedIcons("./icons/icon.png", logo,
+                new File(root, Constants.VAADIN_SERVLET_RESOURCES));
+
+        byte[] logoData = IOUtils.toByteArray(logo);
+        List<PwaIcon> rendered = new PwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class),
+                Mockito.mock(ServletContext.class)).getIcons();
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { root.toURI().toURL() }, null)) {
+            List<PwaIcon> prerendered = PwaRegistry.getPrerenderedIcons(
+                    classLoader, "icons/icon.png", logoData);
+
+            Assert.assertNotNull(prerendered);
+            Assert.assertEquals(rendered.size(), prerendered.size());
+            for (int i = 0; i < rendered.size(); i++) {
+                Assert.assertEquals(rendered.get(i).getHref(),
+                        prerendered.get(i).getHref());
+                Assert.assertArrayEquals(toBytes(rendered.get(i)),
+                        toBytes(prerendered.get(i)));
+            }
+
+            Assert.assertNull("Icons of another logo should not be used",
+                    PwaRegistry.getPrerenderedIcons(classLoader,
+                            "icons/icon.png", new byte[] { 1 }));
+            byte[] modifiedLogoData = logoData.clone();
+            modifiedLogoData[modifiedLogoData.length - 1] ^= 1;
+            Assert.assertNull(
+                    "Icons of a logo with the same length should not be used",
+                    PwaRegistry.getPrerenderedIcons(classLoader,
+                            "icons/icon.png", modifiedLogoData));
+        }
+    }
+
+    private static byte[] toBytes(PwaIcon icon) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        icon.write(stream);
+        return stream.toByteArray();
+    }
 }
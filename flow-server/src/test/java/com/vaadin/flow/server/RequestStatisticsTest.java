@@ -0,0 +1,111 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+public class RequestStatisticsTest {
+
+    private final RequestStatistics statistics = new RequestStatistics();
+
+    @Test
+    public void record_countedByType() {
+        statistics.record(RequestType.UIDL, 0);
+        statistics.record(RequestType.UIDL, 0);
+        statistics.record(null, 0);
+
+        Assert.assertEquals(2, statistics.getRequestCount(RequestType.UIDL));
+        Assert.assertEquals(0,
+                statistics.getRequestCount(RequestType.HEARTBEAT));
+        Assert.assertEquals(1, statistics.getRequestCount(null));
+    }
+
+    @Test
+    public void record_latencyInHistogramBucket() {
+        statistics.record(RequestType.HEARTBEAT,
+                TimeUnit.MILLISECONDS.toNanos(0));
+        statistics.record(RequestType.HEARTBEAT,
+                TimeUnit.MILLISECONDS.toNanos(7));
+        statistics.record(RequestType.HEARTBEAT,
+                TimeUnit.MILLISECONDS.toNanos(10));
+        statistics.record(RequestType.HEARTBEAT,
+                TimeUnit.SECONDS.toNanos(60));
+
+        long[] bounds = RequestStatistics.getLatencyBucketBounds();
+        long[] histogram = statistics
+                .getLatencyHistogram(RequestType.HEARTBEAT);
+
+        Assert.assertEquals(bounds.length + 1, histogram.length);
+        // [0, 1)
+        Assert.assertEquals(1, histogram[0]);
+        // [5, 10)
+        Assert.assertEquals(1, histogram[3]);
+        // [10, 20)
+        Assert.assertEquals(1, histogram[4]);
+        // 5000 and above
+        Assert.assertEquals(1, histogram[bounds.length]);
+        Assert.assertEquals(60017,
+                statistics.getTotalDuration(RequestType.HEARTBEAT));
+    }
+
+    @Test
+    public void getRequestType_parameterParsed() {
+        Assert.assertEquals(RequestType.UIDL, HandlerHelper.getRequestType(
+                createRequest(ApplicationConstants.REQUEST_TYPE_UIDL)));
+        Assert.assertEquals(RequestType.HEARTBEAT,
+                HandlerHelper.getRequestType(createRequest(
+                        ApplicationConstants.REQUEST_TYPE_HEARTBEAT)));
+        Assert.assertNull(HandlerHelper.getRequestType(createRequest(null)));
+        Assert.assertNull(
+                HandlerHelper.getRequestType(createRequest("unknown")));
+    }
+
+    @Test
+    public void isRequestType_typeResolvedOnlyOnce() {
+        MockHttpServletRequest httpRequest = Mockito
+                .spy(new MockHttpServletRequest());
+        httpRequest.addParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER,
+                ApplicationConstants.REQUEST_TYPE_UIDL);
+        VaadinRequest request = new VaadinServletRequest(httpRequest,
+                Mockito.mock(VaadinServletService.class));
+
+        Assert.assertEquals(RequestType.UIDL,
+                HandlerHelper.getRequestType(request));
+        Assert.assertTrue(
+                HandlerHelper.isRequestType(request, RequestType.UIDL));
+        Assert.assertFalse(
+                HandlerHelper.isRequestType(request, RequestType.HEARTBEAT));
+
+        Mockito.verify(httpRequest, Mockito.times(1))
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+    }
+
+    private static VaadinRequest createRequest(String type) {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(type);
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.dependency.Uses;
+import com.vaadin.flow.router.RouteData;
+import com.vaadin.flow.router.RouterLayout;
+
+public class StartupWarmupTest {
+
+    @Tag("div")
+    public static class UsedByUsed extends Component {
+    }
+
+    @Tag("div")
+    @Uses(UsedByUsed.class)
+    public static class Used extends Component {
+    }
+
+    @Tag("div")
+    @Uses(Used.class)
+    public static class Layout extends Component implements RouterLayout {
+    }
+
+    @Tag("div")
+    public static class Target extends Component {
+        private static Target instance;
+        private static UI currentUI;
+
+        public Target() {
+            instance = this;
+            currentUI = UI.getCurrent();
+        }
+    }
+
+    @Tag("div")
+    public static class FailingTarget extends Component {
+        public FailingTarget() {
+            throw new IllegalStateException("Needs a session");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Target.instance = null;
+        Target.currentUI = null;
+        UI.setCurrent(null);
+    }
+
+    @Test
+    public void collectComponentClasses_layoutsAndUsedComponentsIncluded() {
+        Set<Class<? extends Component>> classes = StartupWarmup
+                .collectComponentClasses(
+                        Collections.singletonList(route(Target.class)));
+
+        Assert.assertEquals(new ArrayList<>(Arrays.asList(Target.class,
+                Layout.class, Used.class, UsedByUsed.class)),
+                new ArrayList<>(classes));
+    }
+
+    @Test
+    public void render_routeCreatedInsideLayoutInThrowawayUI() {
+        int rendered = StartupWarmup.render(new MockVaadinServletService(),
+                Collections.singletonList(route(Target.class)));
+
+        Assert.assertEquals(1, rendered);
+        Assert.assertNotNull(Target.currentUI);
+        Assert.assertNull(Target.currentUI.getSession());
+        Component layout = Target.instance.getParent().get();
+        Assert.assertEquals(Layout.class, layout.getClass());
+        Assert.assertSame(Target.currentUI, layout.getParent().get());
+        Assert.assertNull("Current UI should be restored", UI.getCurrent());
+    }
+
+    @Test
+    public void render_failingRoute_otherRoutesRendered() {
+        int rendered = StartupWarmup.render(new MockVaadinServletService(),
+                Arrays.asList(route(FailingTarget.class),
+                        route(Target.class)));
+
+        Assert.assertEquals(1, rendered);
+        Assert.assertNotNull(Target.instance);
+    }
+
+    private static RouteData route(Class<? extends Component> target) {
+        List<Class<? extends RouterLayout>> layouts = Collections
+                .singletonList(Layout.class);
+        return new RouteData(layouts, target.getSimpleName(),
+                Collections.emptyMap(), target, new ArrayList<>());
+    }
+}
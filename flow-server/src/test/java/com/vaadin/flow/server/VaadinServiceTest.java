@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,9 +33,13 @@ import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.di.InstantiatorFactory;
 import com.vaadin.flow.di.Lookup;
@@ -44,7 +49,10 @@ import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -246,6 +254,45 @@ public class VaadinServiceTest {
                 "Original value", CurrentInstance.get(String.class));
     }
 
+    @Test
+    public void requestEnd_sessionLockedByOtherThread_cleanupQueued()
+            throws Exception {
+        VaadinService service = createService();
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            session.getLockInstance().lock();
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        });
+        holder.start();
+        locked.await();
+
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute("requestStartTime"))
+                .thenReturn(System.nanoTime());
+        VaadinSession.setCurrent(session);
+        try {
+            service.requestEnd(request, null, session);
+
+            Assert.assertEquals(
+                    "Cleanup should be queued instead of waiting for the lock",
+                    1, session.getPendingAccessQueue().size());
+        } finally {
+            release.countDown();
+            holder.join();
+            CurrentInstance.clearAll();
+        }
+    }
+
     @Test
     public void testBootstrapListenersCreation() throws ServiceException {
         // in this test the actual behavior of the listeners is not evaluated.
@@ -379,6 +426,112 @@ public class VaadinServiceTest {
         service.loadInstantiators();
     }
 
+    @Test(timeout = 10000)
+    public void handleRequest_heartbeatWhileSessionLockedByOtherThread_handledWithoutWaiting()
+            throws Exception {
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return Collections.singletonList(new HeartbeatHandler());
+            }
+        };
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER,
+                RequestType.HEARTBEAT.getIdentifier());
+        httpRequest.addParameter(ApplicationConstants.UI_ID_PARAMETER, "1");
+        VaadinServletRequest request = new VaadinServletRequest(httpRequest,
+                service);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        WrappedSession wrappedSession = request.getWrappedSession();
+
+        UIInternals internals = Mockito.mock(UIInternals.class);
+        UI ui = Mockito.mock(UI.class);
+        Mockito.when(ui.getInternals()).thenReturn(internals);
+        VaadinSession session = new VaadinSession(service) {
+            @Override
+            public UI getUIByIdWithoutLock(int uiId) {
+                return uiId == 1 ? ui : null;
+            }
+        };
+        service.lockSession(wrappedSession);
+        service.storeSession(session, wrappedSession);
+        service.unlockSession(wrappedSession);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread lockHolder = new Thread(() -> {
+            session.getLockInstance().lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        });
+        lockHolder.start();
+        locked.await();
+        try {
+            service.handleRequest(request,
+                    new VaadinServletResponse(httpResponse, service));
+
+            Mockito.verify(internals).receiveHeartbeat(Mockito.anyLong());
+            Assert.assertEquals(200, httpResponse.getStatus());
+            Assert.assertEquals("no-cache",
+                    httpResponse.getHeader("Cache-Control"));
+        } finally {
+            release.countDown();
+            lockHolder.join();
+            CurrentInstance.clearAll();
+        }
+    }
+
+    @Test
+    public void handleRequest_handlerSubclassAcceptsOtherTypes_handlerInvoked()
+            throws Exception {
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return Collections.singletonList(new HeartbeatHandler() {
+                    @Override
+                    protected boolean canHandleRequest(VaadinRequest request) {
+                        return true;
+                    }
+                });
+            }
+        };
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addParameter(ApplicationConstants.UI_ID_PARAMETER, "1");
+        VaadinServletRequest request = new VaadinServletRequest(httpRequest,
+                service);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        WrappedSession wrappedSession = request.getWrappedSession();
+
+        UIInternals internals = Mockito.mock(UIInternals.class);
+        UI ui = Mockito.mock(UI.class);
+        Mockito.when(ui.getInternals()).thenReturn(internals);
+        VaadinSession session = new VaadinSession(service) {
+            @Override
+            public UI getUIByIdWithoutLock(int uiId) {
+                return uiId == 1 ? ui : null;
+            }
+        };
+        service.lockSession(wrappedSession);
+        service.storeSession(session, wrappedSession);
+        service.unlockSession(wrappedSession);
+
+        try {
+            service.handleRequest(request,
+                    new VaadinServletResponse(httpResponse, service));
+
+            Mockito.verify(internals).receiveHeartbeat(Mockito.anyLong());
+            Assert.assertEquals(200, httpResponse.getStatus());
+        } finally {
+            CurrentInstance.clearAll();
+        }
+    }
+
     private InstantiatorFactory createInstantiatorFactory(Lookup lookup) {
         InstantiatorFactory factory = Mockito.mock(InstantiatorFactory.class);
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class ChunkedUploadTest {
+
+    private ChunkedUpload upload;
+
+    @Before
+    public void setUp() throws IOException {
+        upload = ChunkedUpload.create(9);
+    }
+
+    @After
+    public void tearDown() {
+        upload.delete();
+    }
+
+    @Test
+    public void write_chunksOutOfOrder_rangesMergedAndDataReassembled()
+            throws IOException {
+        Assert.assertTrue(upload.write(stream("ghi"), 6, null, 2));
+        Assert.assertEquals("6-9", upload.getReceivedRanges());
+        Assert.assertTrue(upload.write(stream("abc"), 0, null, 2));
+        Assert.assertEquals("0-3,6-9", upload.getReceivedRanges());
+        Assert.assertFalse(upload.complete());
+
+        Assert.assertTrue(upload.write(stream("def"), 3, null, 2));
+        Assert.assertEquals("0-9", upload.getReceivedRanges());
+
+        Assert.assertTrue(upload.complete());
+        Assert.assertFalse("Upload should be completed only once",
+                upload.complete());
+        try (InputStream data = upload.openInputStream()) {
+            Assert.assertEquals("abcdefghi", IOUtils.toString(data, UTF_8));
+        }
+    }
+
+    @Test
+    public void write_chunkResent_rangeNotDuplicated() throws IOException {
+        upload.write(stream("abcd"), 0, null, 4);
+        upload.write(stream("cdef"), 2, null, 4);
+
+        Assert.assertEquals("0-6", upload.getReceivedRanges());
+    }
+
+    @Test
+    public void write_checksumMatches_received() throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update("abc".getBytes(UTF_8));
+
+        Assert.assertTrue(
+                upload.write(stream("abc"), 0, crc.getValue(), 1024));
+        Assert.assertEquals("0-3", upload.getReceivedRanges());
+    }
+
+    @Test
+    public void write_checksumMismatch_notReceived() throws IOException {
+        Assert.assertFalse(upload.write(stream("abc"), 0, 42L, 1024));
+        Assert.assertEquals("", upload.getReceivedRanges());
+    }
+
+    @Test
+    public void write_chunkExceedsLength_notReceived() throws IOException {
+        Assert.assertFalse(upload.write(stream("abcd"), 6, null, 1024));
+        Assert.assertEquals("", upload.getReceivedRanges());
+    }
+
+    private static InputStream stream(String data) {
+        return new ByteArrayInputStream(data.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+public class HeartbeatHandlerTest {
+
+    private VaadinSession session;
+    private VaadinRequest request;
+    private VaadinResponse response;
+    private UIInternals internals;
+
+    private HeartbeatHandler handler = new HeartbeatHandler();
+
+    @Before
+    public void setUp() {
+        session = Mockito.mock(VaadinSession.class);
+        request = Mockito.mock(VaadinRequest.class);
+        response = Mockito.mock(VaadinResponse.class);
+        internals = Mockito.mock(UIInternals.class);
+
+        UI ui = Mockito.mock(UI.class);
+        Mockito.when(ui.getInternals()).thenReturn(internals);
+        Mockito.when(session.getUIByIdWithoutLock(1)).thenReturn(ui);
+
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.HEARTBEAT.getIdentifier());
+    }
+
+    @Test
+    public void handleRequest_uiFound_heartbeatReceivedWithoutLocking()
+            throws IOException {
+        Mockito.when(
+                request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("1");
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Mockito.verify(internals).receiveHeartbeat(Mockito.anyLong());
+        Mockito.verify(response).setHeader("Cache-Control", "no-cache");
+        Mockito.verify(session, Mockito.never()).lock();
+        Mockito.verify(session, Mockito.never()).getUIById(Mockito.anyInt());
+    }
+
+    @Test
+    public void handleRequest_uiNotFound_notFoundSent() throws IOException {
+        Mockito.when(
+                request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("2");
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Mockito.verify(response).sendError(
+                Mockito.eq(HttpServletResponse.SC_NOT_FOUND),
+                Mockito.anyString());
+        Mockito.verify(session, Mockito.never()).lock();
+    }
+
+    @Test
+    public void handleRequest_notHeartbeat_notHandled() throws IOException {
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+
+        Assert.assertFalse(handler.handleRequest(session, request, response));
+
+        Mockito.verifyZeroInteractions(response);
+    }
+}
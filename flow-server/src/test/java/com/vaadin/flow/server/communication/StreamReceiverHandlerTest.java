@@ -14,13 +14,16 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -31,11 +34,14 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.server.ErrorHandler;
 import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.SessionDestroyEvent;
+import com.vaadin.flow.server.SessionDestroyListener;
 import com.vaadin.flow.server.StreamReceiver;
 import com.vaadin.flow.server.StreamResourceRegistry;
 import com.vaadin.flow.server.StreamVariable;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
@@ -84,6 +90,8 @@ public class StreamReceiverHandlerTest {
     private OutputStream outputStream;
     private String contentType;
     private List<Part> parts;
+    private final Map<String, String> headers = new HashMap<>();
+    private final Map<Class<?>, Object> sessionAttributes = new HashMap<>();
 
     @Before
     public void setup() throws Exception {
@@ -110,6 +118,17 @@ public class StreamReceiverHandlerTest {
 
         Mockito.when(session.getErrorHandler())
                 .thenReturn(Mockito.mock(ErrorHandler.class));
+        mockSessionAttributes();
+    }
+
+    private void mockSessionAttributes() {
+        when(session.getService()).thenReturn(mockService);
+        when(session.getAttribute(ChunkedUploads.class)).thenAnswer(
+                invocation -> sessionAttributes.get(ChunkedUploads.class));
+        Mockito.doAnswer(invocation -> sessionAttributes
+                .put(ChunkedUploads.class, invocation.getArguments()[1]))
+                .when(session).setAttribute(Mockito.eq(ChunkedUploads.class),
+                        Mockito.any());
     }
 
     private void mockReceiverAndRegistry() {
@@ -159,6 +178,9 @@ public class StreamReceiverHandlerTest {
                 if ("content-length".equals(name.toLowerCase())) {
                     return contentLength;
                 }
+                if (headers.containsKey(name)) {
+                    return headers.get(name);
+                }
                 return super.getHeader(name);
             }
 
@@ -326,6 +348,243 @@ public class StreamReceiverHandlerTest {
                 .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
 
+    @Test
+    public void listenProgress_progressScheduledThroughUi_finalProgressDeliveredBeforeFinish()
+            throws IOException {
+        outputStream = new ByteArrayOutputStream();
+        when(streamVariable.listenProgress()).thenReturn(true);
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        Assert.assertEquals("foobar", new String(
+                ((ByteArrayOutputStream) outputStream).toByteArray()));
+        // The progress of the data read is handed over to the UI instead of
+        // locking the session in the upload thread
+        verify(ui).access(Mockito.any());
+        ArgumentCaptor<StreamVariable.StreamingProgressEvent> progressCaptor = ArgumentCaptor
+                .forClass(StreamVariable.StreamingProgressEvent.class);
+        InOrder inOrder = Mockito.inOrder(streamVariable);
+        inOrder.verify(streamVariable).onProgress(progressCaptor.capture());
+        inOrder.verify(streamVariable).streamingFinished(Mockito.any());
+        Assert.assertEquals(6, progressCaptor.getValue().getBytesReceived());
+    }
+
+    @Test
+    public void chunkedUpload_chunksInReverseOrder_dataReassembledAndStreamedOnce()
+            throws IOException {
+        outputStream = new ByteArrayOutputStream();
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_NAME_HEADER, "foo%20bar.txt");
+
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "3");
+        inputStream = createInputStream("bar");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response).setHeader(StreamReceiverHandler.UPLOAD_RECEIVED_HEADER,
+                "3-6");
+        verify(streamVariable, Mockito.never()).streamingStarted(Mockito.any());
+
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response, Mockito.never()).setHeader(
+                StreamReceiverHandler.UPLOAD_RECEIVED_HEADER, "0-6");
+        Assert.assertEquals("foobar", new String(
+                ((ByteArrayOutputStream) outputStream).toByteArray()));
+        ArgumentCaptor<StreamVariable.StreamingEndEvent> endEventCaptor = ArgumentCaptor
+                .forClass(StreamVariable.StreamingEndEvent.class);
+        verify(streamVariable).streamingFinished(endEventCaptor.capture());
+        Assert.assertEquals("foo bar.txt",
+                endEventCaptor.getValue().getFileName());
+        Assert.assertEquals(6, endEventCaptor.getValue().getBytesReceived());
+        verify(responseOutput).close();
+    }
+
+    @Test
+    public void chunkedUpload_checksumMismatch_chunkRejected()
+            throws IOException {
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+        headers.put(StreamReceiverHandler.UPLOAD_CHECKSUM_HEADER, "0");
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response).setHeader(StreamReceiverHandler.UPLOAD_RECEIVED_HEADER,
+                "");
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        verify(streamVariable, Mockito.never()).streamingStarted(Mockito.any());
+    }
+
+    @Test
+    public void chunkedUpload_lengthOverMaximum_uploadRejected()
+            throws IOException {
+        handler = new StreamReceiverHandler() {
+            @Override
+            protected long getMaxChunkedUploadLength() {
+                return 5;
+            }
+        };
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response)
+                .setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        verify(streamVariable, Mockito.never()).streamingStarted(Mockito.any());
+    }
+
+    @Test
+    public void chunkedUpload_tooManyUnfinishedUploads_newUploadRejected()
+            throws IOException {
+        handler = new StreamReceiverHandler() {
+            @Override
+            protected int getMaxChunkedUploadsPerSession() {
+                return 1;
+            }
+        };
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "first");
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "second");
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        verify(response).setStatus(429);
+    }
+
+    @Test
+    public void chunkedUpload_probeForNewUpload_uploadNotCreated()
+            throws IOException {
+        handler = new StreamReceiverHandler() {
+            @Override
+            protected int getMaxChunkedUploadsPerSession() {
+                return 1;
+            }
+        };
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+        contentLength = "0";
+
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "probed");
+        inputStream = createInputStream("");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response).setHeader(StreamReceiverHandler.UPLOAD_RECEIVED_HEADER,
+                "");
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        ChunkedUploads uploads = (ChunkedUploads) sessionAttributes
+                .get(ChunkedUploads.class);
+        Assert.assertNull(uploads.get(expectedSecurityKey + "/probed"));
+
+        // The probe does not count towards the unfinished uploads
+        contentLength = "3";
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        verify(response).setHeader(StreamReceiverHandler.UPLOAD_RECEIVED_HEADER,
+                "0-3");
+        verify(response, Mockito.never()).setStatus(429);
+
+        contentLength = "0";
+        inputStream = createInputStream("");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        verify(response, Mockito.times(2)).setHeader(
+                StreamReceiverHandler.UPLOAD_RECEIVED_HEADER, "0-3");
+    }
+
+    @Test
+    public void chunkedUpload_chunkAfterCompletion_chunkRejected()
+            throws IOException {
+        outputStream = new ByteArrayOutputStream();
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "3");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response).setStatus(HttpServletResponse.SC_CONFLICT);
+        verify(streamVariable).streamingFinished(Mockito.any());
+        Assert.assertEquals("foo", new String(
+                ((ByteArrayOutputStream) outputStream).toByteArray()));
+    }
+
+    @Test
+    public void chunkedUpload_interrupted_receivedDataDiscarded()
+            throws IOException {
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        when(streamVariable.isInterrupted()).thenReturn(true);
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "3");
+        inputStream = createInputStream("bar");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(response)
+                .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        verify(streamVariable, Mockito.never()).streamingStarted(Mockito.any());
+        ChunkedUpload upload = ((ChunkedUploads) sessionAttributes
+                .get(ChunkedUploads.class)).getOrCreate(
+                        expectedSecurityKey + "/upload", 6, 10);
+        Assert.assertTrue(upload.isCompleted());
+    }
+
+    @Test
+    public void chunkedUpload_sessionDestroyed_unfinishedUploadsDiscarded()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        when(session.getService()).thenReturn(service);
+        headers.put(StreamReceiverHandler.UPLOAD_ID_HEADER, "upload");
+        headers.put(StreamReceiverHandler.UPLOAD_LENGTH_HEADER, "6");
+        headers.put(StreamReceiverHandler.UPLOAD_OFFSET_HEADER, "0");
+        inputStream = createInputStream("foo");
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        ChunkedUploads uploads = (ChunkedUploads) sessionAttributes
+                .get(ChunkedUploads.class);
+        ChunkedUpload upload = uploads
+                .getOrCreate(expectedSecurityKey + "/upload", 6, 10);
+        Assert.assertFalse(upload.isCompleted());
+
+        ArgumentCaptor<SessionDestroyListener> listener = ArgumentCaptor
+                .forClass(SessionDestroyListener.class);
+        verify(service).addSessionDestroyListener(listener.capture());
+        listener.getValue()
+                .sessionDestroy(new SessionDestroyEvent(service, session));
+
+        Assert.assertTrue(upload.isCompleted());
+        Assert.assertNull(sessionAttributes.get(ChunkedUploads.class));
+    }
+
     @Test
     public void responseIsSentOnCorrectSecurityKey() throws IOException {
         handler.handleRequest(session, request, response, streamReceiver,
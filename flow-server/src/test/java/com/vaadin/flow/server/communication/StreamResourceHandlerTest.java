@@ -21,18 +21,23 @@ import javax.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import com.vaadin.flow.server.InputStreamFactory;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.SeekableInputStreamFactory;
 import com.vaadin.flow.server.ServiceException;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
-import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
@@ -43,10 +48,11 @@ public class StreamResourceHandlerTest {
     private MockVaadinSession session;
     private VaadinServletRequest request;
     private VaadinServletResponse response;
+    private MockVaadinServletService service;
 
     @Before
     public void setUp() throws ServletException, ServiceException {
-        VaadinService service = new MockVaadinServletService();
+        service = new MockVaadinServletService();
 
         session = new AlwaysLockedVaadinSession(service);
         request = Mockito.mock(VaadinServletRequest.class);
@@ -106,4 +112,137 @@ public class StreamResourceHandlerTest {
         Mockito.verify(response)
                 .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    public void eTagMatches_notModifiedWithoutWritingData()
+            throws IOException {
+        StreamResource res = new StreamResource("readme.md",
+                (StreamResourceWriter) (stream, session) -> Assert
+                        .fail("Writer should not be called"))
+                                .setETagSupplier(() -> "v1");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("If-None-Match", "\"v0\", W/\"v1\"");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        handler.handleRequest(session,
+                new VaadinServletRequest(httpRequest, service),
+                new VaadinServletResponse(httpResponse, service), res);
+
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                httpResponse.getStatus());
+        Assert.assertEquals("\"v1\"", httpResponse.getHeader("ETag"));
+    }
+
+    @Test
+    public void notModifiedSince_notModified() throws IOException {
+        StreamResource res = new StreamResource("readme.md",
+                (StreamResourceWriter) (stream, session) -> Assert
+                        .fail("Writer should not be called"))
+                                .setLastModified(1500000000000L);
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("If-Modified-Since", 1500000000000L);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        handler.handleRequest(session,
+                new VaadinServletRequest(httpRequest, service),
+                new VaadinServletResponse(httpResponse, service), res);
+
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                httpResponse.getStatus());
+    }
+
+    @Test
+    public void singleRange_onlyRangeRead() throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        StreamResource res = createSeekableResource("0123456789", offsets);
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("Range", "bytes=2-4");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        handler.handleRequest(session,
+                new VaadinServletRequest(httpRequest, service),
+                new VaadinServletResponse(httpResponse, service), res);
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT,
+                httpResponse.getStatus());
+        Assert.assertEquals("bytes 2-4/10",
+                httpResponse.getHeader("Content-Range"));
+        Assert.assertEquals(3, httpResponse.getContentLength());
+        Assert.assertEquals("234", httpResponse.getContentAsString());
+        Assert.assertEquals(1, offsets.size());
+        Assert.assertEquals(2L, offsets.get(0).longValue());
+    }
+
+    @Test
+    public void multipleRanges_multipartResponse() throws IOException {
+        StreamResource res = createSeekableResource("0123456789",
+                new ArrayList<>()).setContentType("text/plain");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("Range", "bytes=0-1, -3");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        handler.handleRequest(session,
+                new VaadinServletRequest(httpRequest, service),
+                new VaadinServletResponse(httpResponse, service), res);
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT,
+                httpResponse.getStatus());
+        Assert.assertTrue(httpResponse.getContentType()
+                .startsWith("multipart/byteranges; boundary="));
+        String content = httpResponse.getContentAsString();
+        Assert.assertTrue(content.contains(
+                "Content-Type: text/plain\r\nContent-Range: bytes 0-1/10\r\n\r\n01\r\n"));
+        Assert.assertTrue(content.contains(
+                "Content-Type: text/plain\r\nContent-Range: bytes 7-9/10\r\n\r\n789\r\n"));
+    }
+
+    @Test
+    public void unsatisfiableRange_responseStatusIs416() throws IOException {
+        StreamResource res = createSeekableResource("0123456789",
+                new ArrayList<>());
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("Range", "bytes=10-");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        handler.handleRequest(session,
+                new VaadinServletRequest(httpRequest, service),
+                new VaadinServletResponse(httpResponse, service), res);
+
+        Assert.assertEquals(
+                HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+                httpResponse.getStatus());
+        Assert.assertEquals("bytes */10",
+                httpResponse.getHeader("Content-Range"));
+    }
+
+    @Test
+    public void rangeForOutdatedVersion_fullContentSent() throws IOException {
+        StreamResource res = createSeekableResource("0123456789",
+                new ArrayList<>()).setETagSupplier(() -> "v2");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader("Range", "bytes=2-4");
+        httpRequest.addHeader("If-Range", "\"v1\"");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        handler.handleRequest(session,
+                new VaadinServletRequest(httpRequest, service),
+                new VaadinServletResponse(httpResponse, service), res);
+
+        Assert.assertEquals(HttpServletResponse.SC_OK,
+                httpResponse.getStatus());
+        Assert.assertEquals(10, httpResponse.getContentLength());
+        Assert.assertEquals("0123456789", httpResponse.getContentAsString());
+    }
+
+    private static StreamResource createSeekableResource(String data,
+            List<Long> offsets) {
+        return new StreamResource("data.txt",
+                (SeekableInputStreamFactory) offset -> {
+                    offsets.add(offset);
+                    ByteArrayInputStream stream = new ByteArrayInputStream(
+                            data.getBytes());
+                    stream.skip(offset);
+                    return stream;
+                }).setContentLength(data.length());
+    }
 }
@@ -230,6 +230,53 @@ public class WebComponentProviderTest {
         Assert.assertNotEquals("Stream output should not match", first, second);
     }
 
+    @Test
+    public void sessionlessRequest_scriptServedWithETag_sessionNotUsed()
+            throws IOException {
+        registry = setupConfigurations(MyComponentExporter.class);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Mockito.when(request.getPathInfo())
+                .thenReturn("/web-component/my-component.js");
+
+        Assert.assertTrue("Provider should handle web-component request",
+                provider.handleSessionlessRequest(request, response));
+
+        ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(response).setHeader(eq("ETag"), eTag.capture());
+        Assert.assertTrue("ETag should be quoted",
+                eTag.getValue().startsWith("\""));
+        Assert.assertTrue(out.size() > 0);
+        Mockito.verifyZeroInteractions(session);
+    }
+
+    @Test
+    public void sessionlessRequest_eTagMatches_notModified()
+            throws IOException {
+        registry = setupConfigurations(MyComponentExporter.class);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Mockito.when(request.getPathInfo())
+                .thenReturn("/web-component/my-component.js");
+        provider.handleSessionlessRequest(request, response);
+
+        ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(response).setHeader(eq("ETag"), eTag.capture());
+        out.reset();
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn(eTag.getValue());
+
+        Assert.assertTrue(
+                provider.handleSessionlessRequest(request, response));
+
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        Assert.assertEquals("No content should be written for a match", 0,
+                out.size());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void setExporters_exportersHasVariousPushes_throws() {
         WebComponentConfigurationRegistry registry = setupConfigurations(
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.connect;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EndpointInvokerTest {
+
+    public static class GenericEndpoint<T> {
+        public T echo(T value) {
+            return value;
+        }
+    }
+
+    public static class StringEndpoint extends GenericEndpoint<String> {
+        public int sum(int first, int second) {
+            return first + second;
+        }
+
+        public void fail() {
+            throw new IllegalArgumentException("fail");
+        }
+    }
+
+    private static class PrivateEndpoint {
+        public String hello() {
+            return "hello";
+        }
+    }
+
+    @Test
+    public void getParameterTypes_typeVariableResolvedAgainstEndpoint()
+            throws Exception {
+        EndpointInvoker invoker = new EndpointInvoker(
+                StringEndpoint.class.getMethod("echo", Object.class),
+                StringEndpoint.class);
+
+        Assert.assertArrayEquals(new Object[] { String.class },
+                invoker.getParameterTypes());
+    }
+
+    @Test
+    public void invoke_primitiveParameters_returnValueBoxed()
+            throws Exception {
+        EndpointInvoker invoker = new EndpointInvoker(
+                StringEndpoint.class.getMethod("sum", int.class, int.class),
+                StringEndpoint.class);
+
+        Assert.assertEquals(3,
+                invoker.invoke(new StringEndpoint(), new Object[] { 1, 2 }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invoke_nullForPrimitive_throwsIllegalArgument()
+            throws Exception {
+        EndpointInvoker invoker = new EndpointInvoker(
+                StringEndpoint.class.getMethod("sum", int.class, int.class),
+                StringEndpoint.class);
+
+        invoker.invoke(new StringEndpoint(), new Object[] { 1, null });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invoke_wrongArgumentType_throwsIllegalArgument()
+            throws Exception {
+        EndpointInvoker invoker = new EndpointInvoker(
+                StringEndpoint.class.getMethod("sum", int.class, int.class),
+                StringEndpoint.class);
+
+        invoker.invoke(new StringEndpoint(), new Object[] { 1, "2" });
+    }
+
+    @Test
+    public void invoke_methodThrows_wrappedInInvocationTargetException()
+            throws Exception {
+        EndpointInvoker invoker = new EndpointInvoker(
+                StringEndpoint.class.getMethod("fail"), StringEndpoint.class);
+
+        try {
+            invoker.invoke(new StringEndpoint(), new Object[0]);
+            Assert.fail("Exception expected");
+        } catch (InvocationTargetException e) {
+            Assert.assertEquals("fail", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void invoke_notPubliclyAccessible_invokedUsingReflection()
+            throws Exception {
+        Method method = PrivateEndpoint.class.getMethod("hello");
+        EndpointInvoker invoker = new EndpointInvoker(method,
+                PrivateEndpoint.class);
+
+        Assert.assertEquals("hello",
+                invoker.invoke(new PrivateEndpoint(), new Object[0]));
+    }
+}
@@ -3,6 +3,8 @@ package com.vaadin.flow.server.connect;
 import javax.annotation.security.DenyAll;
 import javax.annotation.security.PermitAll;
 import javax.annotation.security.RolesAllowed;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
@@ -13,9 +15,14 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
@@ -23,6 +30,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.SimpleType;
@@ -41,6 +49,12 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.server.MockVaadinServletService;
@@ -55,6 +69,7 @@ import com.vaadin.flow.server.connect.generator.endpoints.superclassmethods.Pers
 import com.vaadin.flow.server.connect.testendpoint.BridgeMethodTestEndpoint;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -176,6 +191,35 @@ public class VaadinConnectControllerTest {
         }
     }
 
+    @Endpoint
+    public static class AsyncTestClass {
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        public CompletableFuture<String> testFutureMethod() {
+            return future;
+        }
+
+        public CompletableFuture<String> testFailingFutureMethod() {
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new EndpointException("Failed"));
+            return failed;
+        }
+
+        public Stream<String> testStreamMethod() {
+            return Stream.of("foo", "bar");
+        }
+
+        public Iterator<Integer> testIteratorMethod() {
+            return Arrays.asList(1, 2, 3).iterator();
+        }
+
+        public Stream<String> testFailingStreamMethod() {
+            return Stream.of("foo", "bar").map(value -> {
+                throw new IllegalStateException("Failed");
+            });
+        }
+    }
+
     @Rule
     public final ExpectedException exception = ExpectedException.none();
 
@@ -1093,6 +1137,258 @@ public class VaadinConnectControllerTest {
         assertEquals("{\"name\":\"aa\"}", response.getBody());
     }
 
+    @Test
+    public void should_WaitForResult_When_FutureReturnedWithoutResponse() {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        endpoint.future.complete("foo");
+
+        ResponseEntity<String> response = createVaadinController(endpoint)
+                .serveEndpoint(AsyncTestClass.class.getSimpleName(),
+                        "testFutureMethod", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"foo\"", response.getBody());
+    }
+
+    @Test
+    public void should_ReturnError_When_FutureCompletesExceptionally()
+            throws IOException {
+        ResponseEntity<String> response = createVaadinController(
+                new AsyncTestClass()).serveEndpoint(
+                        AsyncTestClass.class.getSimpleName(),
+                        "testFailingFutureMethod",
+                        createRequestParameters("{}"), requestMock);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ObjectNode jsonNodes = new ObjectMapper().readValue(response.getBody(),
+                ObjectNode.class);
+        assertEquals("Failed", jsonNodes.get("message").asText());
+    }
+
+    @Test
+    public void should_ReturnServiceUnavailable_When_FutureTimesOut()
+            throws IOException {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        WebAsyncManager asyncManager = createAsyncManager(request);
+        VaadinConnectController controller = createVaadinController(endpoint);
+        controller.setAsyncTimeout(1000L);
+
+        controller.serveEndpoint(AsyncTestClass.class.getSimpleName(),
+                "testFutureMethod", createRequestParameters("{}"), request,
+                new MockHttpServletResponse());
+        MockAsyncContext asyncContext = (MockAsyncContext) request
+                .getAsyncContext();
+        assertEquals(1000, asyncContext.getTimeout());
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        endpoint.future.complete("foo");
+
+        ResponseEntity<?> result = (ResponseEntity<?>) asyncManager
+                .getConcurrentResult();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
+        ObjectNode jsonNodes = new ObjectMapper()
+                .readValue((String) result.getBody(), ObjectNode.class);
+        assertTrue(jsonNodes.get("message").asText()
+                .contains("testFutureMethod"));
+    }
+
+    @Test
+    public void should_UseSpringAsyncProcessing_When_FutureReturned() {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        WebAsyncManager asyncManager = createAsyncManager(request);
+
+        ResponseEntity<String> result = createVaadinController(endpoint)
+                .serveEndpoint(AsyncTestClass.class.getSimpleName(),
+                        "testFutureMethod", createRequestParameters("{}"),
+                        request, new MockHttpServletResponse());
+
+        assertNull(result);
+        assertTrue(asyncManager.isConcurrentHandlingStarted());
+        assertFalse(asyncManager.hasConcurrentResult());
+
+        endpoint.future.complete("foo");
+
+        assertTrue(asyncManager.hasConcurrentResult());
+        ResponseEntity<?> asyncResult = (ResponseEntity<?>) asyncManager
+                .getConcurrentResult();
+        assertEquals(HttpStatus.OK, asyncResult.getStatusCode());
+        assertEquals("\"foo\"", asyncResult.getBody());
+    }
+
+    @Test
+    public void should_NotStartAsyncProcessing_When_FutureAlreadyCompleted() {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        endpoint.future.complete("foo");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        WebAsyncManager asyncManager = createAsyncManager(request);
+
+        ResponseEntity<String> result = createVaadinController(endpoint)
+                .serveEndpoint(AsyncTestClass.class.getSimpleName(),
+                        "testFutureMethod", createRequestParameters("{}"),
+                        request, new MockHttpServletResponse());
+
+        assertFalse(asyncManager.isConcurrentHandlingStarted());
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"foo\"", result.getBody());
+    }
+
+    private static WebAsyncManager createAsyncManager(
+            MockHttpServletRequest request) {
+        // Done by Spring MVC before invoking the controller
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(
+                request, new MockHttpServletResponse()));
+        return asyncManager;
+    }
+
+    @Test
+    public void should_CollectElements_When_StreamReturnedWithoutResponse() {
+        VaadinConnectController controller = createVaadinController(
+                new AsyncTestClass());
+
+        ResponseEntity<String> stream = controller.serveEndpoint(
+                AsyncTestClass.class.getSimpleName(), "testStreamMethod",
+                createRequestParameters("{}"), requestMock);
+        ResponseEntity<String> iterator = controller.serveEndpoint(
+                AsyncTestClass.class.getSimpleName(), "testIteratorMethod",
+                createRequestParameters("{}"), requestMock);
+
+        assertEquals(HttpStatus.OK, stream.getStatusCode());
+        assertEquals("[\"foo\",\"bar\"]", stream.getBody());
+        assertEquals(HttpStatus.OK, iterator.getStatusCode());
+        assertEquals("[1,2,3]", iterator.getBody());
+    }
+
+    @Test
+    public void should_WriteElementsToResponse_When_StreamReturned()
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<String> result = createVaadinController(
+                new AsyncTestClass()).serveEndpoint(
+                        AsyncTestClass.class.getSimpleName(),
+                        "testStreamMethod", createRequestParameters("{}"),
+                        new MockHttpServletRequest(), response);
+
+        assertNull(result);
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("[\"foo\",\"bar\"]", response.getContentAsString());
+    }
+
+    @Test
+    public void should_WriteError_When_StreamFailsBeforeResponseIsCommitted()
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        createVaadinController(new AsyncTestClass()).serveEndpoint(
+                AsyncTestClass.class.getSimpleName(),
+                "testFailingStreamMethod", createRequestParameters("{}"),
+                new MockHttpServletRequest(), response);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                response.getStatus());
+        ObjectNode jsonNodes = new ObjectMapper()
+                .readValue(response.getContentAsString(), ObjectNode.class);
+        assertTrue(jsonNodes.get("message").asText()
+                .contains("testFailingStreamMethod"));
+    }
+
+    @Test
+    public void should_ReturnResultsInOrder_When_BatchOfCallsServed()
+            throws IOException {
+        ResponseEntity<String> response = createVaadinController(
+                TEST_ENDPOINT).serveBatch(createBatch(), requestMock);
+
+        assertBatchResults(response);
+    }
+
+    @Test
+    public void should_ReturnResultsInOrder_When_BatchServedInParallel()
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            VaadinConnectController controller = createVaadinController(
+                    TEST_ENDPOINT);
+            controller.setBatchExecutor(executor);
+
+            assertBatchResults(
+                    controller.serveBatch(createBatch(), requestMock));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_CheckAccessInRequestThread_When_BatchServedInParallel()
+            throws IOException {
+        // Like with Spring Security, the user is only known in the request
+        // thread
+        Thread requestThread = Thread.currentThread();
+        when(requestMock.getUserPrincipal()).thenAnswer(
+                invocation -> Thread.currentThread() == requestThread
+                        ? principal
+                        : null);
+        when(requestMock.isUserInRole("FOO_ROLE")).thenAnswer(
+                invocation -> Thread.currentThread() == requestThread);
+        ArrayNode batch = new ObjectMapper().readValue("["
+                + "{\"endpoint\": \"TestClass\", \"method\": \"testRoleAllowed\"},"
+                + "{\"endpoint\": \"TestClass\", \"method\": \"testRoleAllowed\"}"
+                + "]", ArrayNode.class);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            VaadinConnectController controller = createVaadinController(
+                    TEST_ENDPOINT, new VaadinConnectAccessChecker());
+            controller.setBatchExecutor(executor);
+
+            ArrayNode results = new ObjectMapper().readValue(
+                    controller.serveBatch(batch, requestMock).getBody(),
+                    ArrayNode.class);
+
+            assertEquals(2, results.size());
+            for (JsonNode result : results) {
+                assertEquals(200, result.get("status").asInt());
+                assertEquals("Hello, user in role!",
+                        result.get("body").asText());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private ArrayNode createBatch() throws IOException {
+        return new ObjectMapper().readValue("["
+                + "{\"endpoint\": \"TestClass\", \"method\": \"testMethod\","
+                + " \"params\": {\"parameter\": 1}},"
+                + "{\"endpoint\": \"Missing\", \"method\": \"testMethod\"},"
+                + "{\"method\": \"testMethod\"},"
+                + "{\"endpoint\": \"TestClass\", \"method\": \"testMethod\","
+                + " \"params\": {\"parameter\": 2}}" + "]", ArrayNode.class);
+    }
+
+    private void assertBatchResults(ResponseEntity<String> response)
+            throws IOException {
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ArrayNode results = new ObjectMapper().readValue(response.getBody(),
+                ArrayNode.class);
+        assertEquals(4, results.size());
+        assertEquals(200, results.get(0).get("status").asInt());
+        assertEquals("1-test", results.get(0).get("body").asText());
+        assertEquals(404, results.get(1).get("status").asInt());
+        assertNull(results.get(1).get("body"));
+        assertEquals(400, results.get(2).get("status").asInt());
+        assertTrue(results.get(2).get("body").get("message").asText()
+                .contains("Invalid batch call"));
+        assertEquals(200, results.get(3).get("status").asInt());
+        assertEquals("2-test", results.get(3).get("body").asText());
+    }
+
     private void assertEndpointInfoPresent(String responseBody) {
         assertTrue(String.format(
                 "Response body '%s' should have endpoint information in it",
@@ -136,6 +136,27 @@ public class OpenApiSpecBasedTests {
         assertClassGeneratedTs("FooBarEndpoint");
     }
 
+    @Test
+    public void should_NotRewriteGeneratedFiles_When_OpenAPIInputUnchanged() {
+        File input = getResourcePath(
+                "esmodule-generator-TwoEndpointsThreeMethods.json");
+        VaadinConnectTsGenerator.launch(input, outputDirectory.getRoot());
+        File[] generated = outputDirectory.getRoot().listFiles();
+        assertTrue(generated.length > 0);
+        for (File file : generated) {
+            assertTrue(file.setLastModified(0));
+        }
+
+        assertTrue(VaadinConnectTsGenerator.launch(input,
+                outputDirectory.getRoot()));
+
+        for (File file : generated) {
+            assertTrue(file.isFile());
+            assertEquals("Unchanged file " + file + " should not be rewritten",
+                    0, file.lastModified());
+        }
+    }
+
     @Test
     public void should_GenerateNoTsDoc_When_JsonHasNoTsDocOperation()
             throws Exception {
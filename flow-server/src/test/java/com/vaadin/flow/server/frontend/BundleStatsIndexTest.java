@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.UncheckedIOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BundleStatsIndexTest {
+
+    private static final String STATS = "{" //
+            + "\"hash\": \"64bb80639ef116681818\"," //
+            + "\"assets\": [{\"name\": \"build/vaadin-bundle.js\"}]," //
+            + "\"chunks\": [{" //
+            + "  \"id\": 0, \"chunks\": [1, 2]," //
+            + "  \"modules\": [" //
+            + "    {\"name\":" //
+            + "     \"./frontend/views/my-view.js?babel-target=es6\"," //
+            + "     \"source\": \"class MyView {}\\n\\\"quoted\\\"\"}," //
+            + "    {\"name\":" //
+            + "     \"../node_modules/@vaadin/flow-frontend/addon.js\"," //
+            + "     \"source\": \"class AddOn {}\"}," //
+            + "    {\"name\": \"./concatenated.js\", \"source\": \"outer\"," //
+            + "     \"modules\": [{\"name\": \"./inner.js\","
+            + "                   \"source\": \"inner\"}]}," //
+            + "    {\"name\": \"./empty.js\", \"source\": \"\"}" //
+            + "  ]" //
+            + "}]," //
+            + "\"modules\": [" //
+            + "  {\"name\": \"./my-view.js\", \"source\": \"other\"}" //
+            + "]" //
+            + "}";
+
+    private final BundleStatsIndex index = BundleStatsIndex.parse(STATS);
+
+    @Test
+    public void getHash_topLevelHashReturned() {
+        Assert.assertEquals("64bb80639ef116681818", index.getHash());
+    }
+
+    @Test
+    public void size_modulesWithSourceIndexed() {
+        Assert.assertEquals(5, index.size());
+    }
+
+    @Test
+    public void getSource_queryStringIgnored_escapedSourceDecoded() {
+        Assert.assertEquals("class MyView {}\n\"quoted\"",
+                index.getSource("./frontend/views/my-view.js"));
+    }
+
+    @Test
+    public void getSource_topLevelModuleFound() {
+        Assert.assertEquals("other", index.getSource("./my-view.js"));
+    }
+
+    @Test
+    public void getSource_nestedModulesCheckedBeforeParent() {
+        Assert.assertEquals("inner", index.getSource("./inner.js"));
+        Assert.assertEquals("outer", index.getSource("./concatenated.js"));
+    }
+
+    @Test
+    public void getSource_flowResource_foundWithoutDotSlash() {
+        Assert.assertEquals("class AddOn {}", index.getSource("./addon.js"));
+    }
+
+    @Test
+    public void getSource_suffixWithoutSlash_matched() {
+        Assert.assertEquals("inner", index.getSource("ner.js"));
+    }
+
+    @Test
+    public void getSource_emptySourceOrMissingModule_null() {
+        Assert.assertNull(index.getSource("./empty.js"));
+        Assert.assertNull(index.getSource("./missing.js"));
+    }
+
+    @Test
+    public void getSource_rootModule_found() {
+        BundleStatsIndex stats = BundleStatsIndex
+                .parse("{\"name\": \"./root.js\", \"source\": \"root\"}");
+
+        Assert.assertNull(stats.getHash());
+        Assert.assertEquals("root", stats.getSource("./root.js"));
+    }
+
+    @Test
+    public void getSource_moduleListedTwice_sourceShared() {
+        BundleStatsIndex stats = BundleStatsIndex.parse("{" //
+                + "\"chunks\": [{\"modules\": [" //
+                + "  {\"name\": \"./a.js\", \"source\": \"shared\"}]}]," //
+                + "\"modules\": [" //
+                + "  {\"name\": \"./b/a.js\", \"source\": \"shared\"}]" //
+                + "}");
+
+        Assert.assertEquals(2, stats.size());
+        Assert.assertSame(stats.getSource("./a.js"),
+                stats.getSource("./b/a.js"));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void parse_invalidJson_throws() {
+        BundleStatsIndex.parse("{\"hash\": ");
+    }
+}
@@ -4,8 +4,12 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.junit.Assert;
@@ -17,6 +21,7 @@ import org.junit.rules.TemporaryFolder;
 import com.vaadin.flow.server.ExecutionFailedException;
 import com.vaadin.flow.server.connect.Endpoint;
 import com.vaadin.flow.server.frontend.NodeTasks.Builder;
+import com.vaadin.flow.server.frontend.NodeTasks.Resource;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder.DefaultClassFinder;
 
 import static com.vaadin.flow.server.frontend.FrontendUtils.DEFAULT_FRONTEND_DIR;
@@ -27,6 +32,8 @@ import static com.vaadin.flow.server.frontend.FrontendUtils.PARAM_GENERATED_DIR;
 import static com.vaadin.flow.server.frontend.FrontendUtils.TARGET;
 import static com.vaadin.flow.server.frontend.FrontendUtils.WEBPACK_CONFIG;
 import static com.vaadin.flow.server.frontend.FrontendUtils.WEBPACK_GENERATED;
+import static com.vaadin.flow.server.frontend.NodeTasks.reads;
+import static com.vaadin.flow.server.frontend.NodeTasks.writes;
 import static org.junit.Assert.assertTrue;
 
 public class NodeTasksTest {
@@ -142,6 +149,85 @@ public class NodeTasksTest {
                 .forEach(name -> assertTrue(name + " not created.", new File(dir, name).exists()));
     }
 
+    @Test
+    public void execute_conflictingCommands_runInAddedOrder()
+            throws Exception {
+        List<String> executed = Collections
+                .synchronizedList(new ArrayList<>());
+        NodeTasks tasks = new NodeTasks(2);
+        tasks.addCommand(() -> {
+            sleep(100);
+            executed.add("first");
+        }, reads(), writes(Resource.PACKAGE_JSON));
+        tasks.addCommand(() -> executed.add("second"),
+                reads(Resource.PACKAGE_JSON), writes(Resource.NODE_MODULES));
+
+        tasks.execute();
+
+        Assert.assertEquals(Arrays.asList("first", "second"), executed);
+    }
+
+    @Test
+    public void execute_independentCommands_runConcurrently()
+            throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        FallibleCommand command = () -> {
+            bothRunning.countDown();
+            try {
+                if (!bothRunning.await(5, TimeUnit.SECONDS)) {
+                    throw new ExecutionFailedException(
+                            "Commands were not run concurrently");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionFailedException(e);
+            }
+        };
+        NodeTasks tasks = new NodeTasks(2);
+        tasks.addCommand(command, reads(Resource.FLOW_RESOURCES),
+                writes(Resource.TS_CONFIG));
+        tasks.addCommand(command, reads(Resource.FLOW_RESOURCES),
+                writes(Resource.BOOTSTRAP_FILES));
+
+        tasks.execute();
+
+        Assert.assertEquals(0, bothRunning.getCount());
+    }
+
+    @Test
+    public void execute_failingCommand_dependentsSkippedAndFailureThrown() {
+        List<String> executed = Collections
+                .synchronizedList(new ArrayList<>());
+        ExecutionFailedException failure = new ExecutionFailedException(
+                "Failed");
+        NodeTasks tasks = new NodeTasks(2);
+        tasks.addCommand(() -> {
+            throw failure;
+        }, reads(), writes(Resource.PACKAGE_JSON));
+        tasks.addCommand(() -> executed.add("dependent"),
+                reads(Resource.PACKAGE_JSON), writes(Resource.NODE_MODULES));
+        tasks.addCommand(() -> executed.add("independent"), reads(),
+                writes(Resource.TS_CONFIG));
+
+        try {
+            tasks.execute();
+            Assert.fail("The failure should be rethrown");
+        } catch (ExecutionFailedException e) {
+            Assert.assertSame(failure, e);
+        }
+        Assert.assertEquals(Collections.singletonList("independent"),
+                executed);
+    }
+
+    private static void sleep(long millis) throws ExecutionFailedException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionFailedException(e);
+        }
+    }
+
     private Object getFieldValue(Object obj, String name) throws Exception {
         Field field = obj.getClass().getDeclaredField(name);
         field.setAccessible(true);
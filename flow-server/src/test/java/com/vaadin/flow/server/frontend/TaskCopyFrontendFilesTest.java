@@ -18,12 +18,19 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -33,7 +40,9 @@ import org.junit.rules.TemporaryFolder;
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
+import static com.vaadin.flow.server.Constants.COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.PACKAGE_JSON;
+import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
 
 public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
     @Rule
@@ -77,6 +86,84 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
         Assert.assertFalse(deps.hasKey("@vaadin/flow-deps"));
     }
 
+    @Test
+    public void executeTwice_unchangedJar_extractionManifestWrittenAndFilesKept()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        TaskCopyFrontendFiles task = new TaskCopyFrontendFiles(
+                frontendDepsFolder, jars(jar));
+        task.execute();
+
+        File manifest = task.getExtractionManifestFile();
+        Assert.assertTrue(manifest.isFile());
+        Assert.assertFalse("Manifest should not be among the copied files",
+                TestUtils.listFilesRecursively(frontendDepsFolder)
+                        .contains(manifest.getName()));
+
+        File connector = new File(frontendDepsFolder, "ExampleConnector.js");
+        long lastModified = connector.lastModified();
+
+        task.execute();
+
+        Assert.assertEquals(lastModified, connector.lastModified());
+        Assert.assertTrue(FileUtils
+                .readFileToString(manifest, StandardCharsets.UTF_8)
+                .contains("ExampleConnector.js"));
+    }
+
+    @Test
+    public void executeTwice_extractedFileModifiedOrDeleted_fileRestored()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        TaskCopyFrontendFiles task = new TaskCopyFrontendFiles(
+                frontendDepsFolder, jars(jar));
+        task.execute();
+
+        File connector = new File(frontendDepsFolder, "ExampleConnector.js");
+        File css = new File(frontendDepsFolder, "inline.css");
+        String connectorContent = FileUtils.readFileToString(connector,
+                StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(connector, "modified",
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(css.delete());
+
+        task.execute();
+
+        Assert.assertEquals(connectorContent, FileUtils
+                .readFileToString(connector, StandardCharsets.UTF_8));
+        Assert.assertTrue(css.isFile());
+    }
+
+    @Test
+    public void execute_sameFileInSeveralLocations_lastLocationWins()
+            throws IOException {
+        File first = createJar("first.jar",
+                RESOURCES_FRONTEND_DEFAULT + "/shared.js", "first",
+                RESOURCES_FRONTEND_DEFAULT + "/own.js", "modern",
+                COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT + "/own.js",
+                "obsolete");
+        File second = createJar("second.jar",
+                COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT + "/shared.js",
+                "second");
+        File shared = new File(frontendDepsFolder, "shared.js");
+        File own = new File(frontendDepsFolder, "own.js");
+
+        new TaskCopyFrontendFiles(frontendDepsFolder,
+                orderedJars(first, second)).execute();
+        Assert.assertEquals("second", read(shared));
+        Assert.assertEquals("obsolete", read(own));
+
+        // Unchanged jars are not extracted again, but still keep the order
+        new TaskCopyFrontendFiles(frontendDepsFolder,
+                orderedJars(first, second)).execute();
+        Assert.assertEquals("second", read(shared));
+
+        new TaskCopyFrontendFiles(frontendDepsFolder,
+                orderedJars(second, first)).execute();
+        Assert.assertEquals("first", read(shared));
+        Assert.assertEquals("obsolete", read(own));
+    }
+
     private void should_collectJsAndCssFilesFromJars(String jarFile,
             String fsDir) throws IOException {
 
@@ -111,4 +198,27 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
     private static Set<File> jars(File... files) {
         return Stream.of(files).collect(Collectors.toSet());
     }
+
+    private static Set<File> orderedJars(File... files) {
+        return new LinkedHashSet<>(Arrays.asList(files));
+    }
+
+    private File createJar(String name, String... pathsAndContents)
+            throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), name);
+        try (JarOutputStream out = new JarOutputStream(
+                new FileOutputStream(jar))) {
+            for (int i = 0; i < pathsAndContents.length; i += 2) {
+                out.putNextEntry(new JarEntry(pathsAndContents[i]));
+                out.write(pathsAndContents[i + 1]
+                        .getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static String read(File file) throws IOException {
+        return FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    }
 }
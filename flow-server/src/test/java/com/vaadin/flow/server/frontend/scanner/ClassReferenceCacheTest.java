@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.frontend.scanner.samples.RouteComponentWithMethodReference;
+
+public class ClassReferenceCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ClassFinder finder = new ClassFinder.DefaultClassFinder(
+            ClassReferenceCacheTest.class.getClassLoader());
+
+    @Test
+    public void getReferencedClasses_methodBodyReferencesIncluded()
+            throws Exception {
+        ClassReferenceCache cache = new ClassReferenceCache(finder, null);
+
+        Set<String> references = cache.getReferencedClasses(
+                RouteComponentWithMethodReference.class.getName());
+
+        Assert.assertTrue(references.contains(
+                RouteComponentWithMethodReference.MyComponent.class
+                        .getName()));
+        Assert.assertTrue(references.contains(
+                RouteComponentWithMethodReference.AnotherComponent.class
+                        .getName()));
+    }
+
+    @Test
+    public void getReferencedClasses_missingClass_empty() throws Exception {
+        ClassReferenceCache cache = new ClassReferenceCache(finder, null);
+
+        Assert.assertTrue(
+                cache.getReferencedClasses("com.example.Missing").isEmpty());
+    }
+
+    @Test
+    public void store_newInstance_referencesReadFromCacheFile()
+            throws Exception {
+        File cacheFile = new File(temporaryFolder.getRoot(), "cache.json");
+        String className = RouteComponentWithMethodReference.class.getName();
+
+        ClassReferenceCache cache = new ClassReferenceCache(finder,
+                cacheFile);
+        cache.prefetch(Collections.singleton(className));
+        Set<String> references = cache.getReferencedClasses(className);
+        Assert.assertEquals(0, cache.getCacheHits());
+        cache.store();
+        Assert.assertTrue(cacheFile.isFile());
+
+        ClassReferenceCache reloaded = new ClassReferenceCache(finder,
+                cacheFile);
+        Assert.assertEquals(references,
+                reloaded.getReferencedClasses(className));
+        Assert.assertEquals(1, reloaded.getCacheHits());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.dom.ElementFactory;
+import com.vaadin.flow.server.VaadinSession;
+
+public class CompactSessionSerializerTest {
+
+    private final ClassLoader classLoader = CompactSessionSerializerTest.class
+            .getClassLoader();
+
+    @Test
+    public void elementTree_roundTrip_stateIsPreserved() throws Exception {
+        assertRoundTrip(new CompactSessionSerializer(false));
+    }
+
+    @Test
+    public void elementTree_compressedRoundTrip_stateIsPreserved()
+            throws Exception {
+        assertRoundTrip(new CompactSessionSerializer(true));
+    }
+
+    @Test
+    public void elementTree_smallerThanJavaSerialization() throws Exception {
+        Element root = createTree();
+
+        int compactSize = new CompactSessionSerializer(false)
+                .serialize(root).length;
+        int compressedSize = new CompactSessionSerializer(true)
+                .serialize(root).length;
+        int javaSize = javaSerialize(root).length;
+
+        Assert.assertTrue(
+                "Compact size " + compactSize + " should be smaller than "
+                        + javaSize,
+                compactSize < javaSize);
+        Assert.assertTrue(
+                "Compressed size " + compressedSize
+                        + " should be smaller than " + compactSize,
+                compressedSize < compactSize);
+    }
+
+    @Test
+    public void session_roundTrip_pendingAccessQueueIsRecreated()
+            throws Exception {
+        CompactSessionSerializer serializer = new CompactSessionSerializer(
+                true);
+
+        VaadinSession session = (VaadinSession) serializer.deserialize(
+                serializer.serialize(new VaadinSession(null)), classLoader);
+
+        Assert.assertNotNull(session.getPendingAccessQueue());
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void javaSerializedData_readingFails() throws Exception {
+        new CompactSessionSerializer(false)
+                .deserialize(javaSerialize(createTree()), classLoader);
+    }
+
+    private void assertRoundTrip(CompactSessionSerializer serializer)
+            throws Exception {
+        Element deserialized = (Element) serializer
+                .deserialize(serializer.serialize(createTree()), classLoader);
+
+        Assert.assertEquals("root", deserialized.getAttribute("id"));
+        Assert.assertEquals(100, deserialized.getChildCount());
+        Element child = deserialized.getChild(42);
+        Assert.assertEquals("Item 42", child.getText());
+        Assert.assertEquals("item", child.getAttribute("class"));
+        Assert.assertEquals(42.0, child.getProperty("index", 0.0), 0);
+        Assert.assertSame(deserialized, child.getParent());
+    }
+
+    private static Element createTree() {
+        Element root = ElementFactory.createDiv();
+        root.setAttribute("id", "root");
+        for (int i = 0; i < 100; i++) {
+            Element child = ElementFactory.createSpan("Item " + i);
+            child.setAttribute("class", "item");
+            child.setProperty("index", i);
+            root.appendChild(child);
+        }
+        return root;
+    }
+
+    private static byte[] javaSerialize(Serializable object)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}
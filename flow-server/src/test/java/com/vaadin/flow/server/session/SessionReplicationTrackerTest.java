@@ -0,0 +1,293 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.session;
+
+import javax.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class SessionReplicationTrackerTest {
+
+    @Tag("div")
+    public static class TestComponent extends Component {
+    }
+
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer(
+            true);
+
+    private MockVaadinServletService service;
+    private MockVaadinSession session;
+    private SessionReplicationTracker tracker;
+
+    @Before
+    public void setup() {
+        service = new MockVaadinServletService();
+        session = new MockVaadinSession(service);
+        session.lock();
+        session.setConfiguration(new MockDeploymentConfiguration());
+        tracker = new SessionReplicationTracker(session, serializer);
+    }
+
+    @After
+    public void tearDown() {
+        session.unlock();
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void firstDeltaSnapshot_isFullSnapshot() {
+        UI ui = createUI();
+
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertTrue(snapshot.isFull());
+        Assert.assertEquals(0, snapshot.getSequenceNumber());
+        Assert.assertNotNull(snapshot.getSessionData());
+        Assert.assertEquals(Collections.singleton(ui.getUIId()),
+                snapshot.getUIData().keySet());
+    }
+
+    @Test
+    public void deltaSnapshot_noChanges_noDataIncluded() {
+        createUI();
+        tracker.createFullSnapshot();
+
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertFalse(snapshot.isFull());
+        Assert.assertEquals(1, snapshot.getSequenceNumber());
+        Assert.assertNull(snapshot.getSessionData());
+        Assert.assertTrue(snapshot.getUIData().isEmpty());
+        Assert.assertEquals(0, snapshot.getSize());
+    }
+
+    @Test
+    public void deltaSnapshot_changedUI_onlyChangedUIIncluded() {
+        createUI();
+        UI changed = createUI();
+        TestComponent component = new TestComponent();
+        changed.add(component);
+        tracker.createFullSnapshot();
+
+        component.getElement().setProperty("value", "foo");
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertEquals(Collections.singleton(changed.getUIId()),
+                snapshot.getUIData().keySet());
+        Assert.assertTrue(snapshot.getDirtyNodeIds().get(changed.getUIId())
+                .contains(component.getElement().getNode().getId()));
+    }
+
+    @Test
+    public void deltaSnapshot_markedAsChanged_UIIncluded() {
+        UI ui = createUI();
+        tracker.createFullSnapshot();
+
+        tracker.markAsChanged(ui);
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertEquals(Collections.singleton(ui.getUIId()),
+                snapshot.getUIData().keySet());
+    }
+
+    @Test
+    public void deltaSnapshot_removedUI_listedAsRemoved() {
+        createUI();
+        UI removed = createUI();
+        tracker.createFullSnapshot();
+
+        session.removeUI(removed);
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertEquals(Collections.singleton(removed.getUIId()),
+                snapshot.getRemovedUIs());
+        Assert.assertNotNull("Session part should change when a UI is removed",
+                snapshot.getSessionData());
+    }
+
+    @Test
+    public void deltaSnapshot_attributeChanged_sessionPartIncluded() {
+        createUI();
+        tracker.createFullSnapshot();
+
+        session.setAttribute("foo", "bar");
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertNotNull(snapshot.getSessionData());
+        Assert.assertTrue(snapshot.getUIData().isEmpty());
+    }
+
+    @Test
+    public void deltaSnapshot_attributeMutatedWithoutUIChanges_sessionPartIncludedOnlyWhenMarked() {
+        ArrayList<String> list = new ArrayList<>();
+        session.setAttribute("list", list);
+        createUI();
+        tracker.createFullSnapshot();
+
+        list.add("foo");
+        Assert.assertNull(tracker.createDeltaSnapshot().getSessionData());
+
+        tracker.markSessionAsChanged();
+        Assert.assertNotNull(tracker.createDeltaSnapshot().getSessionData());
+    }
+
+    @Test
+    public void deltaSnapshot_attributeMutatedWithUIChanges_sessionPartIncludedWhenChanged() {
+        ArrayList<String> list = new ArrayList<>();
+        session.setAttribute("list", list);
+        UI ui = createUI();
+        tracker.createFullSnapshot();
+        tracker.markAsChanged(ui);
+        tracker.createDeltaSnapshot();
+
+        tracker.markAsChanged(ui);
+        Assert.assertNull(tracker.createDeltaSnapshot().getSessionData());
+
+        list.add("foo");
+        tracker.markAsChanged(ui);
+        Assert.assertNotNull(tracker.createDeltaSnapshot().getSessionData());
+    }
+
+    @Test
+    public void deltaSnapshot_requestHandled_sessionPartNotIncluded() {
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getId()).thenReturn("session");
+        session.refreshTransients(wrappedSession, service);
+        createUI();
+        tracker.createFullSnapshot();
+
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute(Mockito.anyString()))
+                .thenReturn(System.nanoTime() - 5000000);
+        service.requestStart(request, Mockito.mock(VaadinResponse.class));
+        CurrentInstance.setCurrent(session);
+        session.setLastRequestTimestamp(session.getLastRequestTimestamp() + 1);
+        service.requestEnd(request, Mockito.mock(VaadinResponse.class),
+                session);
+        long lastRequestDuration = session.getLastRequestDuration();
+        SessionSnapshot snapshot = tracker.createDeltaSnapshot();
+
+        Assert.assertTrue("Request should have been recorded",
+                lastRequestDuration >= 5);
+        Assert.assertNull(snapshot.getSessionData());
+        Assert.assertEquals("Request timings should be kept",
+                lastRequestDuration, session.getLastRequestDuration());
+    }
+
+    @Test
+    public void store_fullAndDeltas_sessionRestored() throws Exception {
+        InMemorySessionSnapshotStore store = new InMemorySessionSnapshotStore();
+        UI ui = createUI();
+        UI removed = createUI();
+        TestComponent component = new TestComponent();
+        ui.add(component);
+        session.setAttribute(TestComponent.class, component);
+        store.store(tracker.createFullSnapshot());
+
+        component.getElement().setProperty("value", "foo");
+        store.store(tracker.createDeltaSnapshot());
+        session.removeUI(removed);
+        store.store(tracker.createDeltaSnapshot());
+
+        MockVaadinSession restored = (MockVaadinSession) store
+                .restore(serializer, getClass().getClassLoader());
+        restored.lock();
+        try {
+            Assert.assertEquals(1, restored.getUIs().size());
+            UI restoredUI = restored.getUIById(ui.getUIId());
+            Assert.assertSame(restored, restoredUI.getSession());
+
+            TestComponent restoredComponent = restored
+                    .getAttribute(TestComponent.class);
+            Assert.assertEquals("foo",
+                    restoredComponent.getElement().getProperty("value"));
+            Assert.assertSame(restoredUI,
+                    restoredComponent.getUI().orElse(null));
+        } finally {
+            restored.unlock();
+        }
+    }
+
+    @Test
+    public void serviceSerializer_replicatedAndRestored_sessionUsableByService()
+            throws Exception {
+        SessionSerializer serviceSerializer = service.getSessionSerializer();
+        Assert.assertTrue(
+                serviceSerializer instanceof CompactSessionSerializer);
+        SessionReplicationTracker serviceTracker = new SessionReplicationTracker(
+                session, serviceSerializer);
+        InMemorySessionSnapshotStore store = new InMemorySessionSnapshotStore();
+        UI ui = createUI();
+        TestComponent component = new TestComponent();
+        ui.add(component);
+        component.getElement().setProperty("value", "foo");
+        store.store(serviceTracker.createFullSnapshot());
+
+        VaadinSession restored = store.restore(serviceSerializer,
+                getClass().getClassLoader());
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        restored.refreshTransients(wrappedSession, service);
+        restored.lock();
+        try {
+            Assert.assertSame(service, restored.getService());
+            Assert.assertSame(wrappedSession, restored.getSession());
+            UI restoredUI = restored.getUIById(ui.getUIId());
+            Assert.assertEquals("foo", restoredUI.getChildren()
+                    .findFirst().get().getElement().getProperty("value"));
+        } finally {
+            restored.unlock();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void store_deltaOutOfOrder_throws() {
+        InMemorySessionSnapshotStore store = new InMemorySessionSnapshotStore();
+        store.store(tracker.createFullSnapshot());
+        tracker.createDeltaSnapshot();
+
+        store.store(tracker.createDeltaSnapshot());
+    }
+
+    private UI createUI() {
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        ui.doInit(new VaadinServletRequest(
+                Mockito.mock(HttpServletRequest.class), service),
+                session.getNextUIid());
+        session.addUI(ui);
+        return ui;
+    }
+}
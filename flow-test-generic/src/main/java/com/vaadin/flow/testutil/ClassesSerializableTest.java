@@ -167,18 +167,23 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.communication\\.WebComponentBootstrapHandler(\\$.*)?",
 
                 "com\\.vaadin\\.flow\\.server\\.DevModeHandler(\\$.*)?",
+                // Stream helpers which are only used while (de)serializing
+                "com\\.vaadin\\.flow\\.server\\.session\\.CompactSessionSerializer\\$.*",
+                "com\\.vaadin\\.flow\\.server\\.session\\.SessionSizeReport\\$CountingOutputStream",
+                "com\\.vaadin\\.flow\\.server\\.session\\.SessionReplicationTracker\\$Restorer",
                 // Frontend tasks classes which are not stored anywhere but used
                 // only once
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.scanner\\..*",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.FrontendTools",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.JarContentsManager",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.JarExtractionManifest(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.VersionsJsonConverter",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.VersionsJsonFilter",
                 // connect is stateless
                 "com\\.vaadin\\.flow\\.server\\.connect\\..*",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.AbstractUpdateImports",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.FallibleCommand",
-                "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeTasks",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeTasks(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.NodeUpdater",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskCopyFrontendFiles",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskCopyLocalFrontendFiles",